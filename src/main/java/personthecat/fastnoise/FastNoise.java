@@ -1,7 +1,15 @@
 package personthecat.fastnoise;
 
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.generator.CompiledNoise;
 import personthecat.fastnoise.generator.NoiseWrapper;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.VectorSupport;
+import personthecat.fastnoise.util.BitMasks;
+
+import java.util.Collections;
+import java.util.List;
 
 @SuppressWarnings("unused")
 public abstract class FastNoise {
@@ -67,6 +75,69 @@ public abstract class FastNoise {
             .invert(this.invert);
     }
 
+    /**
+     * Flattens this graph into a single generated class for faster scalar sampling.
+     * This is opt-in because each call defines a new class. See {@link CompiledNoise}.
+     */
+    public FastNoise compile() {
+        return CompiledNoise.compile(this);
+    }
+
+    /**
+     * The backend used by the scattered bulk methods of this generator itself, i.e.
+     * <code>sampleSingle</code> and <code>sampleNoise</code>, not counting any generators
+     * it references. Grid fills may take another path: <code>PerlinNoise</code>,
+     * <code>ValueNoise</code> and <code>CubicNoise</code> always fill grids with scalar
+     * tiles, which share corners between neighbouring samples. See {@link VectorSupport}.
+     */
+    public Backend getBackend() {
+        return Backend.SCALAR;
+    }
+
+    // The generators sampled by this one, in the order they were configured.
+    public List<FastNoise> getReferences() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Lists the backend of every node in this graph, one per line, with the
+     * references of each generator indented below it.
+     */
+    public String describeBackends() {
+        final StringBuilder sb = new StringBuilder();
+        this.describeBackends(sb, 0);
+        return sb.toString();
+    }
+
+    /**
+     * The class of this generator, including the variant selected by {@link NoiseBuilder},
+     * e.g. {@code FractalNoise.Fbm}.
+     */
+    @Override
+    public String toString() {
+        return this.getVariant();
+    }
+
+    private String getVariant() {
+        final String name = this.getClass().getName();
+        final int hidden = name.indexOf('/'); // Compiled graphs are hidden classes
+        return name.substring(name.lastIndexOf('.') + 1, hidden < 0 ? name.length() : hidden).replace('$', '.');
+    }
+
+    private void describeBackends(final StringBuilder sb, final int depth) {
+        for (int i = 0; i < depth; i++) {
+            sb.append("  ");
+        }
+        sb.append(this.getVariant()).append(": ").append(this.getBackend());
+        if (this.getBackend() == Backend.VECTOR) {
+            sb.append(" (").append(VectorSupport.width()).append(" lanes)");
+        }
+        sb.append('\n');
+        for (final FastNoise reference : this.getReferences()) {
+            reference.describeBackends(sb, depth + 1);
+        }
+    }
+
     public abstract float getSingle(final int seed, final float x);
 
     public abstract float getSingle(final int seed, final float x, final float y);
@@ -95,6 +166,192 @@ public abstract class FastNoise {
         return this.getSingle(this.seed, x, y, z);
     }
 
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        int index = 0;
+        for (final float y : ys) {
+            for (final float x : xs) {
+                out[index++] = this.getSingle(seed, x, y);
+            }
+        }
+    }
+
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        for (int k = 0; k < zs.length; k++) {
+            for (int j = 0; j < ys.length; j++) {
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < xs.length; i++) {
+                    out[index + i * sx] = this.getSingle(seed, xs[i], ys[j], zs[k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills <code>out</code> with a <code>width</code> x <code>height</code> grid of samples
+     * starting at (<code>x</code>, <code>y</code>). Each sample is written to
+     * <code>out[j * width + i]</code> and is equal to <code>getNoise(x + i * step, y + j * step)</code>.
+     */
+    public void fillNoise(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        final float[] xs = new float[width];
+        final float[] ys = new float[height];
+        for (int i = 0; i < width; i++) {
+            xs[i] = (x + i * step) * this.frequencyX;
+        }
+        for (int j = 0; j < height; j++) {
+            ys[j] = (y + j * step) * this.frequencyY;
+        }
+        this.fillSingle(this.seed, out, xs, ys);
+    }
+
+    public void fillNoiseScaled(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        this.fillNoise(out, x, y, width, height, step);
+        this.scale(out, 0, width * height);
+    }
+
+    /**
+     * Fills <code>out</code> with a <code>width</code> x <code>height</code> x <code>depth</code>
+     * volume of samples starting at (<code>x</code>, <code>y</code>, <code>z</code>), stored in
+     * the given order. Each sample is equal to <code>getNoise(x + i * step, y + j * step, z + k * step)</code>.
+     */
+    public void fillNoise(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        final float[] xs = new float[width];
+        final float[] ys = new float[height];
+        final float[] zs = new float[depth];
+        for (int i = 0; i < width; i++) {
+            xs[i] = (x + i * step + this.offsetX) * this.frequencyX;
+        }
+        for (int j = 0; j < height; j++) {
+            ys[j] = (y + j * step + this.offsetY) * this.frequencyY;
+        }
+        for (int k = 0; k < depth; k++) {
+            zs[k] = (z + k * step + this.offsetZ) * this.frequencyZ;
+        }
+        this.fillSingle(this.seed, out, xs, ys, zs, order);
+    }
+
+    public void fillNoiseScaled(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        this.fillNoise(out, x, y, z, width, height, depth, step, order);
+        this.scale(out, 0, width * height * depth);
+    }
+
+    public final void sampleSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        this.sampleSingle(seed, out, 0, xs, ys, xs.length);
+    }
+
+    public final void sampleSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs) {
+        this.sampleSingle(seed, out, 0, xs, ys, zs, xs.length);
+    }
+
+    // out[offset + n] == getSingle(seed, xs[n], ys[n]) for each n < count, the same
+    // layout as PointKernel. Coordinates always start at 0 so that callers can pass
+    // their own transformed buffers without copying the output.
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = this.getSingle(seed, xs[i], ys[i]);
+        }
+    }
+
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = this.getSingle(seed, xs[i], ys[i], zs[i]);
+        }
+    }
+
+    /**
+     * Evaluates every point in <code>xs</code> and <code>ys</code>, writing
+     * <code>getNoise(xs[i], ys[i])</code> to <code>out[i]</code>.
+     */
+    public final void sampleNoise(final float[] out, final float[] xs, final float[] ys) {
+        this.sampleNoise(out, xs, ys, 0, xs.length);
+    }
+
+    public final void sampleNoise(final float[] out, final float[] xs, final float[] ys, final float[] zs) {
+        this.sampleNoise(out, xs, ys, zs, 0, xs.length);
+    }
+
+    public final void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys) {
+        this.sampleNoiseScaled(out, xs, ys, 0, xs.length);
+    }
+
+    public final void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final float[] zs) {
+        this.sampleNoiseScaled(out, xs, ys, zs, 0, xs.length);
+    }
+
+    /**
+     * Evaluates <code>count</code> points starting at <code>offset</code>. Results are
+     * written to <code>out</code> at the same indices as their coordinates.
+     */
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        for (int i = 0; i < count; i++) {
+            fx[i] = xs[offset + i] * this.frequencyX;
+            fy[i] = ys[offset + i] * this.frequencyY;
+        }
+        this.sampleSingle(this.seed, out, offset, fx, fy, count);
+    }
+
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        final float[] fz = new float[count];
+        for (int i = 0; i < count; i++) {
+            fx[i] = (xs[offset + i] + this.offsetX) * this.frequencyX;
+            fy[i] = (ys[offset + i] + this.offsetY) * this.frequencyY;
+            fz[i] = (zs[offset + i] + this.offsetZ) * this.frequencyZ;
+        }
+        this.sampleSingle(this.seed, out, offset, fx, fy, fz, count);
+    }
+
+    public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        this.sampleNoise(out, xs, ys, offset, count);
+        this.scale(out, offset, count);
+    }
+
+    public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+        this.sampleNoise(out, xs, ys, zs, offset, count);
+        this.scale(out, offset, count);
+    }
+
+    // For generators which transform coordinates in getNoise and cannot hoist them.
+    protected final void fillEach(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        int index = 0;
+        for (int j = 0; j < height; j++) {
+            final float yj = y + j * step;
+            for (int i = 0; i < width; i++) {
+                out[index++] = this.getNoise(x + i * step, yj);
+            }
+        }
+    }
+
+    protected final void fillEach(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        for (int k = 0; k < depth; k++) {
+            final float zk = z + k * step;
+            for (int j = 0; j < height; j++) {
+                final float yj = y + j * step;
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < width; i++) {
+                    out[index + i * sx] = this.getNoise(x + i * step, yj, zk);
+                }
+            }
+        }
+    }
+
+    protected final void scale(final float[] out, final int offset, final int count) {
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = out[i] * this.scaleAmplitude + this.scaleOffset;
+        }
+    }
+
     public float getNoiseScaled(final float x) {
         return this.getNoise(x) * this.scaleAmplitude + this.scaleOffset;
     }
@@ -122,6 +379,78 @@ public abstract class FastNoise {
         return this.invert != (noise > this.minThreshold && noise < this.maxThreshold);
     }
 
+    /**
+     * Fills <code>mask</code> with the result of <code>getBoolean</code> for each sample of
+     * the matching {@link #fillNoise} grid. Sample <code>n</code> is stored in bit
+     * <code>n &amp; 63</code> of <code>mask[n &gt;&gt;&gt; 6]</code>. See {@link BitMasks}.
+     */
+    public void fillBoolean(final long[] mask, final float x, final float y, final int width, final int height, final float step) {
+        final float[] noise = new float[width];
+        for (int j = 0; j < height; j++) {
+            this.fillNoise(noise, x, y + j * step, width, 1, step);
+            this.pack(mask, noise, j * width, width);
+        }
+        clearTail(mask, width * height);
+    }
+
+    // Each layer along the slowest axis is contiguous in the mask, so layers are
+    // filled one at a time through the same buffer and packed at their offset.
+    public void fillBoolean(final long[] mask, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        final int count = width * height * depth;
+        if (order.strideY(width, height, depth) * height == count) {
+            final float[] noise = new float[width * depth];
+            for (int j = 0; j < height; j++) {
+                this.fillNoise(noise, x, y + j * step, z, width, 1, depth, step, order);
+                this.pack(mask, noise, j * noise.length, noise.length);
+            }
+        } else if (order.strideZ(width, height, depth) * depth == count) {
+            final float[] noise = new float[width * height];
+            for (int k = 0; k < depth; k++) {
+                this.fillNoise(noise, x, y, z + k * step, width, height, 1, step, order);
+                this.pack(mask, noise, k * noise.length, noise.length);
+            }
+        } else {
+            final float[] noise = new float[height * depth];
+            for (int i = 0; i < width; i++) {
+                this.fillNoise(noise, x + i * step, y, z, 1, height, depth, step, order);
+                this.pack(mask, noise, i * noise.length, noise.length);
+            }
+        }
+        clearTail(mask, count);
+    }
+
+    // Packs count samples into mask starting at bit offset. Bits outside of
+    // [offset, offset + count) are left as they are.
+    protected final void pack(final long[] mask, final float[] noise, final int offset, final int count) {
+        final float min = this.minThreshold;
+        final float max = this.maxThreshold;
+        final long flip = this.invert ? -1L : 0L;
+        int n = 0;
+        while (n < count) {
+            final int shift = (offset + n) & 63;
+            final int end = Math.min(64 - shift, count - n);
+            long bits = 0;
+            for (int b = 0; b < end; b++) {
+                final float v = noise[n + b];
+                if (v > min && v < max) {
+                    bits |= 1L << b;
+                }
+            }
+            final long span = end == 64 ? -1L : (1L << end) - 1;
+            final int w = (offset + n) >>> 6;
+            mask[w] = (mask[w] & ~(span << shift)) | ((bits ^ flip) & span) << shift;
+            n += end;
+        }
+    }
+
+    private static void clearTail(final long[] mask, final int count) {
+        final int tail = count & 63;
+        if (tail != 0) {
+            mask[count >>> 6] &= (1L << tail) - 1;
+        }
+    }
+
     public boolean isInThreshold(final float noise) {
         return this.invert != (noise > this.minThreshold && noise < this.maxThreshold);
     }
@@ -0,0 +1,67 @@
+package personthecat.fastnoise.data;
+
+import org.jetbrains.annotations.Nullable;
+import personthecat.fastnoise.util.EnumNamingService;
+
+import java.util.regex.Pattern;
+
+/**
+ * The order in which samples are stored when filling a flat volume. Axes are
+ * listed from slowest to fastest varying, i.e. <code>XYZ</code> is laid out the
+ * same as <code>float[x][y][z]</code>. <code>YZX</code> matches the layout of a
+ * Minecraft chunk section.
+ */
+public enum AxisOrder {
+    XYZ(0, 1, 2),
+    XZY(0, 2, 1),
+    YXZ(1, 0, 2),
+    YZX(2, 0, 1),
+    ZXY(1, 2, 0),
+    ZYX(2, 1, 0);
+
+    final int x;
+    final int y;
+    final int z;
+
+    final Pattern pattern = EnumNamingService.createPattern(this);
+    final String formatted = EnumNamingService.formatName(this);
+
+    AxisOrder(final int x, final int y, final int z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    public int strideX(final int width, final int height, final int depth) {
+        return stride(this.x, this.y, this.z, height, depth);
+    }
+
+    public int strideY(final int width, final int height, final int depth) {
+        return stride(this.y, this.x, this.z, width, depth);
+    }
+
+    public int strideZ(final int width, final int height, final int depth) {
+        return stride(this.z, this.x, this.y, width, height);
+    }
+
+    private static int stride(final int axis, final int a, final int b, final int sizeA, final int sizeB) {
+        int stride = 1;
+        if (a > axis) stride *= sizeA;
+        if (b > axis) stride *= sizeB;
+        return stride;
+    }
+
+    @Nullable
+    public static AxisOrder from(final String s) {
+        for (final AxisOrder o : values()) {
+            if (o.pattern.matcher(s).matches()) {
+                return o;
+            }
+        }
+        return null;
+    }
+
+    public String format() {
+        return this.formatted;
+    }
+}
@@ -3,6 +3,7 @@ package personthecat.fastnoise.data;
 import lombok.Data;
 import lombok.EqualsAndHashCode.Exclude;
 import lombok.experimental.Accessors;
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.function.DistanceFunction;
 import personthecat.fastnoise.function.ReturnFunction;
 import personthecat.fastnoise.function.FractalFunction;
@@ -10,6 +11,7 @@ import personthecat.fastnoise.function.MultiFunction;
 import personthecat.fastnoise.function.NoiseProvider;
 import personthecat.fastnoise.function.ScaleFunction;
 import personthecat.fastnoise.generator.*;
+import personthecat.fastnoise.util.ApproximateScale;
 import personthecat.fastnoise.FastNoise;
 
 import java.util.Collection;
@@ -31,6 +33,8 @@ public class NoiseBuilder {
     private MultiFunction multiFunction = MultiFunction.NO_OP;
     private FractalFunction fractalFunction = FractalFunction.NO_OP;
     private ScaleFunction scaleFunction = null;
+    private ScaleApproximation scaleApproximation = ScaleApproximation.NONE;
+    private float maxScaleError = 1.0E-4F;
     private NoiseBuilder noiseLookup = null;
     private NoiseBuilder[] references = {};
     private MultiType multi = MultiType.SUM;
@@ -140,6 +144,24 @@ public class NoiseBuilder {
         return this.fractal(FractalType.FUNCTION);
     }
 
+    public NoiseBuilder scaleFunction(final ScaleFunction scaleFunction) {
+        this.scaleFunction = scaleFunction;
+        return this;
+    }
+
+    /**
+     * Samples <code>scaleFunction</code> into a table, growing it until the measured error
+     * is within <code>maxError</code>. When no table size can meet it, e.g. because the
+     * target is below the rounding error of the output, the exact function is used
+     * instead. {@link #fitScaleFunction} reports the error and size that were reached.
+     */
+    public NoiseBuilder scaleFunction(final ScaleFunction scaleFunction, final ScaleApproximation approximation, final float maxError) {
+        this.scaleFunction = scaleFunction;
+        this.scaleApproximation = approximation;
+        this.maxScaleError = maxError;
+        return this;
+    }
+
     public NoiseBuilder reference() {
         return this.references.length == 0 ? null : this.references[0];
     }
@@ -218,10 +240,10 @@ public class NoiseBuilder {
             case PERLIN: return new PerlinNoise(this);
             case SIMPLEX2: return new OpenSimplex2Noise(this);
             case SIMPLEX2S: return new OpenSimplex2SNoise(this);
-            case CELLULAR: return new CellularNoise(this);
+            case CELLULAR: return this.getCellularGenerator();
             case WHITE: return new WhiteNoise(this);
             case CUBIC: return new CubicNoise(this);
-            case FRACTAL: return new FractalNoise(this, this.buildReference());
+            case FRACTAL: return this.applyFractal(this.buildReference());
             case WARPED: return this.applyWarp(this.buildReference());
             case MULTI: return this.getMultiGenerator();
             default: return new SimplexNoise(this);
@@ -240,6 +262,29 @@ public class NoiseBuilder {
         }
     }
 
+    private FastNoise getCellularGenerator() {
+        final boolean nearest = this.cellularReturn == ReturnType.CELL_VALUE
+            || this.cellularReturn == ReturnType.NOISE_LOOKUP
+            || this.cellularReturn == ReturnType.DISTANCE
+            || this.cellularReturn == ReturnType.DISTANCE_SQRT;
+        switch (this.distance) {
+            case EUCLIDEAN: return nearest ? new CellularNoise.EuclideanNearest(this) : new CellularNoise.Euclidean(this);
+            case MANHATTAN: return nearest ? new CellularNoise.ManhattanNearest(this) : new CellularNoise.Manhattan(this);
+            case NATURAL: return nearest ? new CellularNoise.NaturalNearest(this) : new CellularNoise.Natural(this);
+            default: return new CellularNoise(this);
+        }
+    }
+
+    private FastNoise applyFractal(final FastNoise reference) {
+        switch (this.fractal) {
+            case BILLOW: return new FractalNoise.Billow(this, reference);
+            case RIGID_MULTI: return new FractalNoise.RigidMulti(this, reference);
+            case PING_PONG: return new FractalNoise.PingPong(this, reference);
+            case FUNCTION: return new FractalNoise.Function(this, reference);
+            default: return new FractalNoise.Fbm(this, reference);
+        }
+    }
+
     private FastNoise applyWarp(final FastNoise reference) {
         switch (this.warp) {
             case BASIC_GRID: return new WarpedNoise.BasicGrid(this, reference);
@@ -253,17 +298,38 @@ public class NoiseBuilder {
     public FastNoise build() {
         FastNoise generator = this.provider.generate(this);
         if (this.fractal != FractalType.NONE && this.type != NoiseType.FRACTAL) {
-            generator = new FractalNoise(this, generator);
+            generator = this.applyFractal(generator);
         }
         if (this.warp != WarpType.NONE && this.type != NoiseType.WARPED) {
             generator = this.applyWarp(generator);
         }
         if (this.scaleFunction != null) {
-            generator = new ScaledNoise(generator, this.scaleFunction);
+            generator = new ScaledNoise(generator, this.buildScaleFunction());
         }
         return generator;
     }
 
+    // The exact function is used when the fit misses its target error.
+    public ScaleFunction buildScaleFunction() {
+        final ApproximateScale scale = this.fitScaleFunction();
+        return scale != null && scale.isWithinTarget() ? scale : this.scaleFunction;
+    }
+
+    // The approximation is fit over both the raw and the scaled output range. The
+    // result is returned even when it misses the target, so that its error and size
+    // can be reported. Null when no approximation was requested.
+    @Nullable
+    public ApproximateScale fitScaleFunction() {
+        if (this.scaleFunction == null || this.scaleApproximation == ScaleApproximation.NONE) {
+            return null;
+        }
+        final float a = this.scaleOffset - this.scaleAmplitude;
+        final float b = this.scaleOffset + this.scaleAmplitude;
+        final float min = Math.min(-1.0F, Math.min(a, b));
+        final float max = Math.max(1.0F, Math.max(a, b));
+        return ApproximateScale.fit(this.scaleFunction, this.scaleApproximation, min, max, this.maxScaleError);
+    }
+
     public FastNoise buildLookup() {
         return this.noiseLookup == null ? this.buildReference() : this.noiseLookup.build();
     }
@@ -0,0 +1,29 @@
+package personthecat.fastnoise.data;
+
+import org.jetbrains.annotations.Nullable;
+import personthecat.fastnoise.util.EnumNamingService;
+
+import java.util.regex.Pattern;
+
+public enum ScaleApproximation {
+    LUT,
+    SPLINE,
+    NONE;
+
+    final Pattern pattern = EnumNamingService.createPattern(this);
+    final String formatted = EnumNamingService.formatName(this);
+
+    @Nullable
+    public static ScaleApproximation from(final String s) {
+        for (final ScaleApproximation a : values()) {
+            if (a.pattern.matcher(s).matches()) {
+                return a;
+            }
+        }
+        return null;
+    }
+
+    public String format() {
+        return this.formatted;
+    }
+}
@@ -28,6 +28,19 @@ public interface MultiFunction {
     interface Combiner extends MultiFunction {
         float getNoise(float[] output);
 
+        // rows[r][i] is the scaled output of the r-th generator for sample i, for i in
+        // [offset, offset + count). Override to combine whole rows at once; the default
+        // reuses one column buffer.
+        default void combine(float[][] rows, float[] out, int offset, int count) {
+            final float[] output = new float[rows.length];
+            for (int i = offset; i < offset + count; i++) {
+                for (int r = 0; r < rows.length; r++) {
+                    output[r] = rows[r][i];
+                }
+                out[i] = this.getNoise(output);
+            }
+        }
+
         @Override
         default float getNoise(float x, float y, FastNoise[] generators) {
             float[] output = new float[generators.length];
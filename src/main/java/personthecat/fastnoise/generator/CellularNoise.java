@@ -1,6 +1,8 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.DistanceType;
 import personthecat.fastnoise.data.ReturnType;
 import personthecat.fastnoise.data.Float2;
@@ -9,7 +11,15 @@ import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
 import personthecat.fastnoise.function.DistanceFunction;
 import personthecat.fastnoise.function.ReturnFunction;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.CellularSearch;
+import personthecat.fastnoise.simd.CellularSearch.Features;
+import personthecat.fastnoise.simd.VectorSupport;
 
+import java.util.Collections;
+import java.util.List;
+
+import static personthecat.fastnoise.util.LatticeAxis.runEnd;
 import static personthecat.fastnoise.util.NoiseTables.CELL_2D;
 import static personthecat.fastnoise.util.NoiseTables.CELL_3D;
 import static personthecat.fastnoise.util.NoiseUtils.fastRound;
@@ -20,14 +30,15 @@ import static personthecat.fastnoise.util.NoiseUtils.value3;
 
 public class CellularNoise extends FastNoise {
 
-    private final DistanceType distanceType;
-    private final ReturnType returnType;
-    private final DistanceFunction distanceFunction;
-    private final ReturnFunction returnFunction;
-    private final FastNoise lookup;
-    private final float jitterX;
-    private final float jitterY;
-    private final float jitterZ;
+    protected final DistanceType distanceType;
+    protected final ReturnType returnType;
+    protected final DistanceFunction distanceFunction;
+    protected final ReturnFunction returnFunction;
+    protected final FastNoise lookup;
+    protected final float jitterX;
+    protected final float jitterY;
+    protected final float jitterZ;
+    @Nullable private final CellularSearch kernel;
 
     public CellularNoise(final NoiseBuilder cfg) {
         super(cfg);
@@ -39,6 +50,8 @@ public class CellularNoise extends FastNoise {
         this.jitterX = cfg.jitterX();
         this.jitterY = cfg.jitterY();
         this.jitterZ = cfg.jitterZ();
+        this.kernel = VectorSupport.isAvailable() && this.distanceType != DistanceType.FUNCTION
+            ? VectorSupport.kernels().cellular(this.distanceType, this.jitterX, this.jitterY, this.jitterZ) : null;
     }
 
     public CellularNoise(final int seed) {
@@ -59,6 +72,16 @@ public class CellularNoise extends FastNoise {
             .jitterZ(this.jitterZ);
     }
 
+    @Override
+    public Backend getBackend() {
+        return this.kernel != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
+    @Override
+    public List<FastNoise> getReferences() {
+        return this.lookup != DUMMY ? Collections.singletonList(this.lookup) : Collections.emptyList();
+    }
+
     @Override
     public float getSingle(int seed, float x) {
         return this.getSingle(seed, x, 1337);
@@ -154,25 +177,7 @@ public class CellularNoise extends FastNoise {
                     }
                 }
         }
-        switch (this.returnType) {
-            case CELL_VALUE: return value2(0, xc, yc);
-            case NOISE_LOOKUP:
-                final Float2 vec = CELL_2D[hash2(this.seed, xc, yc) & 255];
-                return this.lookup.getNoise(xc + vec.x * this.jitterX, yc + vec.y * this.jitterY);
-            case DISTANCE: return distance - 1;
-            case DISTANCE_SQRT: return (float) -Math.sqrt(distance);
-            case DISTANCE2: return distance2 - 1;
-            case DISTANCE2_ADD: return distance2 + distance - 1;
-            case DISTANCE2_SUB: return distance2 - distance - 1;
-            case DISTANCE2_MUL: return distance2 * distance - 1;
-            case DISTANCE2_DIV: return distance / distance2 - 1;
-            case DISTANCE3: return distance3 - 1;
-            case DISTANCE3_ADD: return distance3 + distance - 1;
-            case DISTANCE3_SUB: return distance3 - distance - 1;
-            case DISTANCE3_MUL: return distance3 * distance - 1;
-            case DISTANCE3_DIV: return distance / distance3 - 1;
-            default: return this.returnFunction.getReturn(xc, yc, distance, distance2, distance3);
-        }
+        return this.getReturn(xc, yc, distance, distance2, distance3);
     }
 
     @Override
@@ -282,6 +287,246 @@ public class CellularNoise extends FastNoise {
                     }
                 }
         }
+        return this.getReturn(xc, yc, zc, distance, distance2, distance3);
+    }
+
+    // Each tile of samples sharing a nearest cell precomputes the jittered feature
+    // points of its 3x3(x3) window once. Only the distance search runs per sample.
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        if (this.kernel != null) {
+            this.fillKernel(seed, out, xs, ys);
+            return;
+        }
+        final int[] xr = rounded(xs);
+        final int[] yr = rounded(ys);
+        final int width = xs.length;
+        final Window window = new Window(9);
+
+        for (int j0 = 0, j1; j0 < yr.length; j0 = j1) {
+            j1 = runEnd(yr, j0);
+            for (int i0 = 0, i1; i0 < width; i0 = i1) {
+                i1 = runEnd(xr, i0);
+                window.move(seed, xr[i0], yr[j0], this.jitterX, this.jitterY);
+
+                for (int j = j0; j < j1; j++) {
+                    final int index = j * width;
+                    for (int i = i0; i < i1; i++) {
+                        out[index + i] = this.search(window, xs[i], ys[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        if (this.kernel != null) {
+            this.fillKernel(seed, out, xs, ys, zs, order);
+            return;
+        }
+        final int[] xr = rounded(xs);
+        final int[] yr = rounded(ys);
+        final int[] zr = rounded(zs);
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        final Window window = new Window(27);
+
+        for (int k0 = 0, k1; k0 < zr.length; k0 = k1) {
+            k1 = runEnd(zr, k0);
+            for (int j0 = 0, j1; j0 < yr.length; j0 = j1) {
+                j1 = runEnd(yr, j0);
+                for (int i0 = 0, i1; i0 < xr.length; i0 = i1) {
+                    i1 = runEnd(xr, i0);
+                    window.move(seed, xr[i0], yr[j0], zr[k0], this.jitterX, this.jitterY, this.jitterZ);
+
+                    for (int k = k0; k < k1; k++) {
+                        for (int j = j0; j < j1; j++) {
+                            final int index = j * sy + k * sz;
+                            for (int i = i0; i < i1; i++) {
+                                out[index + i * sx] = this.search(window, xs[i], ys[j], zs[k]);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        if (this.kernel == null) {
+            super.sampleSingle(seed, out, offset, xs, ys, count);
+            return;
+        }
+        final Features f = new Features(count);
+        this.kernel.search(seed, xs, ys, count, f);
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = this.getReturn(f.xc[i], f.yc[i], f.distance[i], f.distance2[i], f.distance3[i]);
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        if (this.kernel == null) {
+            super.sampleSingle(seed, out, offset, xs, ys, zs, count);
+            return;
+        }
+        final Features f = new Features(count);
+        this.kernel.search(seed, xs, ys, zs, count, f);
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = this.getReturn(f.xc[i], f.yc[i], f.zc[i], f.distance[i], f.distance2[i], f.distance3[i]);
+        }
+    }
+
+    // The kernel searches every sample independently, which is still faster than
+    // sharing windows between samples in the scalar code.
+    private void fillKernel(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        final int count = xs.length * ys.length;
+        final float[] px = new float[count];
+        final float[] py = new float[count];
+        int index = 0;
+        for (final float y : ys) {
+            for (final float x : xs) {
+                px[index] = x;
+                py[index++] = y;
+            }
+        }
+        this.sampleSingle(seed, out, px, py);
+    }
+
+    private void fillKernel(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        final int count = xs.length * ys.length * zs.length;
+        final float[] px = new float[count];
+        final float[] py = new float[count];
+        final float[] pz = new float[count];
+        for (int k = 0; k < zs.length; k++) {
+            for (int j = 0; j < ys.length; j++) {
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < xs.length; i++) {
+                    px[index + i * sx] = xs[i];
+                    py[index + i * sx] = ys[j];
+                    pz[index + i * sx] = zs[k];
+                }
+            }
+        }
+        this.sampleSingle(seed, out, px, py, pz);
+    }
+
+    private float search(final Window w, final float x, final float y) {
+        final float[] d = w.distances;
+        switch (this.distanceType) {
+            case EUCLIDEAN:
+                for (int c = 0; c < 9; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    d[c] = vecX * vecX + vecY * vecY;
+                }
+                break;
+            case MANHATTAN:
+                for (int c = 0; c < 9; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    d[c] = Math.abs(vecX) + Math.abs(vecY);
+                }
+                break;
+            case NATURAL:
+                for (int c = 0; c < 9; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    d[c] = Math.abs(vecX) + Math.abs(vecY) + vecX * vecX + vecY * vecY;
+                }
+                break;
+            default:
+                for (int c = 0; c < 9; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    d[c] = this.distanceFunction.getDistance(vecX, vecY);
+                }
+        }
+        final int c = w.nearest();
+        final int xc = c < 0 ? 0 : w.xi[c];
+        final int yc = c < 0 ? 0 : w.yi[c];
+        return this.getReturn(xc, yc, w.distance, w.distance2, w.distance3);
+    }
+
+    private float search(final Window w, final float x, final float y, final float z) {
+        final float[] d = w.distances;
+        switch (this.distanceType) {
+            case EUCLIDEAN:
+                for (int c = 0; c < 27; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    final float vecZ = w.z[c] - z + w.jz[c];
+                    d[c] = vecX * vecX + vecY * vecY + vecZ * vecZ;
+                }
+                break;
+            case MANHATTAN:
+                for (int c = 0; c < 27; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    final float vecZ = w.z[c] - z + w.jz[c];
+                    d[c] = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ);
+                }
+                break;
+            case NATURAL:
+                for (int c = 0; c < 27; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    final float vecZ = w.z[c] - z + w.jz[c];
+                    d[c] = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ) + vecX * vecX + vecY * vecY + vecZ * vecZ;
+                }
+                break;
+            default:
+                for (int c = 0; c < 27; c++) {
+                    final float vecX = w.x[c] - x + w.jx[c];
+                    final float vecY = w.y[c] - y + w.jy[c];
+                    final float vecZ = w.z[c] - z + w.jz[c];
+                    d[c] = this.distanceFunction.getDistance(vecX, vecY, vecZ);
+                }
+        }
+        final int c = w.nearest();
+        final int xc = c < 0 ? 0 : w.xi[c];
+        final int yc = c < 0 ? 0 : w.yi[c];
+        final int zc = c < 0 ? 0 : w.zi[c];
+        return this.getReturn(xc, yc, zc, w.distance, w.distance2, w.distance3);
+    }
+
+    private static int[] rounded(final float[] coords) {
+        final int[] cells = new int[coords.length];
+        for (int i = 0; i < coords.length; i++) {
+            cells[i] = fastRound(coords[i]);
+        }
+        return cells;
+    }
+
+    protected float getReturn(int xc, int yc, float distance, float distance2, float distance3) {
+        switch (this.returnType) {
+            case CELL_VALUE: return value2(0, xc, yc);
+            case NOISE_LOOKUP:
+                final Float2 vec = CELL_2D[hash2(this.seed, xc, yc) & 255];
+                return this.lookup.getNoise(xc + vec.x * this.jitterX, yc + vec.y * this.jitterY);
+            case DISTANCE: return distance - 1;
+            case DISTANCE_SQRT: return (float) -Math.sqrt(distance);
+            case DISTANCE2: return distance2 - 1;
+            case DISTANCE2_ADD: return distance2 + distance - 1;
+            case DISTANCE2_SUB: return distance2 - distance - 1;
+            case DISTANCE2_MUL: return distance2 * distance - 1;
+            case DISTANCE2_DIV: return distance / distance2 - 1;
+            case DISTANCE3: return distance3 - 1;
+            case DISTANCE3_ADD: return distance3 + distance - 1;
+            case DISTANCE3_SUB: return distance3 - distance - 1;
+            case DISTANCE3_MUL: return distance3 * distance - 1;
+            case DISTANCE3_DIV: return distance / distance3 - 1;
+            default: return this.returnFunction.getReturn(xc, yc, distance, distance2, distance3);
+        }
+    }
+
+    protected float getReturn(int xc, int yc, int zc, float distance, float distance2, float distance3) {
         switch (this.returnType) {
             case CELL_VALUE: return value3(0, xc, yc, zc);
             case NOISE_LOOKUP:
@@ -302,4 +547,506 @@ public class CellularNoise extends FastNoise {
             default: return this.returnFunction.getReturn(xc, yc, zc, distance, distance2, distance3);
         }
     }
+
+    // The variants chosen by NoiseBuilder, one per distance type. The Nearest
+    // variants are used when the return type only depends on the nearest cell,
+    // so the second and third distances are never tracked.
+    public static class Euclidean extends CellularNoise {
+
+        public Euclidean(final NoiseBuilder cfg) {
+            super(cfg);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+
+            float distance = 999999;
+            float distance2 = 999999;
+            float distance3 = 999999;
+            int xc = 0, yc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    Float2 vec = CELL_2D[hash2(seed, xi, yi) & 255];
+
+                    float vecX = xi - x + vec.x * this.jitterX;
+                    float vecY = yi - y + vec.y * this.jitterY;
+
+                    float newDistance = vecX * vecX + vecY * vecY;
+
+                    distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                    distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, distance, distance2, distance3);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+            int zr = fastRound(z);
+
+            float distance = 999999;
+            float distance2 = 999999;
+            float distance3 = 999999;
+            int xc = 0, yc = 0, zc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                        Float3 vec = CELL_3D[hash3(seed, xi, yi, zi) & 255];
+
+                        float vecX = xi - x + vec.x * this.jitterX;
+                        float vecY = yi - y + vec.y * this.jitterY;
+                        float vecZ = zi - z + vec.z * this.jitterZ;
+
+                        float newDistance = vecX * vecX + vecY * vecY + vecZ * vecZ;
+
+                        distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                        distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                        if (newDistance < distance) {
+                            distance = newDistance;
+                            xc = xi;
+                            yc = yi;
+                            zc = zi;
+                        }
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, zc, distance, distance2, distance3);
+        }
+    }
+
+    public static class EuclideanNearest extends CellularNoise {
+
+        public EuclideanNearest(final NoiseBuilder cfg) {
+            super(cfg);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+
+            float distance = 999999;
+            int xc = 0, yc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    Float2 vec = CELL_2D[hash2(seed, xi, yi) & 255];
+
+                    float vecX = xi - x + vec.x * this.jitterX;
+                    float vecY = yi - y + vec.y * this.jitterY;
+
+                    float newDistance = vecX * vecX + vecY * vecY;
+
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, distance, distance, distance);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+            int zr = fastRound(z);
+
+            float distance = 999999;
+            int xc = 0, yc = 0, zc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                        Float3 vec = CELL_3D[hash3(seed, xi, yi, zi) & 255];
+
+                        float vecX = xi - x + vec.x * this.jitterX;
+                        float vecY = yi - y + vec.y * this.jitterY;
+                        float vecZ = zi - z + vec.z * this.jitterZ;
+
+                        float newDistance = vecX * vecX + vecY * vecY + vecZ * vecZ;
+
+                        if (newDistance < distance) {
+                            distance = newDistance;
+                            xc = xi;
+                            yc = yi;
+                            zc = zi;
+                        }
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, zc, distance, distance, distance);
+        }
+    }
+
+    public static class Manhattan extends CellularNoise {
+
+        public Manhattan(final NoiseBuilder cfg) {
+            super(cfg);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+
+            float distance = 999999;
+            float distance2 = 999999;
+            float distance3 = 999999;
+            int xc = 0, yc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    Float2 vec = CELL_2D[hash2(seed, xi, yi) & 255];
+
+                    float vecX = xi - x + vec.x * this.jitterX;
+                    float vecY = yi - y + vec.y * this.jitterY;
+
+                    float newDistance = Math.abs(vecX) + Math.abs(vecY);
+
+                    distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                    distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, distance, distance2, distance3);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+            int zr = fastRound(z);
+
+            float distance = 999999;
+            float distance2 = 999999;
+            float distance3 = 999999;
+            int xc = 0, yc = 0, zc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                        Float3 vec = CELL_3D[hash3(seed, xi, yi, zi) & 255];
+
+                        float vecX = xi - x + vec.x * this.jitterX;
+                        float vecY = yi - y + vec.y * this.jitterY;
+                        float vecZ = zi - z + vec.z * this.jitterZ;
+
+                        float newDistance = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ);
+
+                        distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                        distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                        if (newDistance < distance) {
+                            distance = newDistance;
+                            xc = xi;
+                            yc = yi;
+                            zc = zi;
+                        }
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, zc, distance, distance2, distance3);
+        }
+    }
+
+    public static class ManhattanNearest extends CellularNoise {
+
+        public ManhattanNearest(final NoiseBuilder cfg) {
+            super(cfg);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+
+            float distance = 999999;
+            int xc = 0, yc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    Float2 vec = CELL_2D[hash2(seed, xi, yi) & 255];
+
+                    float vecX = xi - x + vec.x * this.jitterX;
+                    float vecY = yi - y + vec.y * this.jitterY;
+
+                    float newDistance = Math.abs(vecX) + Math.abs(vecY);
+
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, distance, distance, distance);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+            int zr = fastRound(z);
+
+            float distance = 999999;
+            int xc = 0, yc = 0, zc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                        Float3 vec = CELL_3D[hash3(seed, xi, yi, zi) & 255];
+
+                        float vecX = xi - x + vec.x * this.jitterX;
+                        float vecY = yi - y + vec.y * this.jitterY;
+                        float vecZ = zi - z + vec.z * this.jitterZ;
+
+                        float newDistance = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ);
+
+                        if (newDistance < distance) {
+                            distance = newDistance;
+                            xc = xi;
+                            yc = yi;
+                            zc = zi;
+                        }
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, zc, distance, distance, distance);
+        }
+    }
+
+    public static class Natural extends CellularNoise {
+
+        public Natural(final NoiseBuilder cfg) {
+            super(cfg);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+
+            float distance = 999999;
+            float distance2 = 999999;
+            float distance3 = 999999;
+            int xc = 0, yc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    Float2 vec = CELL_2D[hash2(seed, xi, yi) & 255];
+
+                    float vecX = xi - x + vec.x * this.jitterX;
+                    float vecY = yi - y + vec.y * this.jitterY;
+
+                    float newDistance = Math.abs(vecX) + Math.abs(vecY) + vecX * vecX + vecY * vecY;
+
+                    distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                    distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, distance, distance2, distance3);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+            int zr = fastRound(z);
+
+            float distance = 999999;
+            float distance2 = 999999;
+            float distance3 = 999999;
+            int xc = 0, yc = 0, zc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                        Float3 vec = CELL_3D[hash3(seed, xi, yi, zi) & 255];
+
+                        float vecX = xi - x + vec.x * this.jitterX;
+                        float vecY = yi - y + vec.y * this.jitterY;
+                        float vecZ = zi - z + vec.z * this.jitterZ;
+
+                        float newDistance = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ) + vecX * vecX + vecY * vecY + vecZ * vecZ;
+
+                        distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                        distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                        if (newDistance < distance) {
+                            distance = newDistance;
+                            xc = xi;
+                            yc = yi;
+                            zc = zi;
+                        }
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, zc, distance, distance2, distance3);
+        }
+    }
+
+    public static class NaturalNearest extends CellularNoise {
+
+        public NaturalNearest(final NoiseBuilder cfg) {
+            super(cfg);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+
+            float distance = 999999;
+            int xc = 0, yc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    Float2 vec = CELL_2D[hash2(seed, xi, yi) & 255];
+
+                    float vecX = xi - x + vec.x * this.jitterX;
+                    float vecY = yi - y + vec.y * this.jitterY;
+
+                    float newDistance = Math.abs(vecX) + Math.abs(vecY) + vecX * vecX + vecY * vecY;
+
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, distance, distance, distance);
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            int xr = fastRound(x);
+            int yr = fastRound(y);
+            int zr = fastRound(z);
+
+            float distance = 999999;
+            int xc = 0, yc = 0, zc = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                        Float3 vec = CELL_3D[hash3(seed, xi, yi, zi) & 255];
+
+                        float vecX = xi - x + vec.x * this.jitterX;
+                        float vecY = yi - y + vec.y * this.jitterY;
+                        float vecZ = zi - z + vec.z * this.jitterZ;
+
+                        float newDistance = Math.abs(vecX) + Math.abs(vecY) + Math.abs(vecZ) + vecX * vecX + vecY * vecY + vecZ * vecZ;
+
+                        if (newDistance < distance) {
+                            distance = newDistance;
+                            xc = xi;
+                            yc = yi;
+                            zc = zi;
+                        }
+                    }
+                }
+            }
+            return this.getReturn(xc, yc, zc, distance, distance, distance);
+        }
+    }
+
+    // The cells around a sample in the same order as getSingle, i.e. x, then y,
+    // then z. Cell coordinates are also stored as floats, the same as when they
+    // are subtracted from the sample.
+    private static class Window {
+        final int[] xi;
+        final int[] yi;
+        final int[] zi;
+        final float[] x;
+        final float[] y;
+        final float[] z;
+        final float[] jx;
+        final float[] jy;
+        final float[] jz;
+        final float[] distances;
+        float distance;
+        float distance2;
+        float distance3;
+
+        Window(final int size) {
+            this.xi = new int[size];
+            this.yi = new int[size];
+            this.zi = new int[size];
+            this.x = new float[size];
+            this.y = new float[size];
+            this.z = new float[size];
+            this.jx = new float[size];
+            this.jy = new float[size];
+            this.jz = new float[size];
+            this.distances = new float[size];
+        }
+
+        void move(final int seed, final int xr, final int yr, final float jitterX, final float jitterY) {
+            int c = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    final Float2 vec = CELL_2D[hash2(seed, xi, yi) & 255];
+                    this.xi[c] = xi;
+                    this.yi[c] = yi;
+                    this.x[c] = xi;
+                    this.y[c] = yi;
+                    this.jx[c] = vec.x * jitterX;
+                    this.jy[c] = vec.y * jitterY;
+                    c++;
+                }
+            }
+        }
+
+        void move(final int seed, final int xr, final int yr, final int zr, final float jitterX, final float jitterY, final float jitterZ) {
+            int c = 0;
+            for (int xi = xr - 1; xi <= xr + 1; xi++) {
+                for (int yi = yr - 1; yi <= yr + 1; yi++) {
+                    for (int zi = zr - 1; zi <= zr + 1; zi++) {
+                        final Float3 vec = CELL_3D[hash3(seed, xi, yi, zi) & 255];
+                        this.xi[c] = xi;
+                        this.yi[c] = yi;
+                        this.zi[c] = zi;
+                        this.x[c] = xi;
+                        this.y[c] = yi;
+                        this.z[c] = zi;
+                        this.jx[c] = vec.x * jitterX;
+                        this.jy[c] = vec.y * jitterY;
+                        this.jz[c] = vec.z * jitterZ;
+                        c++;
+                    }
+                }
+            }
+        }
+
+        // Tracks the three smallest distances the same way as getSingle and returns
+        // the index of the nearest cell, or -1 if no distance was in range.
+        int nearest() {
+            float distance = 999999;
+            float distance2 = 999999;
+            float distance3 = 999999;
+            int nearest = -1;
+            for (int c = 0; c < this.distances.length; c++) {
+                final float newDistance = this.distances[c];
+                distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                if (newDistance < distance) {
+                    distance = newDistance;
+                    nearest = c;
+                }
+            }
+            this.distance = distance;
+            this.distance2 = distance2;
+            this.distance3 = distance3;
+            return nearest;
+        }
+    }
 }
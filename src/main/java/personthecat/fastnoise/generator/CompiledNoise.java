@@ -0,0 +1,185 @@
+package personthecat.fastnoise.generator;
+
+import org.jetbrains.annotations.Nullable;
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.simd.Backend;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The base class of every graph generated by {@link FastNoise#compile()}.
+ *
+ * <p>Subclasses are defined at runtime, one per graph, and implement the 2D and
+ * 3D variants of <code>getNoise</code> and <code>getSingle</code> as a single
+ * method with the whole graph flattened into it and every parameter folded in
+ * as a constant. Any generator or function the compiler does not understand,
+ * such as a user lambda, is called as-is. Every other method is delegated to
+ * the source graph, whose bulk methods already have their own kernels.
+ *
+ * <p>The compiler requires Java 15 or newer. On older runtimes, graphs are not
+ * compiled and <code>compile</code> returns the original generator.
+ */
+public abstract class CompiledNoise extends FastNoise {
+    private static final String IMPLEMENTATION = "personthecat.fastnoise.generator.BytecodeCompiler";
+
+    @Nullable
+    private static final GraphCompiler COMPILER = load();
+
+    protected final FastNoise source;
+    private final boolean sourceScales;
+
+    protected CompiledNoise(final FastNoise source) {
+        super(source.toBuilder());
+        this.source = source;
+        this.sourceScales = overrides(source.getClass(), "getNoiseScaled", float.class, float.class)
+            || overrides(source.getClass(), "getNoiseScaled", float.class, float.class, float.class);
+    }
+
+    public static FastNoise compile(final FastNoise graph) {
+        if (COMPILER == null || graph instanceof CompiledNoise) {
+            return graph;
+        }
+        return COMPILER.compile(graph);
+    }
+
+    public static boolean isAvailable() {
+        return COMPILER != null;
+    }
+
+    @Nullable
+    private static GraphCompiler load() {
+        try {
+            return (GraphCompiler) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    // Whether type replaces the implementation of a method in FastNoise.
+    protected static boolean overrides(final Class<?> type, final String name, final Class<?>... params) {
+        try {
+            return type.getMethod(name, params).getDeclaringClass() != FastNoise.class;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // MultiNoise.Div skips references which return exactly 0.
+    protected static float divide(final float out, final float value) {
+        return value != 0 ? out / value : out;
+    }
+
+    public FastNoise getSource() {
+        return this.source;
+    }
+
+    @Override
+    public FastNoise compile() {
+        return this;
+    }
+
+    @Override
+    public NoiseBuilder toBuilder() {
+        return this.source.toBuilder();
+    }
+
+    @Override
+    public Backend getBackend() {
+        return this.source.getBackend();
+    }
+
+    @Override
+    public List<FastNoise> getReferences() {
+        return Collections.singletonList(this.source);
+    }
+
+    @Override
+    public float getSingle(final int seed, final float x) {
+        return this.source.getSingle(seed, x);
+    }
+
+    @Override
+    public float getNoise(final float x) {
+        return this.source.getNoise(x);
+    }
+
+    @Override
+    public float getNoiseScaled(final float x) {
+        return this.source.getNoiseScaled(x);
+    }
+
+    @Override
+    public float getNoiseScaled(final float x, final float y) {
+        return this.sourceScales ? this.source.getNoiseScaled(x, y) : super.getNoiseScaled(x, y);
+    }
+
+    @Override
+    public float getNoiseScaled(final float x, final float y, final float z) {
+        return this.sourceScales ? this.source.getNoiseScaled(x, y, z) : super.getNoiseScaled(x, y, z);
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        this.source.fillSingle(seed, out, xs, ys);
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        this.source.fillSingle(seed, out, xs, ys, zs, order);
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        this.source.sampleSingle(seed, out, offset, xs, ys, count);
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        this.source.sampleSingle(seed, out, offset, xs, ys, zs, count);
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        this.source.fillNoise(out, x, y, width, height, step);
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        this.source.fillNoise(out, x, y, z, width, height, depth, step, order);
+    }
+
+    @Override
+    public void fillNoiseScaled(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        this.source.fillNoiseScaled(out, x, y, width, height, step);
+    }
+
+    @Override
+    public void fillNoiseScaled(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        this.source.fillNoiseScaled(out, x, y, z, width, height, depth, step, order);
+    }
+
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        this.source.sampleNoise(out, xs, ys, offset, count);
+    }
+
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+        this.source.sampleNoise(out, xs, ys, zs, offset, count);
+    }
+
+    @Override
+    public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        this.source.sampleNoiseScaled(out, xs, ys, offset, count);
+    }
+
+    @Override
+    public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+        this.source.sampleNoiseScaled(out, xs, ys, zs, offset, count);
+    }
+}
@@ -1,8 +1,14 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.PointKernel;
+import personthecat.fastnoise.simd.VectorSupport;
+import personthecat.fastnoise.util.LatticeAxis;
 
 import static personthecat.fastnoise.util.NoiseUtils.cubicLerp;
 import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
@@ -14,6 +20,9 @@ public class CubicNoise extends FastNoise {
     private final static float CUBIC_2D_BOUNDING = 1 / (float) (1.5 * 1.5);
     private final static float CUBIC_3D_BOUNDING = 1 / (float) (1.5 * 1.5 * 1.5);
 
+    @Nullable
+    private static final PointKernel KERNEL = VectorSupport.isAvailable() ? VectorSupport.kernels().cubic() : null;
+
     public CubicNoise(final NoiseBuilder cfg) {
         super(cfg);
     }
@@ -27,6 +36,12 @@ public class CubicNoise extends FastNoise {
         return super.toBuilder().type(NoiseType.CUBIC);
     }
 
+    // Grids are filled with scalar tiles either way.
+    @Override
+    public Backend getBackend() {
+        return KERNEL != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
     @Override
     public float getSingle(final int seed, final float x) {
         return this.getSingle(seed, x, 1337);
@@ -104,4 +119,149 @@ public class CubicNoise extends FastNoise {
             zs
         ) * CUBIC_3D_BOUNDING;
     }
+
+    // Each run of samples sharing a lattice cell reuses a 4x4 window of values.
+    // When the run enters the neighboring cell, the window slides by one column.
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        final LatticeAxis ax = new LatticeAxis(xs);
+        final LatticeAxis ay = new LatticeAxis(ys);
+        final int width = ax.length();
+        final float[] w = new float[16]; // [y][x]
+
+        for (int j0 = 0, j1; j0 < ay.length(); j0 = j1) {
+            j1 = ay.runEnd(j0);
+            final int y1 = ay.cells[j0];
+
+            for (int i0 = 0, i1; i0 < width; i0 = i1) {
+                i1 = ax.runEnd(i0);
+                final int x1 = ax.cells[i0];
+
+                if (i0 > 0 && x1 == ax.cells[i0 - 1] + 1) {
+                    System.arraycopy(w, 1, w, 0, 15);
+                    loadColumn(seed, w, 3, x1 + 2, y1);
+                } else {
+                    for (int c = 0; c < 4; c++) {
+                        loadColumn(seed, w, c, x1 - 1 + c, y1);
+                    }
+                }
+
+                for (int j = j0; j < j1; j++) {
+                    final float ys0 = ay.d0[j];
+                    final int index = j * width;
+
+                    for (int i = i0; i < i1; i++) {
+                        final float xs0 = ax.d0[i];
+
+                        out[index + i] = cubicLerp(
+                            cubicLerp(w[0], w[1], w[2], w[3], xs0),
+                            cubicLerp(w[4], w[5], w[6], w[7], xs0),
+                            cubicLerp(w[8], w[9], w[10], w[11], xs0),
+                            cubicLerp(w[12], w[13], w[14], w[15], xs0),
+                            ys0
+                        ) * CUBIC_2D_BOUNDING;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        final LatticeAxis ax = new LatticeAxis(xs);
+        final LatticeAxis ay = new LatticeAxis(ys);
+        final LatticeAxis az = new LatticeAxis(zs);
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        final float[] w = new float[64]; // [z][y][x]
+
+        for (int k0 = 0, k1; k0 < az.length(); k0 = k1) {
+            k1 = az.runEnd(k0);
+            final int z1 = az.cells[k0];
+
+            for (int j0 = 0, j1; j0 < ay.length(); j0 = j1) {
+                j1 = ay.runEnd(j0);
+                final int y1 = ay.cells[j0];
+
+                for (int i0 = 0, i1; i0 < ax.length(); i0 = i1) {
+                    i1 = ax.runEnd(i0);
+                    final int x1 = ax.cells[i0];
+
+                    if (i0 > 0 && x1 == ax.cells[i0 - 1] + 1) {
+                        System.arraycopy(w, 1, w, 0, 63);
+                        loadColumn(seed, w, 3, x1 + 2, y1, z1);
+                    } else {
+                        for (int c = 0; c < 4; c++) {
+                            loadColumn(seed, w, c, x1 - 1 + c, y1, z1);
+                        }
+                    }
+
+                    for (int k = k0; k < k1; k++) {
+                        final float zs0 = az.d0[k];
+
+                        for (int j = j0; j < j1; j++) {
+                            final float ys0 = ay.d0[j];
+                            final int index = j * sy + k * sz;
+
+                            for (int i = i0; i < i1; i++) {
+                                final float xs0 = ax.d0[i];
+
+                                out[index + i * sx] = cubicLerp(
+                                    lerpLayer(w, 0, xs0, ys0),
+                                    lerpLayer(w, 16, xs0, ys0),
+                                    lerpLayer(w, 32, xs0, ys0),
+                                    lerpLayer(w, 48, xs0, ys0),
+                                    zs0
+                                ) * CUBIC_3D_BOUNDING;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, count);
+            return;
+        }
+        super.sampleSingle(seed, out, offset, xs, ys, count);
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, zs, count);
+            return;
+        }
+        super.sampleSingle(seed, out, offset, xs, ys, zs, count);
+    }
+
+    // Shifting the whole window left by one also moves each row's first value
+    // into the previous row's last column, which is always reloaded here.
+    private static void loadColumn(final int seed, final float[] w, final int c, final int x, final int y1) {
+        for (int r = 0; r < 4; r++) {
+            w[r * 4 + c] = value2(seed, x, y1 - 1 + r);
+        }
+    }
+
+    private static void loadColumn(final int seed, final float[] w, final int c, final int x, final int y1, final int z1) {
+        for (int l = 0; l < 4; l++) {
+            for (int r = 0; r < 4; r++) {
+                w[l * 16 + r * 4 + c] = value3(seed, x, y1 - 1 + r, z1 - 1 + l);
+            }
+        }
+    }
+
+    private static float lerpLayer(final float[] w, final int l, final float xs, final float ys) {
+        return cubicLerp(
+            cubicLerp(w[l], w[l + 1], w[l + 2], w[l + 3], xs),
+            cubicLerp(w[l + 4], w[l + 5], w[l + 6], w[l + 7], xs),
+            cubicLerp(w[l + 8], w[l + 9], w[l + 10], w[l + 11], xs),
+            cubicLerp(w[l + 12], w[l + 13], w[l + 14], w[l + 15], xs),
+            ys);
+    }
 }
@@ -1,15 +1,23 @@
 package personthecat.fastnoise.generator;
 
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.FractalType;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
 import personthecat.fastnoise.function.FractalFunction;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static personthecat.fastnoise.util.NoiseUtils.getFractalBounding;
 
 public class FractalNoise extends FastNoise {
 
+    // The variants unroll up to this many octaves in 1D and 2D.
+    protected static final int UNROLLED_OCTAVES = 8;
+
     protected final FractalType fractalType;
     protected final FractalFunction fractalFunction;
     protected final float lacunarityX;
@@ -20,6 +28,7 @@ public class FractalNoise extends FastNoise {
     protected final float fractalBounding;
     protected final FastNoise reference;
     protected final float pingPongStrength;
+    protected final float[] amplitudes;
 
     public FractalNoise(final NoiseBuilder cfg, final FastNoise reference) {
         super(cfg);
@@ -33,6 +42,7 @@ public class FractalNoise extends FastNoise {
         this.fractalBounding = getFractalBounding(this.gain, this.octaves);
         this.reference = reference;
         this.pingPongStrength = cfg.pingPongStrength();
+        this.amplitudes = getAmplitudes(this.gain, this.octaves);
     }
 
     public FractalNoise(final int seed, final FastNoise reference) {
@@ -54,6 +64,11 @@ public class FractalNoise extends FastNoise {
             .pingPongStrength(this.pingPongStrength);
     }
 
+    @Override
+    public List<FastNoise> getReferences() {
+        return Collections.singletonList(this.reference);
+    }
+
     @Override
     public float getSingle(int seed, float x) {
         float amp = 1;
@@ -198,8 +213,689 @@ public class FractalNoise extends FastNoise {
         return sum * this.fractalBounding;
     }
 
+    // Each octave is filled in bulk by the reference and then accumulated, so
+    // the reference can use its own grid kernel.
+    @Override
+    public void fillSingle(int seed, float[] out, float[] xs, float[] ys) {
+        final int count = xs.length * ys.length;
+        final float[] x = Arrays.copyOf(xs, xs.length);
+        final float[] y = Arrays.copyOf(ys, ys.length);
+        final float[] octave = new float[count];
+        Arrays.fill(out, 0, count, 0);
+
+        float amp = 1;
+        for (int o = 0; o < this.octaves; o++) {
+            this.reference.fillSingle(seed++, octave, x, y);
+            this.accumulate(out, 0, octave, count, amp);
+            scaleAxis(x, this.lacunarityX);
+            scaleAxis(y, this.lacunarityY);
+            amp *= this.gain;
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] *= this.fractalBounding;
+        }
+    }
+
+    @Override
+    public void fillSingle(int seed, float[] out, float[] xs, float[] ys, float[] zs, AxisOrder order) {
+        final int count = xs.length * ys.length * zs.length;
+        final float[] x = Arrays.copyOf(xs, xs.length);
+        final float[] y = Arrays.copyOf(ys, ys.length);
+        final float[] z = Arrays.copyOf(zs, zs.length);
+        final float[] octave = new float[count];
+        Arrays.fill(out, 0, count, 0);
+
+        float amp = 1;
+        for (int o = 0; o < this.octaves; o++) {
+            this.reference.fillSingle(seed++, octave, x, y, z, order);
+            this.accumulate(out, 0, octave, count, amp);
+            scaleAxis(x, this.lacunarityX);
+            scaleAxis(y, this.lacunarityY);
+            scaleAxis(z, this.lacunarityZ);
+            amp *= this.gain;
+        }
+        for (int i = 0; i < count; i++) {
+            out[i] *= this.fractalBounding;
+        }
+    }
+
+    @Override
+    public void sampleSingle(int seed, float[] out, int offset, float[] xs, float[] ys, int count) {
+        final float[] x = Arrays.copyOf(xs, count);
+        final float[] y = Arrays.copyOf(ys, count);
+        final float[] octave = new float[count];
+        Arrays.fill(out, offset, offset + count, 0);
+
+        float amp = 1;
+        for (int o = 0; o < this.octaves; o++) {
+            this.reference.sampleSingle(seed++, octave, 0, x, y, count);
+            this.accumulate(out, offset, octave, count, amp);
+            for (int i = 0; i < count; i++) {
+                x[i] *= this.lacunarityX;
+                y[i] *= this.lacunarityY;
+            }
+            amp *= this.gain;
+        }
+        for (int i = 0; i < count; i++) {
+            out[offset + i] *= this.fractalBounding;
+        }
+    }
+
+    @Override
+    public void sampleSingle(int seed, float[] out, int offset, float[] xs, float[] ys, float[] zs, int count) {
+        final float[] x = Arrays.copyOf(xs, count);
+        final float[] y = Arrays.copyOf(ys, count);
+        final float[] z = Arrays.copyOf(zs, count);
+        final float[] octave = new float[count];
+        Arrays.fill(out, offset, offset + count, 0);
+
+        float amp = 1;
+        for (int o = 0; o < this.octaves; o++) {
+            this.reference.sampleSingle(seed++, octave, 0, x, y, z, count);
+            this.accumulate(out, offset, octave, count, amp);
+            for (int i = 0; i < count; i++) {
+                x[i] *= this.lacunarityX;
+                y[i] *= this.lacunarityY;
+                z[i] *= this.lacunarityZ;
+            }
+            amp *= this.gain;
+        }
+        for (int i = 0; i < count; i++) {
+            out[offset + i] *= this.fractalBounding;
+        }
+    }
+
+    protected void accumulate(final float[] sum, final int offset, final float[] octave, final int count, final float amp) {
+        switch (this.fractalType) {
+            case FBM:
+                for (int i = 0; i < count; i++) {
+                    sum[offset + i] += octave[i] * amp;
+                }
+                break;
+            case BILLOW:
+                for (int i = 0; i < count; i++) {
+                    sum[offset + i] += (Math.abs(octave[i]) * 2 - 1) * amp;
+                }
+                break;
+            case RIGID_MULTI:
+                for (int i = 0; i < count; i++) {
+                    sum[offset + i] += (1 - Math.abs(octave[i])) * amp;
+                }
+                break;
+            case PING_PONG:
+                for (int i = 0; i < count; i++) {
+                    sum[offset + i] += ((pingPong((octave[i] + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp;
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    sum[offset + i] += this.fractalFunction.fractal(octave[i]) * amp;
+                }
+        }
+    }
+
+    private static void scaleAxis(final float[] axis, final float lacunarity) {
+        for (int i = 0; i < axis.length; i++) {
+            axis[i] *= lacunarity;
+        }
+    }
+
+    // The amplitude of each octave, computed the same way as the loops above. The
+    // table is right-aligned, so the unrolled octave at index i always reads
+    // amplitudes[i], whatever the number of octaves.
+    private static float[] getAmplitudes(final float gain, final int octaves) {
+        final float[] amplitudes = new float[Math.max(octaves, UNROLLED_OCTAVES)];
+        final int start = Math.max(UNROLLED_OCTAVES - octaves, 0);
+        float amp = 1;
+        for (int i = 0; i < octaves; i++) {
+            amplitudes[start + i] = amp;
+            amp *= gain;
+        }
+        return amplitudes;
+    }
+
     protected static float pingPong(float t) {
         t -= (int) (t * 0.5f) * 2;
         return t < 1 ? t : 2 - t;
     }
+
+    // The variants chosen by NoiseBuilder. Each contains only the code of its own
+    // fractal type. In 1D and 2D, up to UNROLLED_OCTAVES octaves are unrolled so
+    // that every amplitude is read from a fixed index. 3D keeps the plain loop,
+    // since the JIT inlines the reference once per copy and the 3D generators are
+    // large enough for that to be slower.
+    public static class Fbm extends FractalNoise {
+
+        public Fbm(final NoiseBuilder cfg, final FastNoise reference) {
+            super(cfg, reference);
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += this.reference.getSingle(seed++, x) * amp[0];
+                    x *= this.lacunarityX;
+                case 7:
+                    sum += this.reference.getSingle(seed++, x) * amp[1];
+                    x *= this.lacunarityX;
+                case 6:
+                    sum += this.reference.getSingle(seed++, x) * amp[2];
+                    x *= this.lacunarityX;
+                case 5:
+                    sum += this.reference.getSingle(seed++, x) * amp[3];
+                    x *= this.lacunarityX;
+                case 4:
+                    sum += this.reference.getSingle(seed++, x) * amp[4];
+                    x *= this.lacunarityX;
+                case 3:
+                    sum += this.reference.getSingle(seed++, x) * amp[5];
+                    x *= this.lacunarityX;
+                case 2:
+                    sum += this.reference.getSingle(seed++, x) * amp[6];
+                    x *= this.lacunarityX;
+                case 1:
+                    sum += this.reference.getSingle(seed++, x) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x, float y) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x, y);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[0];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 7:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[1];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 6:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[2];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 5:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[3];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 4:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[4];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 3:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[5];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 2:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[6];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 1:
+                    sum += this.reference.getSingle(seed++, x, y) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            float amp = 1;
+            float sum = 0;
+            for (int i = 0; i < this.octaves; i++) {
+                sum += this.reference.getSingle(seed++, x, y, z) * amp;
+                x *= this.lacunarityX;
+                y *= this.lacunarityY;
+                z *= this.lacunarityZ;
+                amp *= this.gain;
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        protected void accumulate(final float[] sum, final int offset, final float[] octave, final int count, final float amp) {
+            for (int i = 0; i < count; i++) {
+                sum[offset + i] += octave[i] * amp;
+            }
+        }
+    }
+
+    public static class Billow extends FractalNoise {
+
+        public Billow(final NoiseBuilder cfg, final FastNoise reference) {
+            super(cfg, reference);
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[0];
+                    x *= this.lacunarityX;
+                case 7:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[1];
+                    x *= this.lacunarityX;
+                case 6:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[2];
+                    x *= this.lacunarityX;
+                case 5:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[3];
+                    x *= this.lacunarityX;
+                case 4:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[4];
+                    x *= this.lacunarityX;
+                case 3:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[5];
+                    x *= this.lacunarityX;
+                case 2:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[6];
+                    x *= this.lacunarityX;
+                case 1:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x)) * 2 - 1) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x, float y) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x, y);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[0];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 7:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[1];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 6:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[2];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 5:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[3];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 4:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[4];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 3:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[5];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 2:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[6];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 1:
+                    sum += (Math.abs(this.reference.getSingle(seed++, x, y)) * 2 - 1) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            float amp = 1;
+            float sum = 0;
+            for (int i = 0; i < this.octaves; i++) {
+                sum += (Math.abs(this.reference.getSingle(seed++, x, y, z)) * 2 - 1) * amp;
+                x *= this.lacunarityX;
+                y *= this.lacunarityY;
+                z *= this.lacunarityZ;
+                amp *= this.gain;
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        protected void accumulate(final float[] sum, final int offset, final float[] octave, final int count, final float amp) {
+            for (int i = 0; i < count; i++) {
+                sum[offset + i] += (Math.abs(octave[i]) * 2 - 1) * amp;
+            }
+        }
+    }
+
+    public static class RigidMulti extends FractalNoise {
+
+        public RigidMulti(final NoiseBuilder cfg, final FastNoise reference) {
+            super(cfg, reference);
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[0];
+                    x *= this.lacunarityX;
+                case 7:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[1];
+                    x *= this.lacunarityX;
+                case 6:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[2];
+                    x *= this.lacunarityX;
+                case 5:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[3];
+                    x *= this.lacunarityX;
+                case 4:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[4];
+                    x *= this.lacunarityX;
+                case 3:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[5];
+                    x *= this.lacunarityX;
+                case 2:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[6];
+                    x *= this.lacunarityX;
+                case 1:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x))) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x, float y) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x, y);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[0];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 7:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[1];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 6:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[2];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 5:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[3];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 4:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[4];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 3:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[5];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 2:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[6];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 1:
+                    sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y))) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            float amp = 1;
+            float sum = 0;
+            for (int i = 0; i < this.octaves; i++) {
+                sum += (1 - Math.abs(this.reference.getSingle(seed++, x, y, z))) * amp;
+                x *= this.lacunarityX;
+                y *= this.lacunarityY;
+                z *= this.lacunarityZ;
+                amp *= this.gain;
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        protected void accumulate(final float[] sum, final int offset, final float[] octave, final int count, final float amp) {
+            for (int i = 0; i < count; i++) {
+                sum[offset + i] += (1 - Math.abs(octave[i])) * amp;
+            }
+        }
+    }
+
+    public static class PingPong extends FractalNoise {
+
+        public PingPong(final NoiseBuilder cfg, final FastNoise reference) {
+            super(cfg, reference);
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[0];
+                    x *= this.lacunarityX;
+                case 7:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[1];
+                    x *= this.lacunarityX;
+                case 6:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[2];
+                    x *= this.lacunarityX;
+                case 5:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[3];
+                    x *= this.lacunarityX;
+                case 4:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[4];
+                    x *= this.lacunarityX;
+                case 3:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[5];
+                    x *= this.lacunarityX;
+                case 2:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[6];
+                    x *= this.lacunarityX;
+                case 1:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x, float y) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x, y);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[0];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 7:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[1];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 6:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[2];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 5:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[3];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 4:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[4];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 3:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[5];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 2:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[6];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 1:
+                    sum += ((pingPong((this.reference.getSingle(seed++, x, y) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            float amp = 1;
+            float sum = 0;
+            for (int i = 0; i < this.octaves; i++) {
+                sum += ((pingPong((this.reference.getSingle(seed++, x, y, z) + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp;
+                x *= this.lacunarityX;
+                y *= this.lacunarityY;
+                z *= this.lacunarityZ;
+                amp *= this.gain;
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        protected void accumulate(final float[] sum, final int offset, final float[] octave, final int count, final float amp) {
+            for (int i = 0; i < count; i++) {
+                sum[offset + i] += ((pingPong((octave[i] + 1) * this.pingPongStrength) - 0.5F) * 2.0F) * amp;
+            }
+        }
+    }
+
+    public static class Function extends FractalNoise {
+
+        public Function(final NoiseBuilder cfg, final FastNoise reference) {
+            super(cfg, reference);
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[0];
+                    x *= this.lacunarityX;
+                case 7:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[1];
+                    x *= this.lacunarityX;
+                case 6:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[2];
+                    x *= this.lacunarityX;
+                case 5:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[3];
+                    x *= this.lacunarityX;
+                case 4:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[4];
+                    x *= this.lacunarityX;
+                case 3:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[5];
+                    x *= this.lacunarityX;
+                case 2:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[6];
+                    x *= this.lacunarityX;
+                case 1:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x)) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        @SuppressWarnings("fallthrough") // Each octave falls through to the next
+        public float getSingle(int seed, float x, float y) {
+            if (this.octaves > UNROLLED_OCTAVES) {
+                return super.getSingle(seed, x, y);
+            }
+            final float[] amp = this.amplitudes;
+            float sum = 0;
+            switch (this.octaves) {
+                case 8:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[0];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 7:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[1];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 6:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[2];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 5:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[3];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 4:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[4];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 3:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[5];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 2:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[6];
+                    x *= this.lacunarityX;
+                    y *= this.lacunarityY;
+                case 1:
+                    sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y)) * amp[7];
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        public float getSingle(int seed, float x, float y, float z) {
+            float amp = 1;
+            float sum = 0;
+            for (int i = 0; i < this.octaves; i++) {
+                sum += this.fractalFunction.fractal(this.reference.getSingle(seed++, x, y, z)) * amp;
+                x *= this.lacunarityX;
+                y *= this.lacunarityY;
+                z *= this.lacunarityZ;
+                amp *= this.gain;
+            }
+            return sum * this.fractalBounding;
+        }
+
+        @Override
+        protected void accumulate(final float[] sum, final int offset, final float[] octave, final int count, final float amp) {
+            for (int i = 0; i < count; i++) {
+                sum[offset + i] += this.fractalFunction.fractal(octave[i]) * amp;
+            }
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package personthecat.fastnoise.generator;
+
+import personthecat.fastnoise.FastNoise;
+
+// Generates a single class evaluating an entire graph of generators. See
+// CompiledNoise.
+public interface GraphCompiler {
+
+    // Returns a generator equivalent to graph, or graph itself.
+    FastNoise compile(FastNoise graph);
+}
@@ -1,10 +1,13 @@
 package personthecat.fastnoise.generator;
 
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.MultiType;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.function.MultiFunction;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 
 public abstract class MultiNoise extends FastNoise {
@@ -22,6 +25,11 @@ public abstract class MultiNoise extends FastNoise {
             Stream.of(this.references).map(FastNoise::toBuilder).toArray(NoiseBuilder[]::new));
     }
 
+    @Override
+    public List<FastNoise> getReferences() {
+        return Arrays.asList(this.references);
+    }
+
     @Override
     public float getSingle(final int seed, final float x) {
         return 0F;
@@ -37,6 +45,187 @@ public abstract class MultiNoise extends FastNoise {
         return 0F;
     }
 
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        this.sampleEach(out, xs, ys, offset, count, false);
+    }
+
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+        this.sampleEach(out, xs, ys, zs, offset, count, false);
+    }
+
+    // Rows share their indices with the coordinates, so they start at offset too.
+    protected void sampleEach(final float[] out, final float[] xs, final float[] ys, final int offset, final int count, final boolean scaled) {
+        if (!scaled && this.usesLegacyCoordinates()) {
+            this.sampleLegacy(out, xs, ys, offset, count);
+            return;
+        }
+        final float[] row = new float[offset + count];
+        for (int r = 0; r < this.references.length; r++) {
+            if (scaled) {
+                this.references[r].sampleNoiseScaled(row, xs, ys, offset, count);
+            } else {
+                this.references[r].sampleNoise(row, xs, ys, offset, count);
+            }
+            this.combine(out, row, offset, count, r);
+        }
+        this.finish(out, offset, count, scaled);
+    }
+
+    protected void sampleEach(final float[] out, final float[] xs, final float[] ys, final float[] zs,
+            final int offset, final int count, final boolean scaled) {
+        if (!scaled && this.usesLegacyCoordinates()) {
+            this.sampleLegacy(out, xs, new float[offset + count], offset, count);
+            return;
+        }
+        final float[] row = new float[offset + count];
+        for (int r = 0; r < this.references.length; r++) {
+            if (scaled) {
+                this.references[r].sampleNoiseScaled(row, xs, ys, zs, offset, count);
+            } else {
+                this.references[r].sampleNoise(row, xs, ys, zs, offset, count);
+            }
+            this.combine(out, row, offset, count, r);
+        }
+        this.finish(out, offset, count, scaled);
+    }
+
+    // Merges the output of the r-th reference into out[offset, offset + count). Only
+    // the row-wise bulk paths of this class call it. Generators which override those
+    // paths, e.g. Function, need not implement it, and the default throws so that a
+    // missing override can't go unnoticed.
+    protected void combine(final float[] out, final float[] row, final int offset, final int count, final int r) {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + " does not combine rows");
+    }
+
+    protected void finish(final float[] out, final int offset, final int count, final boolean scaled) {}
+
+    protected static void clamp(final float[] out, final int offset, final int count) {
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = Math.max(-1, Math.min(1, out[i]));
+        }
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        this.fillRows(out, x, y, width, height, step, false);
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        this.fillRows(out, x, y, z, width, height, depth, step, order, false);
+    }
+
+    // Each reference fills a whole row with its own kernel before it is combined.
+    protected void fillRows(final float[] out, final float x, final float y, final int width, final int height,
+            final float step, final boolean scaled) {
+        if (!scaled && this.usesLegacyCoordinates()) {
+            this.fillLegacy(out, x, y, width, height, step);
+            return;
+        }
+        final int count = width * height;
+        final float[] row = new float[count];
+        for (int r = 0; r < this.references.length; r++) {
+            if (scaled) {
+                this.references[r].fillNoiseScaled(row, x, y, width, height, step);
+            } else {
+                this.references[r].fillNoise(row, x, y, width, height, step);
+            }
+            this.combine(out, row, 0, count, r);
+        }
+        this.finish(out, 0, count, scaled);
+    }
+
+    protected void fillRows(final float[] out, final float x, final float y, final float z, final int width, final int height,
+            final int depth, final float step, final AxisOrder order, final boolean scaled) {
+        if (!scaled && this.usesLegacyCoordinates()) {
+            this.fillLegacy(out, x, width, height, depth, step, order);
+            return;
+        }
+        final int count = width * height * depth;
+        final float[] row = new float[count];
+        for (int r = 0; r < this.references.length; r++) {
+            if (scaled) {
+                this.references[r].fillNoiseScaled(row, x, y, z, width, height, depth, step, order);
+            } else {
+                this.references[r].fillNoise(row, x, y, z, width, height, depth, step, order);
+            }
+            this.combine(out, row, 0, count, r);
+        }
+        this.finish(out, 0, count, scaled);
+    }
+
+    // Whether getNoise samples the first reference at (x) and, in 3D, the others
+    // at (x, 0). Mul and Div have always done so, and changing it would change
+    // existing worlds, so their bulk paths reproduce it.
+    protected boolean usesLegacyCoordinates() {
+        return false;
+    }
+
+    // In 3D, ys is filled with zeros.
+    private void sampleLegacy(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        final float[] row = new float[offset + count];
+        for (int i = offset; i < offset + count; i++) {
+            row[i] = this.references[0].getNoise(xs[i]);
+        }
+        this.combine(out, row, offset, count, 0);
+        for (int r = 1; r < this.references.length; r++) {
+            this.references[r].sampleNoise(row, xs, ys, offset, count);
+            this.combine(out, row, offset, count, r);
+        }
+        this.finish(out, offset, count, false);
+    }
+
+    private void fillLegacy(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        final int count = width * height;
+        final float[] row = new float[count];
+        for (int i = 0; i < width; i++) {
+            row[i] = this.references[0].getNoise(x + i * step);
+        }
+        for (int j = 1; j < height; j++) {
+            System.arraycopy(row, 0, row, j * width, width);
+        }
+        this.combine(out, row, 0, count, 0);
+        for (int r = 1; r < this.references.length; r++) {
+            this.references[r].fillNoise(row, x, y, width, height, step);
+            this.combine(out, row, 0, count, r);
+        }
+        this.finish(out, 0, count, false);
+    }
+
+    // Every reference only depends on x, so one line is sampled and copied
+    // to each (y, z).
+    private void fillLegacy(final float[] out, final float x, final int width, final int height,
+            final int depth, final float step, final AxisOrder order) {
+        final int count = width * height * depth;
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final float[] line = new float[width];
+        final float[] row = new float[count];
+        for (int r = 0; r < this.references.length; r++) {
+            if (r == 0) {
+                for (int i = 0; i < width; i++) {
+                    line[i] = this.references[0].getNoise(x + i * step);
+                }
+            } else {
+                this.references[r].fillNoise(line, x, 0, width, 1, step);
+            }
+            for (int k = 0; k < depth; k++) {
+                for (int j = 0; j < height; j++) {
+                    final int index = j * sy + k * sz;
+                    for (int i = 0; i < width; i++) {
+                        row[index + i * sx] = line[i];
+                    }
+                }
+            }
+            this.combine(out, row, 0, count, r);
+        }
+        this.finish(out, 0, count, false);
+    }
+
     public static class Min extends MultiNoise {
 
         public Min(final NoiseBuilder cfg) {
@@ -70,6 +259,14 @@ public abstract class MultiNoise extends FastNoise {
             return min;
         }
 
+        @Override
+        protected void combine(final float[] out, final float[] row, final int offset, final int count, final int r) {
+            if (r == 0) Arrays.fill(out, offset, offset + count, 1);
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = Math.min(out[i], row[i]);
+            }
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().multi(MultiType.MIN);
@@ -109,6 +306,14 @@ public abstract class MultiNoise extends FastNoise {
             return max;
         }
 
+        @Override
+        protected void combine(final float[] out, final float[] row, final int offset, final int count, final int r) {
+            if (r == 0) Arrays.fill(out, offset, offset + count, -1);
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = Math.max(out[i], row[i]);
+            }
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().multi(MultiType.MAX);
@@ -148,6 +353,21 @@ public abstract class MultiNoise extends FastNoise {
             return max / this.references.length;
         }
 
+        @Override
+        protected void combine(final float[] out, final float[] row, final int offset, final int count, final int r) {
+            if (r == 0) Arrays.fill(out, offset, offset + count, 0);
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = Math.max(out[i], row[i]);
+            }
+        }
+
+        @Override
+        protected void finish(final float[] out, final int offset, final int count, final boolean scaled) {
+            for (int i = offset; i < offset + count; i++) {
+                out[i] /= this.references.length;
+            }
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().multi(MultiType.AVG);
@@ -214,6 +434,48 @@ public abstract class MultiNoise extends FastNoise {
             return out;
         }
 
+        @Override
+        public void fillNoiseScaled(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+            this.fillRows(out, x, y, width, height, step, true);
+        }
+
+        @Override
+        public void fillNoiseScaled(final float[] out, final float x, final float y, final float z,
+                final int width, final int height, final int depth, final float step, final AxisOrder order) {
+            this.fillRows(out, x, y, z, width, height, depth, step, order, true);
+        }
+
+        @Override
+        public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+            this.sampleEach(out, xs, ys, offset, count, true);
+        }
+
+        @Override
+        public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+            this.sampleEach(out, xs, ys, zs, offset, count, true);
+        }
+
+        @Override
+        protected boolean usesLegacyCoordinates() {
+            return true;
+        }
+
+        @Override
+        protected void combine(final float[] out, final float[] row, final int offset, final int count, final int r) {
+            if (r == 0) {
+                System.arraycopy(row, offset, out, offset, count);
+                return;
+            }
+            for (int i = offset; i < offset + count; i++) {
+                out[i] *= row[i];
+            }
+        }
+
+        @Override
+        protected void finish(final float[] out, final int offset, final int count, final boolean scaled) {
+            if (!scaled) clamp(out, offset, count);
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().multi(MultiType.MUL);
@@ -298,6 +560,50 @@ public abstract class MultiNoise extends FastNoise {
             return out;
         }
 
+        @Override
+        public void fillNoiseScaled(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+            this.fillRows(out, x, y, width, height, step, true);
+        }
+
+        @Override
+        public void fillNoiseScaled(final float[] out, final float x, final float y, final float z,
+                final int width, final int height, final int depth, final float step, final AxisOrder order) {
+            this.fillRows(out, x, y, z, width, height, depth, step, order, true);
+        }
+
+        @Override
+        public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+            this.sampleEach(out, xs, ys, offset, count, true);
+        }
+
+        @Override
+        public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+            this.sampleEach(out, xs, ys, zs, offset, count, true);
+        }
+
+        @Override
+        protected boolean usesLegacyCoordinates() {
+            return true;
+        }
+
+        @Override
+        protected void combine(final float[] out, final float[] row, final int offset, final int count, final int r) {
+            if (r == 0) {
+                System.arraycopy(row, offset, out, offset, count);
+                return;
+            }
+            for (int i = offset; i < offset + count; i++) {
+                if (row[i] != 0) {
+                    out[i] /= row[i];
+                }
+            }
+        }
+
+        @Override
+        protected void finish(final float[] out, final int offset, final int count, final boolean scaled) {
+            if (!scaled) clamp(out, offset, count);
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().multi(MultiType.DIV);
@@ -364,6 +670,40 @@ public abstract class MultiNoise extends FastNoise {
             return sum;
         }
 
+        @Override
+        public void fillNoiseScaled(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+            this.fillRows(out, x, y, width, height, step, true);
+        }
+
+        @Override
+        public void fillNoiseScaled(final float[] out, final float x, final float y, final float z,
+                final int width, final int height, final int depth, final float step, final AxisOrder order) {
+            this.fillRows(out, x, y, z, width, height, depth, step, order, true);
+        }
+
+        @Override
+        public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+            this.sampleEach(out, xs, ys, offset, count, true);
+        }
+
+        @Override
+        public void sampleNoiseScaled(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+            this.sampleEach(out, xs, ys, zs, offset, count, true);
+        }
+
+        @Override
+        protected void combine(final float[] out, final float[] row, final int offset, final int count, final int r) {
+            if (r == 0) Arrays.fill(out, offset, offset + count, 0);
+            for (int i = offset; i < offset + count; i++) {
+                out[i] += row[i];
+            }
+        }
+
+        @Override
+        protected void finish(final float[] out, final int offset, final int count, final boolean scaled) {
+            if (!scaled) clamp(out, offset, count);
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().multi(MultiType.SUM);
@@ -373,10 +713,13 @@ public abstract class MultiNoise extends FastNoise {
     public static class Function extends MultiNoise {
 
         private final MultiFunction multiFunction;
+        private final MultiFunction.Combiner combiner;
 
         public Function(final NoiseBuilder cfg) {
             super(cfg);
             this.multiFunction = cfg.multiFunction();
+            this.combiner = this.multiFunction instanceof MultiFunction.Combiner
+                ? (MultiFunction.Combiner) this.multiFunction : null;
         }
 
         @Override
@@ -394,6 +737,65 @@ public abstract class MultiNoise extends FastNoise {
             return this.multiFunction.getNoise(x, y, z, this.references);
         }
 
+        // Combiners only see the scaled output of each reference, so every
+        // reference can fill its own row before they are combined column-wise.
+        @Override
+        public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+            if (this.combiner != null) {
+                final float[][] rows = new float[this.references.length][offset + count];
+                for (int r = 0; r < this.references.length; r++) {
+                    this.references[r].sampleNoiseScaled(rows[r], xs, ys, offset, count);
+                }
+                this.combiner.combine(rows, out, offset, count);
+                return;
+            }
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = this.multiFunction.getNoise(xs[i], ys[i], this.references);
+            }
+        }
+
+        @Override
+        public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+            if (this.combiner != null) {
+                final float[][] rows = new float[this.references.length][offset + count];
+                for (int r = 0; r < this.references.length; r++) {
+                    this.references[r].sampleNoiseScaled(rows[r], xs, ys, zs, offset, count);
+                }
+                this.combiner.combine(rows, out, offset, count);
+                return;
+            }
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = this.multiFunction.getNoise(xs[i], ys[i], zs[i], this.references);
+            }
+        }
+
+        @Override
+        public void fillNoise(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+            if (this.combiner != null) {
+                final float[][] rows = new float[this.references.length][width * height];
+                for (int r = 0; r < this.references.length; r++) {
+                    this.references[r].fillNoiseScaled(rows[r], x, y, width, height, step);
+                }
+                this.combiner.combine(rows, out, 0, width * height);
+                return;
+            }
+            this.fillEach(out, x, y, width, height, step);
+        }
+
+        @Override
+        public void fillNoise(final float[] out, final float x, final float y, final float z,
+                final int width, final int height, final int depth, final float step, final AxisOrder order) {
+            if (this.combiner != null) {
+                final float[][] rows = new float[this.references.length][width * height * depth];
+                for (int r = 0; r < this.references.length; r++) {
+                    this.references[r].fillNoiseScaled(rows[r], x, y, z, width, height, depth, step, order);
+                }
+                this.combiner.combine(rows, out, 0, width * height * depth);
+                return;
+            }
+            this.fillEach(out, x, y, z, width, height, depth, step, order);
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().multiFunction(this.multiFunction);
@@ -1,6 +1,7 @@
 package personthecat.fastnoise.generator;
 
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.function.NoiseFunction;
 
@@ -101,6 +102,48 @@ public class NoiseWrapper {
             return this.noiseFunction.getNoise(this.seed, x, y, z);
         }
 
+        @Override
+        public void sampleNoise(float[] out, float[] xs, float[] ys, int offset, int count) {
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = this.noiseFunction.getNoise(this.seed, xs[i], ys[i]);
+            }
+        }
+
+        @Override
+        public void sampleNoise(float[] out, float[] xs, float[] ys, float[] zs, int offset, int count) {
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = this.noiseFunction.getNoise(this.seed, xs[i], ys[i], zs[i]);
+            }
+        }
+
+        @Override
+        public void fillNoise(float[] out, float x, float y, int width, int height, float step) {
+            int index = 0;
+            for (int j = 0; j < height; j++) {
+                final float yj = y + j * step;
+                for (int i = 0; i < width; i++) {
+                    out[index++] = this.noiseFunction.getNoise(this.seed, x + i * step, yj);
+                }
+            }
+        }
+
+        @Override
+        public void fillNoise(float[] out, float x, float y, float z, int width, int height, int depth, float step, AxisOrder order) {
+            final int sx = order.strideX(width, height, depth);
+            final int sy = order.strideY(width, height, depth);
+            final int sz = order.strideZ(width, height, depth);
+            for (int k = 0; k < depth; k++) {
+                final float zk = z + k * step;
+                for (int j = 0; j < height; j++) {
+                    final float yj = y + j * step;
+                    final int index = j * sy + k * sz;
+                    for (int i = 0; i < width; i++) {
+                        out[index + i * sx] = this.noiseFunction.getNoise(this.seed, x + i * step, yj, zk);
+                    }
+                }
+            }
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toWrapper().createBuilder();
@@ -1,8 +1,15 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.PointKernel;
+import personthecat.fastnoise.simd.VectorSupport;
+
+import java.util.Arrays;
 
 import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
 import static personthecat.fastnoise.util.NoiseUtils.fastRound;
@@ -20,6 +27,9 @@ import static personthecat.fastnoise.util.NoiseValues.R3;
 // Still testing performance.
 public class OpenSimplex2Noise extends FastNoise {
 
+    @Nullable
+    private static final PointKernel KERNEL = VectorSupport.isAvailable() ? VectorSupport.kernels().openSimplex2() : null;
+
     public OpenSimplex2Noise(final NoiseBuilder cfg) {
         super(cfg);
     }
@@ -33,6 +43,11 @@ public class OpenSimplex2Noise extends FastNoise {
         return super.toBuilder().type(NoiseType.SIMPLEX2);
     }
 
+    @Override
+    public Backend getBackend() {
+        return KERNEL != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
     // Moved these calculations before frequency from FastNoiseLite. Looks better (?)
     @Override
     public float getNoise(final float x, final float y) {
@@ -46,27 +61,317 @@ public class OpenSimplex2Noise extends FastNoise {
         return super.getNoise(r - x, r - y, r - z);
     }
 
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        for (int i = 0; i < count; i++) {
+            final float x = xs[offset + i];
+            final float y = ys[offset + i];
+            final float s = (x + y) * F2;
+            fx[i] = (x + s) * this.frequencyX;
+            fy[i] = (y + s) * this.frequencyY;
+        }
+        this.sampleSingle(this.seed, out, offset, fx, fy, count);
+    }
+
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        final float[] fz = new float[count];
+        for (int i = 0; i < count; i++) {
+            final float x = xs[offset + i];
+            final float y = ys[offset + i];
+            final float z = zs[offset + i];
+            final float r = (x + y + z) * R3;
+            fx[i] = (r - x + this.offsetX) * this.frequencyX;
+            fy[i] = (r - y + this.offsetY) * this.frequencyY;
+            fz[i] = (r - z + this.offsetZ) * this.frequencyZ;
+        }
+        this.sampleSingle(this.seed, out, offset, fx, fy, fz, count);
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        final float[] xi = new float[width];
+        for (int i = 0; i < width; i++) {
+            xi[i] = x + i * step;
+        }
+        if (KERNEL != null) {
+            this.fillKernel(out, xi, y, height, step);
+            return;
+        }
+        final float[] fx = new float[width];
+        final float[] fy = new float[width];
+        final Block2 block = new Block2(width);
+        for (int j = 0; j < height; j++) {
+            final float yj = y + j * step;
+            for (int i = 0; i < width; i++) {
+                final float s = (xi[i] + yj) * F2;
+                fx[i] = (xi[i] + s) * this.frequencyX;
+                fy[i] = (yj + s) * this.frequencyY;
+            }
+            block.load(fx, fy, 0, width);
+            block.evaluate(this.seed, out, j * width, 1, width);
+        }
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final float[] xi = new float[width];
+        for (int i = 0; i < width; i++) {
+            xi[i] = x + i * step;
+        }
+        if (KERNEL != null) {
+            this.fillKernel(out, xi, y, z, height, depth, step, sx, sy, sz);
+            return;
+        }
+        final float[] fx = new float[width];
+        final float[] fy = new float[width];
+        final float[] fz = new float[width];
+        final Block3 block = new Block3(width);
+        for (int k = 0; k < depth; k++) {
+            final float zk = z + k * step;
+            for (int j = 0; j < height; j++) {
+                final float yj = y + j * step;
+                for (int i = 0; i < width; i++) {
+                    final float r = (xi[i] + yj + zk) * R3;
+                    fx[i] = (r - xi[i] + this.offsetX) * this.frequencyX;
+                    fy[i] = (r - yj + this.offsetY) * this.frequencyY;
+                    fz[i] = (r - zk + this.offsetZ) * this.frequencyZ;
+                }
+                block.load(fx, fy, fz, 0, width);
+                block.evaluate(this.seed, out, j * sy + k * sz, sx, width);
+            }
+        }
+    }
+
+    // The kernels are fastest given every sample at once, so grids are not split into rows.
+    private void fillKernel(final float[] out, final float[] xi, final float y, final int height, final float step) {
+        final int count = xi.length * height;
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        for (int j = 0; j < height; j++) {
+            final float yj = y + j * step;
+            final int index = j * xi.length;
+            for (int i = 0; i < xi.length; i++) {
+                final float s = (xi[i] + yj) * F2;
+                fx[index + i] = (xi[i] + s) * this.frequencyX;
+                fy[index + i] = (yj + s) * this.frequencyY;
+            }
+        }
+        KERNEL.sample(this.seed, out, 0, fx, fy, count);
+    }
+
+    private void fillKernel(final float[] out, final float[] xi, final float y, final float z,
+            final int height, final int depth, final float step, final int sx, final int sy, final int sz) {
+        final int count = xi.length * height * depth;
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        final float[] fz = new float[count];
+        for (int k = 0; k < depth; k++) {
+            final float zk = z + k * step;
+            for (int j = 0; j < height; j++) {
+                final float yj = y + j * step;
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < xi.length; i++) {
+                    final float r = (xi[i] + yj + zk) * R3;
+                    final int n = index + i * sx;
+                    fx[n] = (r - xi[i] + this.offsetX) * this.frequencyX;
+                    fy[n] = (r - yj + this.offsetY) * this.frequencyY;
+                    fz[n] = (r - zk + this.offsetZ) * this.frequencyZ;
+                }
+            }
+        }
+        KERNEL.sample(this.seed, out, 0, fx, fy, fz, count);
+    }
+
+    // Without a kernel, each row is expanded and evaluated as a block, as in fillNoise.
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        if (KERNEL != null) {
+            KERNEL.fill(seed, out, xs, ys);
+            return;
+        }
+        final int width = xs.length;
+        final float[] fy = new float[width];
+        final Block2 block = new Block2(width);
+        for (int j = 0; j < ys.length; j++) {
+            Arrays.fill(fy, ys[j]);
+            block.load(xs, fy, 0, width);
+            block.evaluate(seed, out, j * width, 1, width);
+        }
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        if (KERNEL != null) {
+            KERNEL.fill(seed, out, xs, ys, zs, order);
+            return;
+        }
+        final int width = xs.length;
+        final int sx = order.strideX(width, ys.length, zs.length);
+        final int sy = order.strideY(width, ys.length, zs.length);
+        final int sz = order.strideZ(width, ys.length, zs.length);
+        final float[] fy = new float[width];
+        final float[] fz = new float[width];
+        final Block3 block = new Block3(width);
+        for (int k = 0; k < zs.length; k++) {
+            Arrays.fill(fz, zs[k]);
+            for (int j = 0; j < ys.length; j++) {
+                Arrays.fill(fy, ys[j]);
+                block.load(xs, fy, fz, 0, width);
+                block.evaluate(seed, out, j * sy + k * sz, sx, width);
+            }
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, count);
+            return;
+        }
+        final Block2 block = new Block2(Math.min(BLOCK_SIZE, count));
+        for (int n = 0; n < count; n += BLOCK_SIZE) {
+            final int len = Math.min(BLOCK_SIZE, count - n);
+            block.load(xs, ys, n, len);
+            block.evaluate(seed, out, offset + n, 1, len);
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, zs, count);
+            return;
+        }
+        final Block3 block = new Block3(Math.min(BLOCK_SIZE, count));
+        for (int n = 0; n < count; n += BLOCK_SIZE) {
+            final int len = Math.min(BLOCK_SIZE, count - n);
+            block.load(xs, ys, zs, n, len);
+            block.evaluate(seed, out, offset + n, 1, len);
+        }
+    }
+
     @Override
     public float getSingle(final int seed, final float x) {
         return this.getSingle(seed, x, 1337);
     }
 
     @Override
-    public float getSingle(final int seed, float x, float y) {
+    public float getSingle(final int seed, final float x, final float y) {
         // 2D OpenSimplex2 case uses the same algorithm as ordinary Simplex.
 
-        int i = fastFloor(x);
-        int j = fastFloor(y);
+        final int i = fastFloor(x);
+        final int j = fastFloor(y);
         final float xi = x - i;
         final float yi = y - j;
 
         final float t = (xi + yi) * G2;
-        final float x0 = xi - t;
-        final float y0 = yi - t;
+        return lattice(seed, i * X_PRIME, j * Y_PRIME, xi - t, yi - t, t);
+    }
 
-        i *= X_PRIME;
-        j *= Y_PRIME;
+    @Override
+    public float getSingle(final int seed, final float x, final float y, final float z) {
+         // 3D OpenSimplex2 case uses two offset rotated cube grids.
+
+        final int i = fastRound(x);
+        final int j = fastRound(y);
+        final int k = fastRound(z);
+        return lattice(seed, i * X_PRIME, j * Y_PRIME, k * Z_PRIME, x - i, y - j, z - k);
+    }
+
+    // Samples are evaluated in blocks. The lattice cells, primed hashes and
+    // offsets for a whole block are found before any contributions are summed.
+    private static final int BLOCK_SIZE = 64;
+
+    private static class Block2 {
+        final int[] i;
+        final int[] j;
+        final float[] x0;
+        final float[] y0;
+        final float[] t;
+
+        Block2(final int size) {
+            this.i = new int[size];
+            this.j = new int[size];
+            this.x0 = new float[size];
+            this.y0 = new float[size];
+            this.t = new float[size];
+        }
 
+        void load(final float[] xs, final float[] ys, final int from, final int count) {
+            for (int n = 0; n < count; n++) {
+                final float x = xs[from + n];
+                final float y = ys[from + n];
+                final int i = fastFloor(x);
+                final int j = fastFloor(y);
+                final float xi = x - i;
+                final float yi = y - j;
+                final float t = (xi + yi) * G2;
+                this.i[n] = i * X_PRIME;
+                this.j[n] = j * Y_PRIME;
+                this.x0[n] = xi - t;
+                this.y0[n] = yi - t;
+                this.t[n] = t;
+            }
+        }
+
+        void evaluate(final int seed, final float[] out, final int offset, final int stride, final int count) {
+            for (int n = 0; n < count; n++) {
+                out[offset + n * stride] = lattice(seed, this.i[n], this.j[n], this.x0[n], this.y0[n], this.t[n]);
+            }
+        }
+    }
+
+    private static class Block3 {
+        final int[] i;
+        final int[] j;
+        final int[] k;
+        final float[] x0;
+        final float[] y0;
+        final float[] z0;
+
+        Block3(final int size) {
+            this.i = new int[size];
+            this.j = new int[size];
+            this.k = new int[size];
+            this.x0 = new float[size];
+            this.y0 = new float[size];
+            this.z0 = new float[size];
+        }
+
+        void load(final float[] xs, final float[] ys, final float[] zs, final int from, final int count) {
+            for (int n = 0; n < count; n++) {
+                final float x = xs[from + n];
+                final float y = ys[from + n];
+                final float z = zs[from + n];
+                final int i = fastRound(x);
+                final int j = fastRound(y);
+                final int k = fastRound(z);
+                this.i[n] = i * X_PRIME;
+                this.j[n] = j * Y_PRIME;
+                this.k[n] = k * Z_PRIME;
+                this.x0[n] = x - i;
+                this.y0[n] = y - j;
+                this.z0[n] = z - k;
+            }
+        }
+
+        void evaluate(final int seed, final float[] out, final int offset, final int stride, final int count) {
+            for (int n = 0; n < count; n++) {
+                out[offset + n * stride] = lattice(seed, this.i[n], this.j[n], this.k[n], this.x0[n], this.y0[n], this.z0[n]);
+            }
+        }
+    }
+
+    private static float lattice(final int seed, final int i, final int j, final float x0, final float y0, final float t) {
         final float n0, n1, n2;
 
         float a = 0.5f - x0 * x0 - y0 * y0;
@@ -107,17 +412,7 @@ public class OpenSimplex2Noise extends FastNoise {
         return (n0 + n1 + n2) * 99.83685446303647f;
     }
 
-    @Override
-    public float getSingle(int seed, float x, float y, float z) {
-         // 3D OpenSimplex2 case uses two offset rotated cube grids.
-
-        int i = fastRound(x);
-        int j = fastRound(y);
-        int k = fastRound(z);
-        float x0 = x - i;
-        float y0 = y - j;
-        float z0 = z - k;
-
+    private static float lattice(int seed, int i, int j, int k, float x0, float y0, float z0) {
         int xNSign = (int) (-1.0f - x0) | 1;
         int yNSign = (int) (-1.0f - y0) | 1;
         int zNSign = (int) (-1.0f - z0) | 1;
@@ -126,10 +421,6 @@ public class OpenSimplex2Noise extends FastNoise {
         float ay0 = yNSign * -y0;
         float az0 = zNSign * -z0;
 
-        i *= X_PRIME;
-        j *= Y_PRIME;
-        k *= Z_PRIME;
-
         float value = 0;
         float a = (0.6f - x0 * x0) - (y0 * y0 + z0 * z0);
 
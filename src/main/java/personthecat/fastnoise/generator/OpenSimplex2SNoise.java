@@ -1,12 +1,21 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.PointKernel;
+import personthecat.fastnoise.simd.VectorSupport;
+
+import java.util.Arrays;
 
 import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
 import static personthecat.fastnoise.util.NoiseUtils.gradient2L;
 import static personthecat.fastnoise.util.NoiseUtils.gradient3;
+import static personthecat.fastnoise.util.NoiseUtils.hash2L;
+import static personthecat.fastnoise.util.NoiseTables.GRAD_2DL;
 
 import static personthecat.fastnoise.util.NoiseValues.X_PRIME;
 import static personthecat.fastnoise.util.NoiseValues.Y_PRIME;
@@ -21,6 +30,9 @@ public class OpenSimplex2SNoise extends FastNoise {
     private static final int Y_PRIME_2 = Y_PRIME << 1;
     private static final int Z_PRIME_2 = Z_PRIME << 1;
 
+    @Nullable
+    private static final PointKernel KERNEL = VectorSupport.isAvailable() ? VectorSupport.kernels().openSimplex2S() : null;
+
     public OpenSimplex2SNoise(final NoiseBuilder cfg) {
         super(cfg);
     }
@@ -34,6 +46,11 @@ public class OpenSimplex2SNoise extends FastNoise {
         return super.toBuilder().type(NoiseType.SIMPLEX2S);
     }
 
+    @Override
+    public Backend getBackend() {
+        return KERNEL != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
     // Moved these calculations before frequency from FastNoiseLite. Looks better (?)
     @Override
     public float getNoise(final float x, final float y) {
@@ -47,6 +64,164 @@ public class OpenSimplex2SNoise extends FastNoise {
         return super.getNoise(r - x, r - y, r - z);
     }
 
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final int offset, final int count) {
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        for (int i = 0; i < count; i++) {
+            final float x = xs[offset + i];
+            final float y = ys[offset + i];
+            final float s = (x + y) * F2;
+            fx[i] = (x + s) * this.frequencyX;
+            fy[i] = (y + s) * this.frequencyY;
+        }
+        this.sampleSingle(this.seed, out, offset, fx, fy, count);
+    }
+
+    @Override
+    public void sampleNoise(final float[] out, final float[] xs, final float[] ys, final float[] zs, final int offset, final int count) {
+        final float[] fx = new float[count];
+        final float[] fy = new float[count];
+        final float[] fz = new float[count];
+        for (int i = 0; i < count; i++) {
+            final float x = xs[offset + i];
+            final float y = ys[offset + i];
+            final float z = zs[offset + i];
+            final float r = (x + y + z) * R3;
+            fx[i] = (r - x + this.offsetX) * this.frequencyX;
+            fy[i] = (r - y + this.offsetY) * this.frequencyY;
+            fz[i] = (r - z + this.offsetZ) * this.frequencyZ;
+        }
+        this.sampleSingle(this.seed, out, offset, fx, fy, fz, count);
+    }
+
+    // Grids are skewed or rotated in a single pass over the coordinate buffers
+    // and then evaluated as scattered samples.
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        final float[] xi = new float[width];
+        for (int i = 0; i < width; i++) {
+            xi[i] = x + i * step;
+        }
+        final float[] fx = new float[width * height];
+        final float[] fy = new float[width * height];
+        for (int j = 0; j < height; j++) {
+            final float yj = y + j * step;
+            final int index = j * width;
+            for (int i = 0; i < width; i++) {
+                final float s = (xi[i] + yj) * F2;
+                fx[index + i] = (xi[i] + s) * this.frequencyX;
+                fy[index + i] = (yj + s) * this.frequencyY;
+            }
+        }
+        this.sampleSingle(this.seed, out, fx, fy);
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final float[] xi = new float[width];
+        for (int i = 0; i < width; i++) {
+            xi[i] = x + i * step;
+        }
+        final float[] fx = new float[width * height * depth];
+        final float[] fy = new float[width * height * depth];
+        final float[] fz = new float[width * height * depth];
+        for (int k = 0; k < depth; k++) {
+            final float zk = z + k * step;
+            for (int j = 0; j < height; j++) {
+                final float yj = y + j * step;
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < width; i++) {
+                    final float r = (xi[i] + yj + zk) * R3;
+                    final int n = index + i * sx;
+                    fx[n] = (r - xi[i] + this.offsetX) * this.frequencyX;
+                    fy[n] = (r - yj + this.offsetY) * this.frequencyY;
+                    fz[n] = (r - zk + this.offsetZ) * this.frequencyZ;
+                }
+            }
+        }
+        this.sampleSingle(this.seed, out, fx, fy, fz);
+    }
+
+    // Without a kernel, the grid is expanded the same way as in fillNoise so that
+    // its vertices can be shared through the lattice table. There is no 3D table.
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        if (KERNEL != null) {
+            KERNEL.fill(seed, out, xs, ys);
+            return;
+        }
+        final int width = xs.length;
+        final float[] fx = new float[width * ys.length];
+        final float[] fy = new float[width * ys.length];
+        for (int j = 0; j < ys.length; j++) {
+            final int index = j * width;
+            System.arraycopy(xs, 0, fx, index, width);
+            Arrays.fill(fy, index, index + width, ys[j]);
+        }
+        this.sampleSingle(seed, out, fx, fy);
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        if (KERNEL != null) {
+            KERNEL.fill(seed, out, xs, ys, zs, order);
+        } else {
+            super.fillSingle(seed, out, xs, ys, zs, order);
+        }
+    }
+
+    // Dense samples share most of their lattice vertices. When the vertices around
+    // every sample fit in a table no larger than the samples themselves, each
+    // vertex is hashed only once.
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, count);
+            return;
+        }
+        if (count == 0) return;
+        int minI = Integer.MAX_VALUE, maxI = Integer.MIN_VALUE;
+        int minJ = Integer.MAX_VALUE, maxJ = Integer.MIN_VALUE;
+        for (int n = 0; n < count; n++) {
+            final int i = fastFloor(xs[n]);
+            final int j = fastFloor(ys[n]);
+            minI = Math.min(minI, i);
+            maxI = Math.max(maxI, i);
+            minJ = Math.min(minJ, j);
+            maxJ = Math.max(maxJ, j);
+        }
+        // Floors saturate beyond the range of int, where the table offsets would
+        // wrap. The size is also checked per axis so the product can't overflow.
+        final long w = (long) maxI - minI + 4;
+        final long h = (long) maxJ - minJ + 4;
+        if (saturated(minI, maxI) || saturated(minJ, maxJ) || w > count || h > count || w * h > count) {
+            super.sampleSingle(seed, out, offset, xs, ys, count);
+            return;
+        }
+        final Lattice2 lattice = new Lattice2(seed, minI - 1, minJ - 1, (int) w, (int) h);
+        for (int n = 0; n < count; n++) {
+            out[offset + n] = lattice.getNoise(xs[n], ys[n]);
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, zs, count);
+        } else {
+            super.sampleSingle(seed, out, offset, xs, ys, zs, count);
+        }
+    }
+
+    private static boolean saturated(final int min, final int max) {
+        return min <= Integer.MIN_VALUE + 1 || max >= Integer.MAX_VALUE - 4;
+    }
+
     @Override
     public float getSingle(final int seed, final float x) {
         return this.getSingle(seed, x, 1337);
@@ -294,4 +469,88 @@ public class OpenSimplex2SNoise extends FastNoise {
 
         return value * 9.046026385208288f;
     }
+
+    // The gradients of every vertex in a rectangle of the skewed lattice.
+    private static class Lattice2 {
+        final int minI;
+        final int minJ;
+        final int width;
+        final float[] gx;
+        final float[] gy;
+
+        Lattice2(final int seed, final int minI, final int minJ, final int width, final int height) {
+            this.minI = minI;
+            this.minJ = minJ;
+            this.width = width;
+            this.gx = new float[width * height];
+            this.gy = new float[width * height];
+            for (int j = 0; j < height; j++) {
+                final int jp = (minJ + j) * Y_PRIME;
+                for (int i = 0; i < width; i++) {
+                    int hash = hash2L(seed, (minI + i) * X_PRIME, jp);
+                    hash ^= hash >> 15;
+                    hash &= 127 << 1;
+                    this.gx[j * width + i] = GRAD_2DL[hash];
+                    this.gy[j * width + i] = GRAD_2DL[hash | 1];
+                }
+            }
+        }
+
+        float gradient(final int i, final int j, final float xd, final float yd) {
+            final int n = (j - this.minJ) * this.width + (i - this.minI);
+            return xd * this.gx[n] + yd * this.gy[n];
+        }
+
+        // Same as getSingle, with the vertex gradients read from the table.
+        float getNoise(final float x, final float y) {
+            final int i = fastFloor(x);
+            final int j = fastFloor(y);
+            final float xi = x - i;
+            final float yi = y - j;
+
+            final float t = (xi + yi) * G2;
+            final float x0 = xi - t;
+            final float y0 = yi - t;
+
+            final float a0 = (2.0f / 3.0f) - x0 * x0 - y0 * y0;
+            float value = (a0 * a0) * (a0 * a0) * this.gradient(i, j, x0, y0);
+
+            final float a1 = (2 * (1 - 2 * G2) * (1 / G2 - 2)) * t + ((-2 * (1 - 2 * G2) * (1 - 2 * G2)) + a0);
+            final float x1 = x0 - (1 - 2 * G2);
+            final float y1 = y0 - (1 - 2 * G2);
+            value += (a1 * a1) * (a1 * a1) * this.gradient(i + 1, j + 1, x1, y1);
+
+            final float xmyi = xi - yi;
+            if (t > G2) {
+                if (xi + xmyi > 1) {
+                    value = this.contribute(value, i + 2, j + 1, x0 + (3 * G2 - 2), y0 + (3 * G2 - 1));
+                } else {
+                    value = this.contribute(value, i, j + 1, x0 + G2, y0 + G2 - 1);
+                }
+                if (yi - xmyi > 1) {
+                    value = this.contribute(value, i + 1, j + 2, x0 + (3 * G2 - 1), y0 + (3 * G2 - 2));
+                } else {
+                    value = this.contribute(value, i + 1, j, x0 + G2 - 1, y0 + G2);
+                }
+            } else {
+                if (xi + xmyi < 0) {
+                    value = this.contribute(value, i - 1, j, x0 + 1 - G2, y0 - G2);
+                } else {
+                    value = this.contribute(value, i + 1, j, x0 + G2 - 1, y0 + G2);
+                }
+                if (yi < xmyi) {
+                    value = this.contribute(value, i, j - 1, x0 - G2, y0 - G2 - 1);
+                } else {
+                    value = this.contribute(value, i, j + 1, x0 + G2, y0 + G2 - 1);
+                }
+            }
+
+            return value * 18.24196194486065f;
+        }
+
+        float contribute(final float value, final int i, final int j, final float xd, final float yd) {
+            final float a = (2.0f / 3.0f) - xd * xd - yd * yd;
+            return a > 0 ? value + (a * a) * (a * a) * this.gradient(i, j, xd, yd) : value;
+        }
+    }
 }
@@ -1,18 +1,33 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
+import personthecat.fastnoise.data.Float2;
+import personthecat.fastnoise.data.Float3;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.PointKernel;
+import personthecat.fastnoise.simd.VectorSupport;
+import personthecat.fastnoise.util.LatticeAxis;
 
 import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
 import static personthecat.fastnoise.util.NoiseUtils.gradient1;
 import static personthecat.fastnoise.util.NoiseUtils.gradient2;
 import static personthecat.fastnoise.util.NoiseUtils.gradient3;
+import static personthecat.fastnoise.util.NoiseUtils.hash2;
+import static personthecat.fastnoise.util.NoiseUtils.hash3;
 import static personthecat.fastnoise.util.NoiseUtils.interpolateHermite;
 import static personthecat.fastnoise.util.NoiseUtils.lerp;
+import static personthecat.fastnoise.util.NoiseTables.GRAD_2D;
+import static personthecat.fastnoise.util.NoiseTables.GRAD_3D;
 
 public class PerlinNoise extends FastNoise {
 
+    @Nullable
+    private static final PointKernel KERNEL = VectorSupport.isAvailable() ? VectorSupport.kernels().perlin() : null;
+
     public PerlinNoise(final NoiseBuilder cfg) {
         super(cfg);
     }
@@ -26,6 +41,12 @@ public class PerlinNoise extends FastNoise {
         return super.toBuilder().type(NoiseType.PERLIN);
     }
 
+    // Grids are filled with scalar tiles either way.
+    @Override
+    public Backend getBackend() {
+        return KERNEL != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
     @Override
     public final float getSingle(final int seed, float x) {
         final int x0 = fastFloor(x);
@@ -88,4 +109,135 @@ public class PerlinNoise extends FastNoise {
 
         return lerp(yf0, yf1, zs);
     }
+
+    // Each tile of samples sharing a lattice cell hashes its corners only once.
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        final LatticeAxis ax = new LatticeAxis(xs);
+        final LatticeAxis ay = new LatticeAxis(ys);
+        final int width = ax.length();
+
+        for (int j0 = 0, j1; j0 < ay.length(); j0 = j1) {
+            j1 = ay.runEnd(j0);
+            final int y0 = ay.cells[j0];
+            final int y1 = y0 + 1;
+
+            for (int i0 = 0, i1; i0 < width; i0 = i1) {
+                i1 = ax.runEnd(i0);
+                final int x0 = ax.cells[i0];
+                final int x1 = x0 + 1;
+
+                final Float2 g00 = GRAD_2D[hash2(seed, x0, y0) & 7];
+                final Float2 g10 = GRAD_2D[hash2(seed, x1, y0) & 7];
+                final Float2 g01 = GRAD_2D[hash2(seed, x0, y1) & 7];
+                final Float2 g11 = GRAD_2D[hash2(seed, x1, y1) & 7];
+
+                for (int j = j0; j < j1; j++) {
+                    final float yd0 = ay.d0[j];
+                    final float yd1 = ay.d1[j];
+                    final float ys0 = ay.fades[j];
+                    final int index = j * width;
+
+                    for (int i = i0; i < i1; i++) {
+                        final float xd0 = ax.d0[i];
+                        final float xd1 = ax.d1[i];
+                        final float xs0 = ax.fades[i];
+
+                        final float xf0 = lerp(xd0 * g00.x + yd0 * g00.y, xd1 * g10.x + yd0 * g10.y, xs0);
+                        final float xf1 = lerp(xd0 * g01.x + yd1 * g01.y, xd1 * g11.x + yd1 * g11.y, xs0);
+
+                        out[index + i] = lerp(xf0, xf1, ys0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        final LatticeAxis ax = new LatticeAxis(xs);
+        final LatticeAxis ay = new LatticeAxis(ys);
+        final LatticeAxis az = new LatticeAxis(zs);
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+
+        for (int k0 = 0, k1; k0 < az.length(); k0 = k1) {
+            k1 = az.runEnd(k0);
+            final int z0 = az.cells[k0];
+            final int z1 = z0 + 1;
+
+            for (int j0 = 0, j1; j0 < ay.length(); j0 = j1) {
+                j1 = ay.runEnd(j0);
+                final int y0 = ay.cells[j0];
+                final int y1 = y0 + 1;
+
+                for (int i0 = 0, i1; i0 < ax.length(); i0 = i1) {
+                    i1 = ax.runEnd(i0);
+                    final int x0 = ax.cells[i0];
+                    final int x1 = x0 + 1;
+
+                    final Float3 g000 = GRAD_3D[hash3(seed, x0, y0, z0) & 15];
+                    final Float3 g100 = GRAD_3D[hash3(seed, x1, y0, z0) & 15];
+                    final Float3 g010 = GRAD_3D[hash3(seed, x0, y1, z0) & 15];
+                    final Float3 g110 = GRAD_3D[hash3(seed, x1, y1, z0) & 15];
+                    final Float3 g001 = GRAD_3D[hash3(seed, x0, y0, z1) & 15];
+                    final Float3 g101 = GRAD_3D[hash3(seed, x1, y0, z1) & 15];
+                    final Float3 g011 = GRAD_3D[hash3(seed, x0, y1, z1) & 15];
+                    final Float3 g111 = GRAD_3D[hash3(seed, x1, y1, z1) & 15];
+
+                    for (int k = k0; k < k1; k++) {
+                        final float zd0 = az.d0[k];
+                        final float zd1 = az.d1[k];
+                        final float zs0 = az.fades[k];
+
+                        for (int j = j0; j < j1; j++) {
+                            final float yd0 = ay.d0[j];
+                            final float yd1 = ay.d1[j];
+                            final float ys0 = ay.fades[j];
+                            final int index = j * sy + k * sz;
+
+                            for (int i = i0; i < i1; i++) {
+                                final float xd0 = ax.d0[i];
+                                final float xd1 = ax.d1[i];
+                                final float xs0 = ax.fades[i];
+
+                                final float xf00 = lerp(dot(g000, xd0, yd0, zd0), dot(g100, xd1, yd0, zd0), xs0);
+                                final float xf10 = lerp(dot(g010, xd0, yd1, zd0), dot(g110, xd1, yd1, zd0), xs0);
+                                final float xf01 = lerp(dot(g001, xd0, yd0, zd1), dot(g101, xd1, yd0, zd1), xs0);
+                                final float xf11 = lerp(dot(g011, xd0, yd1, zd1), dot(g111, xd1, yd1, zd1), xs0);
+
+                                final float yf0 = lerp(xf00, xf10, ys0);
+                                final float yf1 = lerp(xf01, xf11, ys0);
+
+                                out[index + i * sx] = lerp(yf0, yf1, zs0);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, count);
+            return;
+        }
+        super.sampleSingle(seed, out, offset, xs, ys, count);
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, zs, count);
+            return;
+        }
+        super.sampleSingle(seed, out, offset, xs, ys, zs, count);
+    }
+
+    private static float dot(final Float3 g, final float xd, final float yd, final float zd) {
+        return xd * g.x + yd * g.y + zd * g.z;
+    }
 }
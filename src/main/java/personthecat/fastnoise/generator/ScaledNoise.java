@@ -1,8 +1,13 @@
 package personthecat.fastnoise.generator;
 
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.function.ScaleFunction;
+import personthecat.fastnoise.util.ApproximateScale;
+
+import java.util.Collections;
+import java.util.List;
 
 public class ScaledNoise extends FastNoise {
 
@@ -17,9 +22,23 @@ public class ScaledNoise extends FastNoise {
 
     @Override
     public NoiseBuilder toBuilder() {
+        if (this.scaleFunction instanceof ApproximateScale) {
+            final ApproximateScale approximate = (ApproximateScale) this.scaleFunction;
+            return this.reference.toBuilder()
+                .scaleFunction(approximate.getExact(), approximate.getMode(), approximate.getTargetError());
+        }
         return this.reference.toBuilder().scaleFunction(this.scaleFunction);
     }
 
+    @Override
+    public List<FastNoise> getReferences() {
+        return Collections.singletonList(this.reference);
+    }
+
+    public ScaleFunction getScaleFunction() {
+        return this.scaleFunction;
+    }
+
     @Override
     public float getSingle(int seed, float x) {
         return this.scaleFunction.scale(this.reference.getSingle(seed, x));
@@ -35,6 +54,30 @@ public class ScaledNoise extends FastNoise {
         return this.scaleFunction.scale(this.reference.getSingle(seed, x, y, z));
     }
 
+    @Override
+    public void fillSingle(int seed, float[] out, float[] xs, float[] ys) {
+        this.reference.fillSingle(seed, out, xs, ys);
+        this.scaleAll(out, xs.length * ys.length);
+    }
+
+    @Override
+    public void fillSingle(int seed, float[] out, float[] xs, float[] ys, float[] zs, AxisOrder order) {
+        this.reference.fillSingle(seed, out, xs, ys, zs, order);
+        this.scaleAll(out, xs.length * ys.length * zs.length);
+    }
+
+    @Override
+    public void sampleSingle(int seed, float[] out, int offset, float[] xs, float[] ys, int count) {
+        this.reference.sampleSingle(seed, out, offset, xs, ys, count);
+        this.scaleAll(out, offset, count);
+    }
+
+    @Override
+    public void sampleSingle(int seed, float[] out, int offset, float[] xs, float[] ys, float[] zs, int count) {
+        this.reference.sampleSingle(seed, out, offset, xs, ys, zs, count);
+        this.scaleAll(out, offset, count);
+    }
+
     @Override
     public float getNoise(float x) {
         return this.scaleFunction.scale(this.reference.getNoise(x));
@@ -50,6 +93,30 @@ public class ScaledNoise extends FastNoise {
         return this.scaleFunction.scale(this.reference.getNoise(x, y, z));
     }
 
+    @Override
+    public void fillNoise(float[] out, float x, float y, int width, int height, float step) {
+        this.reference.fillNoise(out, x, y, width, height, step);
+        this.scaleAll(out, width * height);
+    }
+
+    @Override
+    public void fillNoise(float[] out, float x, float y, float z, int width, int height, int depth, float step, AxisOrder order) {
+        this.reference.fillNoise(out, x, y, z, width, height, depth, step, order);
+        this.scaleAll(out, width * height * depth);
+    }
+
+    @Override
+    public void sampleNoise(float[] out, float[] xs, float[] ys, int offset, int count) {
+        this.reference.sampleNoise(out, xs, ys, offset, count);
+        this.scaleAll(out, offset, count);
+    }
+
+    @Override
+    public void sampleNoise(float[] out, float[] xs, float[] ys, float[] zs, int offset, int count) {
+        this.reference.sampleNoise(out, xs, ys, zs, offset, count);
+        this.scaleAll(out, offset, count);
+    }
+
     @Override
     public float getNoiseScaled(float x) {
         return this.scaleFunction.scale(this.reference.getNoiseScaled(x));
@@ -64,4 +131,38 @@ public class ScaledNoise extends FastNoise {
     public float getNoiseScaled(float x, float y, float z) {
         return this.scaleFunction.scale(this.reference.getNoiseScaled(x, y, z));
     }
+
+    @Override
+    public void fillNoiseScaled(float[] out, float x, float y, int width, int height, float step) {
+        this.reference.fillNoiseScaled(out, x, y, width, height, step);
+        this.scaleAll(out, width * height);
+    }
+
+    @Override
+    public void fillNoiseScaled(float[] out, float x, float y, float z, int width, int height, int depth, float step, AxisOrder order) {
+        this.reference.fillNoiseScaled(out, x, y, z, width, height, depth, step, order);
+        this.scaleAll(out, width * height * depth);
+    }
+
+    @Override
+    public void sampleNoiseScaled(float[] out, float[] xs, float[] ys, int offset, int count) {
+        this.reference.sampleNoiseScaled(out, xs, ys, offset, count);
+        this.scaleAll(out, offset, count);
+    }
+
+    @Override
+    public void sampleNoiseScaled(float[] out, float[] xs, float[] ys, float[] zs, int offset, int count) {
+        this.reference.sampleNoiseScaled(out, xs, ys, zs, offset, count);
+        this.scaleAll(out, offset, count);
+    }
+
+    private void scaleAll(float[] out, int count) {
+        this.scaleAll(out, 0, count);
+    }
+
+    private void scaleAll(float[] out, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = this.scaleFunction.scale(out[i]);
+        }
+    }
 }
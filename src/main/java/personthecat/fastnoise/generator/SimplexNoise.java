@@ -1,13 +1,24 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
+import personthecat.fastnoise.data.Float2;
+import personthecat.fastnoise.data.Float3;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.PointKernel;
+import personthecat.fastnoise.simd.VectorSupport;
 
 import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
 import static personthecat.fastnoise.util.NoiseUtils.gradient1;
 import static personthecat.fastnoise.util.NoiseUtils.gradient2;
 import static personthecat.fastnoise.util.NoiseUtils.gradient3;
+import static personthecat.fastnoise.util.NoiseUtils.hash2;
+import static personthecat.fastnoise.util.NoiseUtils.hash3;
+import static personthecat.fastnoise.util.NoiseTables.GRAD_2D;
+import static personthecat.fastnoise.util.NoiseTables.GRAD_3D;
 
 public class SimplexNoise extends FastNoise {
 
@@ -17,6 +28,9 @@ public class SimplexNoise extends FastNoise {
     private final static float G3 = (float) (1.0 / 6.0);
     private final static float G33 = G3 * 3 - 1;
 
+    @Nullable
+    private static final PointKernel KERNEL = VectorSupport.isAvailable() ? VectorSupport.kernels().simplex() : null;
+
     public SimplexNoise(final NoiseBuilder cfg) {
         super(cfg);
     }
@@ -30,6 +44,11 @@ public class SimplexNoise extends FastNoise {
         return super.toBuilder().type(NoiseType.SIMPLEX);
     }
 
+    @Override
+    public Backend getBackend() {
+        return KERNEL != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
     @Override
     public float getSingle(int seed, float x) {
         int i0 = fastFloor(x);
@@ -208,4 +227,287 @@ public class SimplexNoise extends FastNoise {
 
         return 32 * (n0 + n1 + n2 + n3);
     }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        if (KERNEL != null) {
+            KERNEL.fill(seed, out, xs, ys);
+            return;
+        }
+        final Cell2 cell = new Cell2(seed);
+        int index = 0;
+        for (final float y : ys) {
+            for (final float x : xs) {
+                out[index++] = getCached(cell, x, y);
+            }
+        }
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        if (KERNEL != null) {
+            KERNEL.fill(seed, out, xs, ys, zs, order);
+            return;
+        }
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        final Cell3 cell = new Cell3(seed);
+        for (int k = 0; k < zs.length; k++) {
+            for (int j = 0; j < ys.length; j++) {
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < xs.length; i++) {
+                    out[index + i * sx] = getCached(cell, xs[i], ys[j], zs[k]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, count);
+            return;
+        }
+        final Cell2 cell = new Cell2(seed);
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = getCached(cell, xs[i], ys[i]);
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, zs, count);
+            return;
+        }
+        final Cell3 cell = new Cell3(seed);
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = getCached(cell, xs[i], ys[i], zs[i]);
+        }
+    }
+
+    // Equivalent to getSingle, but only hashes corners when entering a new cell.
+    private static float getCached(final Cell2 cell, final float x, final float y) {
+        float t = (x + y) * F2;
+        int i = fastFloor(x + t);
+        int j = fastFloor(y + t);
+        if (i != cell.i || j != cell.j) {
+            cell.move(i, j);
+        }
+
+        float x0 = x - cell.x0;
+        float y0 = y - cell.y0;
+
+        int i1, j1;
+        if (x0 > y0) {
+            i1 = 1;
+            j1 = 0;
+        } else {
+            i1 = 0;
+            j1 = 1;
+        }
+
+        float x1 = x0 - i1 + G2;
+        float y1 = y0 - j1 + G2;
+        float x2 = x0 - 1 + F2;
+        float y2 = y0 - 1 + F2;
+
+        float n0, n1, n2;
+
+        t = (float) 0.5 - x0 * x0 - y0 * y0;
+        if (t < 0) n0 = 0;
+        else {
+            t *= t;
+            n0 = t * t * cell.gradient(0, 0, x0, y0);
+        }
+
+        t = (float) 0.5 - x1 * x1 - y1 * y1;
+        if (t < 0) n1 = 0;
+        else {
+            t *= t;
+            n1 = t * t * cell.gradient(i1, j1, x1, y1);
+        }
+
+        t = (float) 0.5 - x2 * x2 - y2 * y2;
+        if (t < 0) n2 = 0;
+        else {
+            t *= t;
+            n2 = t * t * cell.gradient(1, 1, x2, y2);
+        }
+
+        return 50 * (n0 + n1 + n2);
+    }
+
+    private static float getCached(final Cell3 cell, final float x, final float y, final float z) {
+        float t = (x + y + z) * F3;
+        int i = fastFloor(x + t);
+        int j = fastFloor(y + t);
+        int k = fastFloor(z + t);
+        if (i != cell.i || j != cell.j || k != cell.k) {
+            cell.move(i, j, k);
+        }
+
+        float x0 = x - cell.x0;
+        float y0 = y - cell.y0;
+        float z0 = z - cell.z0;
+
+        int i1, j1, k1;
+        int i2, j2, k2;
+
+        if (x0 >= y0) {
+            if (y0 >= z0) {
+                i1 = 1;
+                j1 = 0;
+                k1 = 0;
+                i2 = 1;
+                j2 = 1;
+                k2 = 0;
+            } else if (x0 >= z0) {
+                i1 = 1;
+                j1 = 0;
+                k1 = 0;
+                i2 = 1;
+                j2 = 0;
+                k2 = 1;
+            } else { // x0 < z0
+                i1 = 0;
+                j1 = 0;
+                k1 = 1;
+                i2 = 1;
+                j2 = 0;
+                k2 = 1;
+            }
+        } else { // x0 < y0
+            if (y0 < z0) {
+                i1 = 0;
+                j1 = 0;
+                k1 = 1;
+                i2 = 0;
+                j2 = 1;
+                k2 = 1;
+            } else if (x0 < z0) {
+                i1 = 0;
+                j1 = 1;
+                k1 = 0;
+                i2 = 0;
+                j2 = 1;
+                k2 = 1;
+            } else { // x0 >= z0
+                i1 = 0;
+                j1 = 1;
+                k1 = 0;
+                i2 = 1;
+                j2 = 1;
+                k2 = 0;
+            }
+        }
+
+        float x1 = x0 - i1 + G3;
+        float y1 = y0 - j1 + G3;
+        float z1 = z0 - k1 + G3;
+        float x2 = x0 - i2 + F3;
+        float y2 = y0 - j2 + F3;
+        float z2 = z0 - k2 + F3;
+        float x3 = x0 + G33;
+        float y3 = y0 + G33;
+        float z3 = z0 + G33;
+
+        float n0, n1, n2, n3;
+
+        t = (float) 0.6 - x0 * x0 - y0 * y0 - z0 * z0;
+        if (t < 0) n0 = 0;
+        else {
+            t *= t;
+            n0 = t * t * cell.gradient(0, 0, 0, x0, y0, z0);
+        }
+
+        t = (float) 0.6 - x1 * x1 - y1 * y1 - z1 * z1;
+        if (t < 0) n1 = 0;
+        else {
+            t *= t;
+            n1 = t * t * cell.gradient(i1, j1, k1, x1, y1, z1);
+        }
+
+        t = (float) 0.6 - x2 * x2 - y2 * y2 - z2 * z2;
+        if (t < 0) n2 = 0;
+        else {
+            t *= t;
+            n2 = t * t * cell.gradient(i2, j2, k2, x2, y2, z2);
+        }
+
+        t = (float) 0.6 - x3 * x3 - y3 * y3 - z3 * z3;
+        if (t < 0) n3 = 0;
+        else {
+            t *= t;
+            n3 = t * t * cell.gradient(1, 1, 1, x3, y3, z3);
+        }
+
+        return 32 * (n0 + n1 + n2 + n3);
+    }
+
+    // The unskewed origin and lazily hashed corner gradients of the current cell.
+    private static class Cell2 {
+        final int seed;
+        final Float2[] corners = new Float2[4];
+        int i, j;
+        float x0, y0;
+
+        Cell2(final int seed) {
+            this.seed = seed;
+            this.move(0, 0);
+        }
+
+        void move(final int i, final int j) {
+            final float t = (i + j) * G2;
+            this.i = i;
+            this.j = j;
+            this.x0 = i - t;
+            this.y0 = j - t;
+            this.corners[0] = this.corners[1] = this.corners[2] = this.corners[3] = null;
+        }
+
+        float gradient(final int di, final int dj, final float xd, final float yd) {
+            final int corner = di | (dj << 1);
+            Float2 g = this.corners[corner];
+            if (g == null) {
+                g = this.corners[corner] = GRAD_2D[hash2(this.seed, this.i + di, this.j + dj) & 7];
+            }
+            return xd * g.x + yd * g.y;
+        }
+    }
+
+    private static class Cell3 {
+        final int seed;
+        final Float3[] corners = new Float3[8];
+        int i, j, k;
+        float x0, y0, z0;
+
+        Cell3(final int seed) {
+            this.seed = seed;
+            this.move(0, 0, 0);
+        }
+
+        void move(final int i, final int j, final int k) {
+            final float t = (i + j + k) * G3;
+            this.i = i;
+            this.j = j;
+            this.k = k;
+            this.x0 = i - t;
+            this.y0 = j - t;
+            this.z0 = k - t;
+            for (int c = 0; c < 8; c++) {
+                this.corners[c] = null;
+            }
+        }
+
+        float gradient(final int di, final int dj, final int dk, final float xd, final float yd, final float zd) {
+            final int corner = di | (dj << 1) | (dk << 2);
+            Float3 g = this.corners[corner];
+            if (g == null) {
+                g = this.corners[corner] = GRAD_3D[hash3(this.seed, this.i + di, this.j + dj, this.k + dk) & 15];
+            }
+            return xd * g.x + yd * g.y + zd * g.z;
+        }
+    }
 }
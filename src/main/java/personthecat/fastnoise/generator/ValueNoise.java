@@ -1,8 +1,14 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.PointKernel;
+import personthecat.fastnoise.simd.VectorSupport;
+import personthecat.fastnoise.util.LatticeAxis;
 
 import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
 import static personthecat.fastnoise.util.NoiseUtils.interpolateHermite;
@@ -13,6 +19,9 @@ import static personthecat.fastnoise.util.NoiseUtils.value3;
 
 public class ValueNoise extends FastNoise {
 
+    @Nullable
+    private static final PointKernel KERNEL = VectorSupport.isAvailable() ? VectorSupport.kernels().value() : null;
+
     public ValueNoise(final NoiseBuilder cfg) {
         super(cfg);
     }
@@ -26,6 +35,12 @@ public class ValueNoise extends FastNoise {
         return super.toBuilder().type(NoiseType.VALUE);
     }
 
+    // Grids are filled with scalar tiles either way.
+    @Override
+    public Backend getBackend() {
+        return KERNEL != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
     @Override
     public float getSingle(final int seed, final float x) {
         int x0 = fastFloor(x);
@@ -75,4 +90,136 @@ public class ValueNoise extends FastNoise {
 
         return lerp(yf0, yf1, zs);
     }
+
+    // Each run of samples sharing a lattice cell reuses the corner values, which
+    // slide along with the run when it enters the neighboring cell.
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        final LatticeAxis ax = new LatticeAxis(xs);
+        final LatticeAxis ay = new LatticeAxis(ys);
+        final int width = ax.length();
+
+        for (int j0 = 0, j1; j0 < ay.length(); j0 = j1) {
+            j1 = ay.runEnd(j0);
+            final int y0 = ay.cells[j0];
+            final int y1 = y0 + 1;
+            float v00 = 0, v10 = 0, v01 = 0, v11 = 0;
+
+            for (int i0 = 0, i1; i0 < width; i0 = i1) {
+                i1 = ax.runEnd(i0);
+                final int x0 = ax.cells[i0];
+                final int x1 = x0 + 1;
+
+                if (i0 > 0 && x0 == ax.cells[i0 - 1] + 1) {
+                    v00 = v10;
+                    v01 = v11;
+                } else {
+                    v00 = value2(seed, x0, y0);
+                    v01 = value2(seed, x0, y1);
+                }
+                v10 = value2(seed, x1, y0);
+                v11 = value2(seed, x1, y1);
+
+                for (int j = j0; j < j1; j++) {
+                    final float ys0 = ay.fades[j];
+                    final int index = j * width;
+
+                    for (int i = i0; i < i1; i++) {
+                        final float xs0 = ax.fades[i];
+
+                        final float xf0 = lerp(v00, v10, xs0);
+                        final float xf1 = lerp(v01, v11, xs0);
+
+                        out[index + i] = lerp(xf0, xf1, ys0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fillSingle(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        final LatticeAxis ax = new LatticeAxis(xs);
+        final LatticeAxis ay = new LatticeAxis(ys);
+        final LatticeAxis az = new LatticeAxis(zs);
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+
+        for (int k0 = 0, k1; k0 < az.length(); k0 = k1) {
+            k1 = az.runEnd(k0);
+            final int z0 = az.cells[k0];
+            final int z1 = z0 + 1;
+
+            for (int j0 = 0, j1; j0 < ay.length(); j0 = j1) {
+                j1 = ay.runEnd(j0);
+                final int y0 = ay.cells[j0];
+                final int y1 = y0 + 1;
+                float v000 = 0, v100 = 0, v010 = 0, v110 = 0, v001 = 0, v101 = 0, v011 = 0, v111 = 0;
+
+                for (int i0 = 0, i1; i0 < ax.length(); i0 = i1) {
+                    i1 = ax.runEnd(i0);
+                    final int x0 = ax.cells[i0];
+                    final int x1 = x0 + 1;
+
+                    if (i0 > 0 && x0 == ax.cells[i0 - 1] + 1) {
+                        v000 = v100;
+                        v010 = v110;
+                        v001 = v101;
+                        v011 = v111;
+                    } else {
+                        v000 = value3(seed, x0, y0, z0);
+                        v010 = value3(seed, x0, y1, z0);
+                        v001 = value3(seed, x0, y0, z1);
+                        v011 = value3(seed, x0, y1, z1);
+                    }
+                    v100 = value3(seed, x1, y0, z0);
+                    v110 = value3(seed, x1, y1, z0);
+                    v101 = value3(seed, x1, y0, z1);
+                    v111 = value3(seed, x1, y1, z1);
+
+                    for (int k = k0; k < k1; k++) {
+                        final float zs0 = az.fades[k];
+
+                        for (int j = j0; j < j1; j++) {
+                            final float ys0 = ay.fades[j];
+                            final int index = j * sy + k * sz;
+
+                            for (int i = i0; i < i1; i++) {
+                                final float xs0 = ax.fades[i];
+
+                                final float xf00 = lerp(v000, v100, xs0);
+                                final float xf10 = lerp(v010, v110, xs0);
+                                final float xf01 = lerp(v001, v101, xs0);
+                                final float xf11 = lerp(v011, v111, xs0);
+
+                                final float yf0 = lerp(xf00, xf10, ys0);
+                                final float yf1 = lerp(xf01, xf11, ys0);
+
+                                out[index + i * sx] = lerp(yf0, yf1, zs0);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, count);
+            return;
+        }
+        super.sampleSingle(seed, out, offset, xs, ys, count);
+    }
+
+    @Override
+    public void sampleSingle(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        if (KERNEL != null) {
+            KERNEL.sample(seed, out, offset, xs, ys, zs, count);
+            return;
+        }
+        super.sampleSingle(seed, out, offset, xs, ys, zs, count);
+    }
 }
@@ -1,11 +1,20 @@
 package personthecat.fastnoise.generator;
 
+import org.jetbrains.annotations.Nullable;
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.WarpType;
 import personthecat.fastnoise.data.Float2;
 import personthecat.fastnoise.data.Float3;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.simd.Backend;
+import personthecat.fastnoise.simd.VectorSupport;
+import personthecat.fastnoise.simd.WarpKernel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static personthecat.fastnoise.util.NoiseTables.CELL_2D;
 import static personthecat.fastnoise.util.NoiseTables.CELL_2DL;
@@ -65,9 +74,48 @@ public abstract class WarpedNoise extends FastNoise {
             .warpFrequencyZ(this.warpFrequencyZ);
     }
 
+    @Override
+    public List<FastNoise> getReferences() {
+        return Collections.singletonList(this.reference);
+    }
+
     protected abstract Float2 warp(int seed, float x, float y);
     protected abstract Float3 warp(int seed, float x, float y, float z);
 
+    // Displaces the first count points of the buffers in place. Implementations
+    // must override at least one of these and the matching scalar warp.
+    protected void warp(int seed, float[] xs, float[] ys, int count) {
+        for (int n = 0; n < count; n++) {
+            final Float2 vec = this.warp(seed, xs[n], ys[n]);
+            xs[n] = vec.x;
+            ys[n] = vec.y;
+        }
+    }
+
+    protected void warp(int seed, float[] xs, float[] ys, float[] zs, int count) {
+        for (int n = 0; n < count; n++) {
+            final Float3 vec = this.warp(seed, xs[n], ys[n], zs[n]);
+            xs[n] = vec.x;
+            ys[n] = vec.y;
+            zs[n] = vec.z;
+        }
+    }
+
+    protected final Float2 warpPoint(int seed, float x, float y) {
+        final float[] xs = { x };
+        final float[] ys = { y };
+        this.warp(seed, xs, ys, 1);
+        return new Float2(xs[0], ys[0]);
+    }
+
+    protected final Float3 warpPoint(int seed, float x, float y, float z) {
+        final float[] xs = { x };
+        final float[] ys = { y };
+        final float[] zs = { z };
+        this.warp(seed, xs, ys, zs, 1);
+        return new Float3(xs[0], ys[0], zs[0]);
+    }
+
     @Override
     public float getSingle(int seed, float x) {
         return this.getSingle(seed, x, 1337);
@@ -85,6 +133,64 @@ public abstract class WarpedNoise extends FastNoise {
         return this.reference.getSingle(seed, vec.x, vec.y, vec.z);
     }
 
+    // Bulk paths warp a whole coordinate buffer in place and then evaluate it
+    // in a single pass through the reference.
+    @Override
+    public void fillSingle(int seed, float[] out, float[] xs, float[] ys) {
+        final int count = xs.length * ys.length;
+        final float[] wx = new float[count];
+        final float[] wy = new float[count];
+        for (int j = 0; j < ys.length; j++) {
+            final int index = j * xs.length;
+            for (int i = 0; i < xs.length; i++) {
+                wx[index + i] = xs[i];
+                wy[index + i] = ys[j];
+            }
+        }
+        this.warp(seed, wx, wy, count);
+        this.reference.sampleSingle(seed, out, wx, wy);
+    }
+
+    @Override
+    public void fillSingle(int seed, float[] out, float[] xs, float[] ys, float[] zs, AxisOrder order) {
+        final int count = xs.length * ys.length * zs.length;
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        final float[] wx = new float[count];
+        final float[] wy = new float[count];
+        final float[] wz = new float[count];
+        for (int k = 0; k < zs.length; k++) {
+            for (int j = 0; j < ys.length; j++) {
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < xs.length; i++) {
+                    wx[index + i * sx] = xs[i];
+                    wy[index + i * sx] = ys[j];
+                    wz[index + i * sx] = zs[k];
+                }
+            }
+        }
+        this.warp(seed, wx, wy, wz, count);
+        this.reference.sampleSingle(seed, out, wx, wy, wz);
+    }
+
+    @Override
+    public void sampleSingle(int seed, float[] out, int offset, float[] xs, float[] ys, int count) {
+        final float[] wx = Arrays.copyOf(xs, count);
+        final float[] wy = Arrays.copyOf(ys, count);
+        this.warp(seed, wx, wy, count);
+        this.reference.sampleSingle(seed, out, offset, wx, wy, count);
+    }
+
+    @Override
+    public void sampleSingle(int seed, float[] out, int offset, float[] xs, float[] ys, float[] zs, int count) {
+        final float[] wx = Arrays.copyOf(xs, count);
+        final float[] wy = Arrays.copyOf(ys, count);
+        final float[] wz = Arrays.copyOf(zs, count);
+        this.warp(seed, wx, wy, wz, count);
+        this.reference.sampleSingle(seed, out, offset, wx, wy, wz, count);
+    }
+
     @Override
     public float getNoise(float x) {
         return this.getNoise(x, 1337);
@@ -112,14 +218,129 @@ public abstract class WarpedNoise extends FastNoise {
         return this.reference.getSingle(this.seed, x, y, z);
     }
 
+    @Override
+    public void sampleNoise(float[] out, float[] xs, float[] ys, int offset, int count) {
+        final float[] wx = new float[count];
+        final float[] wy = new float[count];
+        for (int i = 0; i < count; i++) {
+            wx[i] = xs[offset + i] + this.offsetX;
+            wy[i] = ys[offset + i] + this.offsetY;
+        }
+        this.sampleWarped(out, offset, wx, wy);
+    }
+
+    @Override
+    public void sampleNoise(float[] out, float[] xs, float[] ys, float[] zs, int offset, int count) {
+        final float[] wx = new float[count];
+        final float[] wy = new float[count];
+        final float[] wz = new float[count];
+        for (int i = 0; i < count; i++) {
+            wx[i] = xs[offset + i] + this.offsetX;
+            wy[i] = ys[offset + i] + this.offsetY;
+            wz[i] = zs[offset + i] + this.offsetZ;
+        }
+        this.sampleWarped(out, offset, wx, wy, wz);
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final int width, final int height, final float step) {
+        final float[] wx = new float[width * height];
+        final float[] wy = new float[width * height];
+        for (int j = 0; j < height; j++) {
+            final float yj = y + j * step + this.offsetY;
+            final int index = j * width;
+            for (int i = 0; i < width; i++) {
+                wx[index + i] = x + i * step + this.offsetX;
+                wy[index + i] = yj;
+            }
+        }
+        this.sampleWarped(out, 0, wx, wy);
+    }
+
+    @Override
+    public void fillNoise(final float[] out, final float x, final float y, final float z,
+            final int width, final int height, final int depth, final float step, final AxisOrder order) {
+        final int count = width * height * depth;
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final float[] wx = new float[count];
+        final float[] wy = new float[count];
+        final float[] wz = new float[count];
+        for (int k = 0; k < depth; k++) {
+            final float zk = z + k * step + this.offsetZ;
+            for (int j = 0; j < height; j++) {
+                final float yj = y + j * step + this.offsetY;
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < width; i++) {
+                    wx[index + i * sx] = x + i * step + this.offsetX;
+                    wy[index + i * sx] = yj;
+                    wz[index + i * sx] = zk;
+                }
+            }
+        }
+        this.sampleWarped(out, 0, wx, wy, wz);
+    }
+
+    // Warps buffers with offsets already applied, then applies frequency and
+    // evaluates the reference into out from offset.
+    private void sampleWarped(final float[] out, final int offset, final float[] wx, final float[] wy) {
+        this.warp(this.seed, wx, wy, wx.length);
+        for (int i = 0; i < wx.length; i++) {
+            wx[i] *= this.frequencyX;
+            wy[i] *= this.frequencyY;
+        }
+        this.reference.sampleSingle(this.seed, out, offset, wx, wy, wx.length);
+    }
+
+    private void sampleWarped(final float[] out, final int offset, final float[] wx, final float[] wy, final float[] wz) {
+        this.warp(this.seed, wx, wy, wz, wx.length);
+        for (int i = 0; i < wx.length; i++) {
+            wx[i] *= this.frequencyX;
+            wy[i] *= this.frequencyY;
+            wz[i] *= this.frequencyZ;
+        }
+        this.reference.sampleSingle(this.seed, out, offset, wx, wy, wz, wx.length);
+    }
+
     public static class BasicGrid extends WarpedNoise {
 
+        @Nullable private final WarpKernel kernel;
+
         public BasicGrid(final NoiseBuilder cfg, final FastNoise reference) {
             super(cfg, reference);
+            this.kernel = VectorSupport.isAvailable() ? VectorSupport.kernels().basicGrid(
+                this.warpFrequencyX, this.warpFrequencyY, this.warpFrequencyZ,
+                this.warpAmplitudeX, this.warpAmplitudeY, this.warpAmplitudeZ) : null;
+        }
+
+        @Override
+        public Backend getBackend() {
+            return this.kernel != null ? Backend.VECTOR : Backend.SCALAR;
         }
 
         @Override
         protected Float2 warp(int seed, float x, float y) {
+            return this.warpPoint(seed, x, y);
+        }
+
+        // Single points from getSingle stay on the scalar path. The scalar code
+        // hashes with this.seed, so the kernel does too.
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, int count) {
+            if (this.kernel != null && count > 1) {
+                this.kernel.warp(this.seed, xs, ys, count);
+                return;
+            }
+            for (int n = 0; n < count; n++) {
+                this.displace(seed, xs, ys, n);
+            }
+        }
+
+        private void displace(int seed, float[] px, float[] py, int n) {
+            float x = px[n];
+            float y = py[n];
+
             final float xf = x * this.warpFrequencyX;
             final float yf = y * this.warpFrequencyY;
 
@@ -146,11 +367,31 @@ public abstract class WarpedNoise extends FastNoise {
             x += lerp(lx0x, lx1x, ys) * (this.warpAmplitudeX / 0.45F);
             y += lerp(ly0x, ly1x, ys) * (this.warpAmplitudeY / 0.45F);
 
-            return new Float2(x, y);
+            px[n] = x;
+            py[n] = y;
         }
 
         @Override
         protected Float3 warp(int seed, float x, float y, float z) {
+            return this.warpPoint(seed, x, y, z);
+        }
+
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, float[] zs, int count) {
+            if (this.kernel != null && count > 1) {
+                this.kernel.warp(this.seed, xs, ys, zs, count);
+                return;
+            }
+            for (int n = 0; n < count; n++) {
+                this.displace(seed, xs, ys, zs, n);
+            }
+        }
+
+        private void displace(int seed, float[] px, float[] py, float[] pz, int n) {
+            float x = px[n];
+            float y = py[n];
+            float z = pz[n];
+
             final float xf = x * this.warpFrequencyX;
             final float yf = y * this.warpFrequencyY;
             final float zf = z * this.warpFrequencyZ;
@@ -202,7 +443,9 @@ public abstract class WarpedNoise extends FastNoise {
             y += lerp(ly0y, lerp(ly0x, ly1x, ys), zs) * (this.warpAmplitudeY / 0.45F);
             z += lerp(lz0y, lerp(lz0x, lz1x, ys), zs) * (this.warpAmplitudeZ / 0.45F);
 
-            return new Float3(x, y, z);
+            px[n] = x;
+            py[n] = y;
+            pz[n] = z;
         }
 
         @Override
@@ -219,6 +462,20 @@ public abstract class WarpedNoise extends FastNoise {
 
         @Override
         protected Float2 warp(int seed, float x, float y) {
+            return this.warpPoint(seed, x, y);
+        }
+
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, int count) {
+            for (int n = 0; n < count; n++) {
+                this.displace(seed, xs, ys, n);
+            }
+        }
+
+        private void displace(int seed, float[] px, float[] py, int n) {
+            float x = px[n];
+            float y = py[n];
+
             float xs = x * this.warpFrequencyX;
             float ys = y * this.warpFrequencyY;
 
@@ -319,11 +576,27 @@ public abstract class WarpedNoise extends FastNoise {
             x += vx * this.warpAmplitudeX * 38.283687591552734375f;
             y += vy * this.warpAmplitudeY * 38.283687591552734375f;
 
-            return new Float2(x, y);
+            px[n] = x;
+            py[n] = y;
         }
 
         @Override
         protected Float3 warp(int seed, float x, float y, float z) {
+            return this.warpPoint(seed, x, y, z);
+        }
+
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, float[] zs, int count) {
+            for (int n = 0; n < count; n++) {
+                this.displace(seed, xs, ys, zs, n);
+            }
+        }
+
+        private void displace(int seed, float[] px, float[] py, float[] pz, int n) {
+            float x = px[n];
+            float y = py[n];
+            float z = pz[n];
+
             float xr = x * this.warpFrequencyX;
             float yr = y * this.warpFrequencyY;
             float zr = z * this.warpFrequencyZ;
@@ -447,7 +720,9 @@ public abstract class WarpedNoise extends FastNoise {
             y += vy * (this.warpAmplitudeY * 32.69428253173828125f);
             z += vz * (this.warpAmplitudeZ * 32.69428253173828125f);
 
-            return new Float3(x, y, z);
+            px[n] = x;
+            py[n] = y;
+            pz[n] = z;
         }
 
         @Override
@@ -458,12 +733,40 @@ public abstract class WarpedNoise extends FastNoise {
 
     public static class Simplex2Reduced extends WarpedNoise {
 
+        @Nullable private final WarpKernel kernel;
+
         public Simplex2Reduced(final NoiseBuilder cfg, final FastNoise reference) {
             super(cfg, reference);
+            this.kernel = VectorSupport.isAvailable() ? VectorSupport.kernels().simplex2Reduced(
+                this.warpFrequencyX, this.warpFrequencyY, this.warpFrequencyZ,
+                this.warpAmplitudeX, this.warpAmplitudeY, this.warpAmplitudeZ) : null;
+        }
+
+        @Override
+        public Backend getBackend() {
+            return this.kernel != null ? Backend.VECTOR : Backend.SCALAR;
         }
 
         @Override
         protected Float2 warp(int seed, float x, float y) {
+            return this.warpPoint(seed, x, y);
+        }
+
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, int count) {
+            if (this.kernel != null && count > 1) {
+                this.kernel.warp(this.seed, xs, ys, count);
+                return;
+            }
+            for (int n = 0; n < count; n++) {
+                this.displace(seed, xs, ys, n);
+            }
+        }
+
+        private void displace(int seed, float[] px, float[] py, int n) {
+            float x = px[n];
+            float y = py[n];
+
             float xs = x * this.warpFrequencyX;
             float ys = y * this.warpFrequencyY;
 
@@ -534,11 +837,31 @@ public abstract class WarpedNoise extends FastNoise {
             x += vx * this.warpAmplitudeX * 16.0f;
             y += vy * this.warpAmplitudeY * 16.0f;
 
-            return new Float2(x, y);
+            px[n] = x;
+            py[n] = y;
         }
 
         @Override
         protected Float3 warp(int seed, float x, float y, float z) {
+            return this.warpPoint(seed, x, y, z);
+        }
+
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, float[] zs, int count) {
+            if (this.kernel != null && count > 1) {
+                this.kernel.warp(seed, xs, ys, zs, count);
+                return;
+            }
+            for (int n = 0; n < count; n++) {
+                this.displace(seed, xs, ys, zs, n);
+            }
+        }
+
+        private void displace(int seed, float[] px, float[] py, float[] pz, int n) {
+            float x = px[n];
+            float y = py[n];
+            float z = pz[n];
+
             float xr = x * this.warpFrequencyX;
             float yr = y * this.warpFrequencyY;
             float zr = z * this.warpFrequencyZ;
@@ -634,7 +957,9 @@ public abstract class WarpedNoise extends FastNoise {
             y += vy * (this.warpAmplitudeY * 7.71604938271605f);
             z += vz * (this.warpAmplitudeZ * 7.71604938271605f);
 
-            return new Float3(x, y, z);
+            px[n] = x;
+            py[n] = y;
+            pz[n] = z;
         }
 
         @Override
@@ -667,6 +992,63 @@ public abstract class WarpedNoise extends FastNoise {
             return new Float3(x, y, z);
         }
 
+        // Each axis is displaced by one batched lookup over the whole buffer, in
+        // the same order as the scalar warp.
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, int count) {
+            final float[] fx = new float[count];
+            final float[] fy = new float[count];
+            final float[] d = new float[count];
+            this.scaleBuffers(xs, ys, fx, fy, count);
+            this.noiseLookup.sampleSingle(seed, d, fx, fy);
+            for (int n = 0; n < count; n++) {
+                xs[n] += d[n] * this.warpAmplitudeX;
+            }
+            this.scaleBuffers(xs, ys, fx, fy, count);
+            this.noiseLookup.sampleSingle(seed + 1, d, fx, fy);
+            for (int n = 0; n < count; n++) {
+                ys[n] += d[n] * this.warpAmplitudeY;
+            }
+        }
+
+        @Override
+        protected void warp(int seed, float[] xs, float[] ys, float[] zs, int count) {
+            final float[] fx = new float[count];
+            final float[] fy = new float[count];
+            final float[] fz = new float[count];
+            final float[] d = new float[count];
+            this.scaleBuffers(xs, ys, zs, fx, fy, fz, count);
+            this.noiseLookup.sampleSingle(seed, d, fx, fy, fz);
+            for (int n = 0; n < count; n++) {
+                xs[n] += d[n] * this.warpAmplitudeX;
+            }
+            this.scaleBuffers(xs, ys, zs, fx, fy, fz, count);
+            this.noiseLookup.sampleSingle(seed + 1, d, fx, fy, fz);
+            for (int n = 0; n < count; n++) {
+                ys[n] += d[n] * this.warpAmplitudeY;
+            }
+            this.scaleBuffers(xs, ys, zs, fx, fy, fz, count);
+            this.noiseLookup.sampleSingle(seed + 2, d, fx, fy, fz);
+            for (int n = 0; n < count; n++) {
+                zs[n] += d[n] * this.warpAmplitudeZ;
+            }
+        }
+
+        private void scaleBuffers(float[] xs, float[] ys, float[] fx, float[] fy, int count) {
+            for (int n = 0; n < count; n++) {
+                fx[n] = xs[n] * this.warpFrequencyX;
+                fy[n] = ys[n] * this.warpFrequencyY;
+            }
+        }
+
+        private void scaleBuffers(float[] xs, float[] ys, float[] zs, float[] fx, float[] fy, float[] fz, int count) {
+            for (int n = 0; n < count; n++) {
+                fx[n] = xs[n] * this.warpFrequencyX;
+                fy[n] = ys[n] * this.warpFrequencyY;
+                fz[n] = zs[n] * this.warpFrequencyZ;
+            }
+        }
+
         @Override
         public NoiseBuilder toBuilder() {
             return super.toBuilder().warp(WarpType.NOISE_LOOKUP).noiseLookup(this.noiseLookup.toBuilder());
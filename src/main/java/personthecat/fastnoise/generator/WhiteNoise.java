@@ -1,6 +1,7 @@
 package personthecat.fastnoise.generator;
 
 import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.NoiseBuilder;
 import personthecat.fastnoise.data.NoiseType;
 
@@ -9,6 +10,10 @@ import static personthecat.fastnoise.util.NoiseUtils.value1;
 import static personthecat.fastnoise.util.NoiseUtils.value2;
 import static personthecat.fastnoise.util.NoiseUtils.value3;
 
+import static personthecat.fastnoise.util.NoiseValues.X_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Y_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Z_PRIME;
+
 public class WhiteNoise extends FastNoise {
 
     public WhiteNoise(final NoiseBuilder cfg) {
@@ -47,4 +52,78 @@ public class WhiteNoise extends FastNoise {
 
         return value3(seed, xi, yi, zi);
     }
+
+    // Integer grids are hashed per cell directly, skipping the float conversion in
+    // getNoise. The hash is the same as value2 and value3, and each row reuses its
+    // primed column terms. Floats are in [-1, 1]; ints are the raw hash, i.e.
+    // the float value * 2^31.
+    public void fillCells(final int[] out, final int x, final int y, final int width, final int height) {
+        final int[] xp = primed(X_PRIME, x, width);
+        for (int j = 0; j < height; j++) {
+            final int n0 = this.seed ^ (Y_PRIME * (y + j));
+            final int index = j * width;
+            for (int i = 0; i < width; i++) {
+                final int n = n0 ^ xp[i];
+                out[index + i] = n * n * n * 60493;
+            }
+        }
+    }
+
+    public void fillCells(final float[] out, final int x, final int y, final int width, final int height) {
+        final int[] xp = primed(X_PRIME, x, width);
+        for (int j = 0; j < height; j++) {
+            final int n0 = this.seed ^ (Y_PRIME * (y + j));
+            final int index = j * width;
+            for (int i = 0; i < width; i++) {
+                final int n = n0 ^ xp[i];
+                out[index + i] = (n * n * n * 60493) / (float) 2147483648.0;
+            }
+        }
+    }
+
+    public void fillCells(final int[] out, final int x, final int y, final int z,
+            final int width, final int height, final int depth, final AxisOrder order) {
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final int[] xp = primed(X_PRIME, x, width);
+        for (int k = 0; k < depth; k++) {
+            final int nk = this.seed ^ (Z_PRIME * (z + k));
+            for (int j = 0; j < height; j++) {
+                final int n0 = nk ^ (Y_PRIME * (y + j));
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < width; i++) {
+                    final int n = n0 ^ xp[i];
+                    out[index + i * sx] = n * n * n * 60493;
+                }
+            }
+        }
+    }
+
+    public void fillCells(final float[] out, final int x, final int y, final int z,
+            final int width, final int height, final int depth, final AxisOrder order) {
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final int[] xp = primed(X_PRIME, x, width);
+        for (int k = 0; k < depth; k++) {
+            final int nk = this.seed ^ (Z_PRIME * (z + k));
+            for (int j = 0; j < height; j++) {
+                final int n0 = nk ^ (Y_PRIME * (y + j));
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < width; i++) {
+                    final int n = n0 ^ xp[i];
+                    out[index + i * sx] = (n * n * n * 60493) / (float) 2147483648.0;
+                }
+            }
+        }
+    }
+
+    private static int[] primed(final int prime, final int start, final int length) {
+        final int[] primed = new int[length];
+        for (int i = 0; i < length; i++) {
+            primed[i] = prime * (start + i);
+        }
+        return primed;
+    }
 }
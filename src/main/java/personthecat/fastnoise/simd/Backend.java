@@ -0,0 +1,7 @@
+package personthecat.fastnoise.simd;
+
+// The implementation a generator uses for its bulk methods.
+public enum Backend {
+    SCALAR,
+    VECTOR
+}
@@ -0,0 +1,30 @@
+package personthecat.fastnoise.simd;
+
+// The nearest feature search of CellularNoise for many samples at once. Results
+// must be exactly the same as getSingle, before the return type is applied.
+public interface CellularSearch {
+
+    // The three smallest distances from (xs[n], ys[n]) to the jittered feature
+    // points of the surrounding cells and the cell of the nearest one.
+    void search(int seed, float[] xs, float[] ys, int count, Features out);
+
+    void search(int seed, float[] xs, float[] ys, float[] zs, int count, Features out);
+
+    class Features {
+        public final float[] distance;
+        public final float[] distance2;
+        public final float[] distance3;
+        public final int[] xc;
+        public final int[] yc;
+        public final int[] zc;
+
+        public Features(final int size) {
+            this.distance = new float[size];
+            this.distance2 = new float[size];
+            this.distance3 = new float[size];
+            this.xc = new int[size];
+            this.yc = new int[size];
+            this.zc = new int[size];
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package personthecat.fastnoise.simd;
+
+import personthecat.fastnoise.data.AxisOrder;
+
+// A bulk replacement for the getSingle methods of one generator. Kernels must
+// produce exactly the same values as the scalar code they replace.
+public interface PointKernel {
+
+    // out[offset + n] == getSingle(seed, xs[n], ys[n]) for each n < count
+    void sample(int seed, float[] out, int offset, float[] xs, float[] ys, int count);
+
+    void sample(int seed, float[] out, int offset, float[] xs, float[] ys, float[] zs, int count);
+
+    // Same layout as FastNoise#fillSingle
+    default void fill(final int seed, final float[] out, final float[] xs, final float[] ys) {
+        final int count = xs.length * ys.length;
+        final float[] px = new float[count];
+        final float[] py = new float[count];
+        int index = 0;
+        for (final float y : ys) {
+            for (final float x : xs) {
+                px[index] = x;
+                py[index++] = y;
+            }
+        }
+        this.sample(seed, out, 0, px, py, count);
+    }
+
+    default void fill(final int seed, final float[] out, final float[] xs, final float[] ys, final float[] zs, final AxisOrder order) {
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        final int count = xs.length * ys.length * zs.length;
+        final float[] px = new float[count];
+        final float[] py = new float[count];
+        final float[] pz = new float[count];
+        for (int k = 0; k < zs.length; k++) {
+            for (int j = 0; j < ys.length; j++) {
+                final int index = j * sy + k * sz;
+                for (int i = 0; i < xs.length; i++) {
+                    px[index + i * sx] = xs[i];
+                    py[index + i * sx] = ys[j];
+                    pz[index + i * sx] = zs[k];
+                }
+            }
+        }
+        this.sample(seed, out, 0, px, py, pz, count);
+    }
+}
@@ -0,0 +1,31 @@
+package personthecat.fastnoise.simd;
+
+import personthecat.fastnoise.data.DistanceType;
+
+// Factory for the kernels of each generator which has a SIMD implementation.
+public interface SimdKernels {
+
+    // Float lanes per vector of the preferred species
+    int width();
+
+    PointKernel simplex();
+
+    PointKernel openSimplex2();
+
+    PointKernel openSimplex2S();
+
+    PointKernel perlin();
+
+    PointKernel value();
+
+    PointKernel cubic();
+
+    // Any distance type except FUNCTION
+    CellularSearch cellular(DistanceType distance, float jitterX, float jitterY, float jitterZ);
+
+    WarpKernel basicGrid(float frequencyX, float frequencyY, float frequencyZ,
+                         float amplitudeX, float amplitudeY, float amplitudeZ);
+
+    WarpKernel simplex2Reduced(float frequencyX, float frequencyY, float frequencyZ,
+                               float amplitudeX, float amplitudeY, float amplitudeZ);
+}
@@ -0,0 +1,67 @@
+package personthecat.fastnoise.simd;
+
+import lombok.experimental.UtilityClass;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * Selects the backend of every generator once, when this class is loaded.
+ *
+ * <p>The Vector API kernels are compiled separately for Java 17 and are only
+ * loaded here, by name. On older runtimes, when the jdk.incubator.vector
+ * module has not been added, or when the preferred species is too narrow to
+ * beat the scalar code, generators fall back to their scalar code.
+ *
+ * <p>The choice can be overridden with <code>-Dpersonthecat.fastnoise.backend</code>:
+ * <code>scalar</code> never loads the kernels, <code>vector</code> uses them at
+ * any width as long as they can be loaded, and <code>auto</code> is the default.
+ */
+@UtilityClass
+public class VectorSupport {
+    public static final String BACKEND_PROPERTY = "personthecat.fastnoise.backend";
+
+    private static final String IMPLEMENTATION = "personthecat.fastnoise.simd.VectorKernels";
+
+    // Narrower species are usually emulated and slower than scalar code.
+    private static final int MIN_AUTO_WIDTH = 4;
+
+    @Nullable
+    private static final SimdKernels KERNELS = load(System.getProperty(BACKEND_PROPERTY, "auto"));
+
+    public static boolean isAvailable() {
+        return KERNELS != null;
+    }
+
+    @Nullable
+    public static SimdKernels kernels() {
+        return KERNELS;
+    }
+
+    public static Backend backend() {
+        return KERNELS != null ? Backend.VECTOR : Backend.SCALAR;
+    }
+
+    // The number of float lanes processed at once, or 1 for the scalar backend.
+    public static int width() {
+        return KERNELS != null ? KERNELS.width() : 1;
+    }
+
+    @Nullable
+    private static SimdKernels load(final String property) {
+        final String mode = property.trim().toLowerCase(Locale.ROOT);
+        if ("scalar".equals(mode)) {
+            return null;
+        }
+        final SimdKernels kernels;
+        try {
+            kernels = (SimdKernels) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+        if ("vector".equals(mode) || kernels.width() >= MIN_AUTO_WIDTH) {
+            return kernels;
+        }
+        return null;
+    }
+}
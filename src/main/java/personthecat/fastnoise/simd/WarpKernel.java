@@ -0,0 +1,11 @@
+package personthecat.fastnoise.simd;
+
+// A bulk replacement for the warp methods of one WarpedNoise. Points must be
+// displaced exactly the same as by the scalar code.
+public interface WarpKernel {
+
+    // Displaces the first count points of the buffers in place.
+    void warp(int seed, float[] xs, float[] ys, int count);
+
+    void warp(int seed, float[] xs, float[] ys, float[] zs, int count);
+}
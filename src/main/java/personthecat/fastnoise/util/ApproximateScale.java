@@ -0,0 +1,214 @@
+package personthecat.fastnoise.util;
+
+import personthecat.fastnoise.data.ScaleApproximation;
+import personthecat.fastnoise.function.ScaleFunction;
+
+// Samples an expensive scale function over a known domain into a uniform table.
+// LUT interpolates linearly between nodes, SPLINE uses a monotone cubic (Fritsch-
+// Carlson) spline. The table is doubled until the measured error is within the
+// target or MAX_SIZE is reached. Inputs outside of the domain use the exact function.
+public class ApproximateScale implements ScaleFunction {
+    private static final int MIN_SIZE = 16;
+    private static final int MAX_SIZE = 1 << 16;
+    private static final int TESTS_PER_INTERVAL = 16;
+    private static final int REFINEMENTS = 48;
+
+    // The error is only measured at a finite number of points, so some is left
+    // over for the error between them.
+    private static final double MARGIN = 0.9;
+
+    private final ScaleFunction exact;
+    private final ScaleApproximation mode;
+    private final float targetError;
+    private final float min;
+    private final float max;
+    private final float invStep;
+    private final int last;
+    private final float[] coefficients;
+    private final double maxError;
+
+    private ApproximateScale(final ScaleFunction exact, final ScaleApproximation mode, final float targetError,
+            final float min, final float max, final int size) {
+        this.exact = exact;
+        this.mode = mode;
+        this.targetError = targetError;
+        this.min = min;
+        this.max = max;
+        this.invStep = size / (max - min);
+        this.last = size - 1;
+        this.coefficients = mode == ScaleApproximation.SPLINE ? spline(exact, min, max, size) : linear(exact, min, max, size);
+        this.maxError = this.measure();
+    }
+
+    public static ApproximateScale fit(final ScaleFunction exact, final ScaleApproximation mode,
+            final float min, final float max, final float targetError) {
+        ApproximateScale scale = new ApproximateScale(exact, mode, targetError, min, max, MIN_SIZE);
+        while (!scale.isWithinTarget() && scale.size() < MAX_SIZE) {
+            scale = new ApproximateScale(exact, mode, targetError, min, max, scale.size() * 2);
+        }
+        return scale;
+    }
+
+    @Override
+    public float scale(final float x) {
+        if (!(x >= this.min && x <= this.max)) {
+            return this.exact.scale(x);
+        }
+        final float t = (x - this.min) * this.invStep;
+        final int i = Math.min((int) t, this.last);
+        final float f = t - i;
+        final float[] c = this.coefficients;
+        final int n = i << 2;
+        return ((c[n + 3] * f + c[n + 2]) * f + c[n + 1]) * f + c[n];
+    }
+
+    public ScaleFunction getExact() {
+        return this.exact;
+    }
+
+    public ScaleApproximation getMode() {
+        return this.mode;
+    }
+
+    public float getTargetError() {
+        return this.targetError;
+    }
+
+    public float getMin() {
+        return this.min;
+    }
+
+    public float getMax() {
+        return this.max;
+    }
+
+    public int size() {
+        return this.last + 1;
+    }
+
+    // The largest absolute error found between the table and the exact function.
+    public double getMaxError() {
+        return this.maxError;
+    }
+
+    // False when even MAX_SIZE intervals are not enough, e.g. when the target is
+    // below the rounding error of floats at the magnitude of the output.
+    public boolean isWithinTarget() {
+        return this.maxError <= this.targetError * MARGIN;
+    }
+
+    @Override
+    public String toString() {
+        return "ApproximateScale[" + this.mode.format() + ", " + this.size() + " intervals over ["
+            + this.min + ", " + this.max + "], max error " + this.maxError
+            + (this.isWithinTarget() ? "" : ", misses target " + this.targetError) + "]";
+    }
+
+    // Each interval is sampled at its test points, then the largest error is searched
+    // for between the neighbours of the worst one. This finds peaks at kinks, e.g.
+    // of abs(x), which can lie anywhere between the test points.
+    private double measure() {
+        final double step = ((double) this.max - this.min) / (this.size() * TESTS_PER_INTERVAL);
+        double error = 0;
+        for (int i = 0; i < this.size(); i++) {
+            final double start = this.min + i * TESTS_PER_INTERVAL * step;
+            double worst = -1;
+            int t0 = 0;
+            for (int t = 0; t <= TESTS_PER_INTERVAL; t++) {
+                final double e = this.error(start + t * step);
+                if (!(e <= worst)) {
+                    worst = e;
+                    t0 = t;
+                }
+            }
+            if (Double.isNaN(worst)) return worst; // NaN is reported as the error
+            worst = Math.max(worst, this.search(start + (t0 - 1) * step, start + (t0 + 1) * step));
+            if (!(worst <= error)) error = worst;
+        }
+        return error;
+    }
+
+    // Ternary search for the largest error within [a, b].
+    private double search(double a, double b) {
+        for (int i = 0; i < REFINEMENTS; i++) {
+            final double m1 = a + (b - a) / 3;
+            final double m2 = b - (b - a) / 3;
+            if (this.error(m1) < this.error(m2)) {
+                a = m1;
+            } else {
+                b = m2;
+            }
+        }
+        return this.error((a + b) / 2);
+    }
+
+    private double error(final double x) {
+        final float f = (float) Math.max(this.min, Math.min(this.max, x));
+        return Math.abs((double) this.scale(f) - this.exact.scale(f));
+    }
+
+    // Each interval stores 4 coefficients of a polynomial in its local t, constant first.
+    private static float[] linear(final ScaleFunction f, final float min, final float max, final int size) {
+        final double[] y = nodes(f, min, max, size);
+        final float[] c = new float[size * 4];
+        for (int i = 0; i < size; i++) {
+            c[i * 4] = (float) y[i];
+            c[i * 4 + 1] = (float) (y[i + 1] - y[i]);
+        }
+        return c;
+    }
+
+    private static float[] spline(final ScaleFunction f, final float min, final float max, final int size) {
+        final double[] y = nodes(f, min, max, size);
+        final double[] d = new double[size];
+        for (int i = 0; i < size; i++) {
+            d[i] = y[i + 1] - y[i];
+        }
+        // Tangents are per interval, i.e. already scaled by the step.
+        final double[] m = new double[size + 1];
+        m[0] = endTangent(d[0], d[1]);
+        m[size] = endTangent(d[size - 1], d[size - 2]);
+        for (int i = 1; i < size; i++) {
+            m[i] = d[i - 1] * d[i] <= 0 ? 0 : (d[i - 1] + d[i]) / 2;
+        }
+        for (int i = 0; i < size; i++) {
+            if (d[i] == 0) {
+                m[i] = m[i + 1] = 0;
+                continue;
+            }
+            final double a = m[i] / d[i];
+            final double b = m[i + 1] / d[i];
+            final double s = a * a + b * b;
+            if (s > 9) {
+                final double t = 3 / Math.sqrt(s);
+                m[i] = t * a * d[i];
+                m[i + 1] = t * b * d[i];
+            }
+        }
+        final float[] c = new float[size * 4];
+        for (int i = 0; i < size; i++) {
+            c[i * 4] = (float) y[i];
+            c[i * 4 + 1] = (float) m[i];
+            c[i * 4 + 2] = (float) (3 * d[i] - 2 * m[i] - m[i + 1]);
+            c[i * 4 + 3] = (float) (m[i] + m[i + 1] - 2 * d[i]);
+        }
+        return c;
+    }
+
+    // Three-point estimate at either end of the table, kept shape-preserving.
+    private static double endTangent(final double d0, final double d1) {
+        final double m = (3 * d0 - d1) / 2;
+        if (m * d0 <= 0) return 0;
+        if (d0 * d1 <= 0 && Math.abs(m) > Math.abs(3 * d0)) return 3 * d0;
+        return m;
+    }
+
+    private static double[] nodes(final ScaleFunction f, final float min, final float max, final int size) {
+        final double[] y = new double[size + 1];
+        final double step = ((double) max - min) / size;
+        for (int i = 0; i <= size; i++) {
+            y[i] = f.scale(i == size ? max : (float) (min + i * step));
+        }
+        return y;
+    }
+}
@@ -0,0 +1,70 @@
+package personthecat.fastnoise.util;
+
+import lombok.experimental.UtilityClass;
+
+// Helpers for the packed masks written by FastNoise#fillBoolean. Sample n
+// is stored in bit (n & 63) of word (n >>> 6). Bits past the sample count
+// in the last word are always clear.
+@UtilityClass
+public class BitMasks {
+
+    public static int words(final int count) {
+        return (count + 63) >>> 6;
+    }
+
+    public static long[] create(final int count) {
+        return new long[words(count)];
+    }
+
+    public static boolean get(final long[] mask, final int index) {
+        return (mask[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public static void set(final long[] mask, final int index, final boolean value) {
+        if (value) {
+            mask[index >>> 6] |= 1L << index;
+        } else {
+            mask[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    public static int count(final long[] mask, final int count) {
+        final int words = words(count);
+        int total = 0;
+        for (int w = 0; w < words; w++) {
+            total += Long.bitCount(mask[w] & lastBits(w, words, count));
+        }
+        return total;
+    }
+
+    public static boolean any(final long[] mask, final int count) {
+        final int words = words(count);
+        for (int w = 0; w < words; w++) {
+            if ((mask[w] & lastBits(w, words, count)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean all(final long[] mask, final int count) {
+        final int words = words(count);
+        for (int w = 0; w < words; w++) {
+            final long bits = lastBits(w, words, count);
+            if ((mask[w] & bits) != bits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean none(final long[] mask, final int count) {
+        return !any(mask, count);
+    }
+
+    // Only the bits within count are considered in the last word
+    private static long lastBits(final int word, final int words, final int count) {
+        final int end = count & 63;
+        return word == words - 1 && end != 0 ? (1L << end) - 1 : -1L;
+    }
+}
@@ -0,0 +1,47 @@
+package personthecat.fastnoise.util;
+
+import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
+import static personthecat.fastnoise.util.NoiseUtils.interpolateHermite;
+
+// Lattice cells and offsets for each coordinate on one axis of a grid.
+// Consecutive coordinates in the same cell form a run which can share
+// any values hashed from that cell.
+public class LatticeAxis {
+    public final int[] cells;
+    public final float[] d0;
+    public final float[] d1;
+    public final float[] fades;
+
+    public LatticeAxis(final float[] coords) {
+        final int length = coords.length;
+        this.cells = new int[length];
+        this.d0 = new float[length];
+        this.d1 = new float[length];
+        this.fades = new float[length];
+        for (int i = 0; i < length; i++) {
+            final int cell = fastFloor(coords[i]);
+            final float d = coords[i] - cell;
+            this.cells[i] = cell;
+            this.d0[i] = d;
+            this.d1[i] = d - 1;
+            this.fades[i] = interpolateHermite(d);
+        }
+    }
+
+    public int length() {
+        return this.cells.length;
+    }
+
+    public int runEnd(final int start) {
+        return runEnd(this.cells, start);
+    }
+
+    public static int runEnd(final int[] cells, final int start) {
+        final int cell = cells[start];
+        int end = start + 1;
+        while (end < cells.length && cells[end] == cell) {
+            end++;
+        }
+        return end;
+    }
+}
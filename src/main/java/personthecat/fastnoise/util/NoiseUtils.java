@@ -7,6 +7,7 @@ import personthecat.fastnoise.data.Float3;
 import static personthecat.fastnoise.util.NoiseValues.X_PRIME;
 import static personthecat.fastnoise.util.NoiseValues.Y_PRIME;
 import static personthecat.fastnoise.util.NoiseValues.Z_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.W_PRIME;
 
 @UtilityClass
 public class NoiseUtils {
@@ -74,6 +75,19 @@ public class NoiseUtils {
         return hash;
     }
 
+    public static int hash4(final int seed, final int x, final int y, final int z, final int w) {
+        int hash = seed;
+        hash ^= X_PRIME * x;
+        hash ^= Y_PRIME * y;
+        hash ^= Z_PRIME * z;
+        hash ^= W_PRIME * w;
+
+        hash = hash * hash * hash * 60493;
+        hash = (hash >> 13) ^ hash;
+
+        return hash;
+    }
+
     public static float value1(final int seed, final int x) {
         int n = seed;
         n ^= X_PRIME * x;
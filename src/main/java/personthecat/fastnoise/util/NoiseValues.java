@@ -4,6 +4,7 @@ public class NoiseValues {
     public static final int X_PRIME = 501125321;
     public static final int Y_PRIME = 1136930381;
     public static final int Z_PRIME = 1720413743;
+    public static final int W_PRIME = 1066037191;
     public static final float SQRT3 = 1.7320508075688772935274463415059f;
     public static final float G2 = (3 - SQRT3) / 6;
     public static final float F2 = 0.5f * (SQRT3 - 1);
@@ -0,0 +1,75 @@
+package personthecat.fastnoise.util;
+
+import static personthecat.fastnoise.util.NoiseUtils.hash4;
+
+// A counter-based random stream keyed by a lattice cell. Every value is a pure
+// function of the seed, cell and index, so one instance can be moved between
+// cells without allocating and always reproduces the same sequence.
+public class PositionalRandom {
+    private final int seed;
+    private int x;
+    private int y;
+    private int z;
+    private int index;
+
+    public PositionalRandom(final int seed) {
+        this.seed = seed;
+    }
+
+    public PositionalRandom at(final int x, final int z) {
+        return this.at(x, 0, z);
+    }
+
+    public PositionalRandom at(final int x, final int y, final int z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.index = 0;
+        return this;
+    }
+
+    public PositionalRandom skip(final int count) {
+        this.index += count;
+        return this;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public int nextInt() {
+        return getInt(this.seed, this.x, this.y, this.z, this.index++);
+    }
+
+    public int nextInt(final int bound) {
+        return getInt(this.seed, this.x, this.y, this.z, this.index++, bound);
+    }
+
+    public float nextFloat() {
+        return getFloat(this.seed, this.x, this.y, this.z, this.index++);
+    }
+
+    public boolean nextBoolean() {
+        return this.nextInt() < 0;
+    }
+
+    // The noise hashes always clear their sign bit, so the result is mixed once
+    // more to spread entropy over all 32 bits.
+    public static int getInt(final int seed, final int x, final int y, final int z, final int index) {
+        int hash = hash4(seed, x, y, z, index) * 0x27d4eb2d;
+        hash ^= hash >>> 15;
+        return hash;
+    }
+
+    public static int getInt(final int seed, final int x, final int y, final int z, final int index, final int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+        return (int) (((getInt(seed, x, y, z, index) & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
+    // In [0, 1).
+    public static float getFloat(final int seed, final int x, final int y, final int z, final int index) {
+        return (getInt(seed, x, y, z, index) >>> 8) * 0x1.0p-24f;
+    }
+}
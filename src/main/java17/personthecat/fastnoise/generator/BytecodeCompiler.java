@@ -0,0 +1,409 @@
+package personthecat.fastnoise.generator;
+
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.generator.ClassWriter.Code;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+
+import static personthecat.fastnoise.generator.ClassWriter.ACC_FINAL;
+import static personthecat.fastnoise.generator.ClassWriter.ACC_PUBLIC;
+import static personthecat.fastnoise.generator.ClassWriter.ACC_STATIC;
+
+// Loaded by CompiledNoise on Java 15 or newer. Each graph becomes a hidden
+// subclass of CompiledNoise in this package, so that it can call the protected
+// members of the generators it flattens. Every generator and function the
+// graph refers to is stored in a static final field, which the JIT treats as a
+// constant, and each call through one of them has exactly one target.
+//
+// Each method is emitted with the same float operations, in the same order, as
+// the scalar code it replaces.
+public final class BytecodeCompiler implements GraphCompiler {
+    private static final String NAME = "personthecat/fastnoise/generator/CompiledGraph";
+    private static final String BASE = "personthecat/fastnoise/generator/CompiledNoise";
+    private static final String FAST_NOISE = "personthecat/fastnoise/FastNoise";
+    private static final String WARPED_NOISE = "personthecat/fastnoise/generator/WarpedNoise";
+    private static final String FRACTAL_NOISE = "personthecat/fastnoise/generator/FractalNoise";
+    private static final String SCALE_FUNCTION = "personthecat/fastnoise/function/ScaleFunction";
+    private static final String FRACTAL_FUNCTION = "personthecat/fastnoise/function/FractalFunction";
+    private static final String MATH = "java/lang/Math";
+    private static final String[] VECTORS = { null, null, "personthecat/fastnoise/data/Float2", "personthecat/fastnoise/data/Float3" };
+    private static final String[] AXES = { "x", "y", "z" };
+
+    // HotSpot never compiles methods larger than this.
+    private static final int HUGE_METHOD_LIMIT = 8000;
+
+    private static final int IADD = 0x60;
+    private static final int FADD = 0x62;
+    private static final int FSUB = 0x66;
+    private static final int FMUL = 0x6A;
+    private static final int FDIV = 0x6E;
+    private static final int AALOAD = 0x32;
+    private static final int FRETURN = 0xAE;
+    private static final int RETURN = 0xB1;
+
+    @Override
+    public FastNoise compile(final FastNoise graph) {
+        // Generators deeper than the limit are called as-is. The limit is lowered
+        // until every method is small enough to be compiled.
+        for (int limit = depth(graph); limit >= 0; limit--) {
+            final Emitter emitter = new Emitter(limit);
+            if (emitter.emit(graph)) {
+                return emitter.define(graph);
+            }
+        }
+        return graph;
+    }
+
+    private static int depth(final FastNoise node) {
+        int depth = 0;
+        for (final FastNoise reference : node.getReferences()) {
+            depth = Math.max(depth, depth(reference) + 1);
+        }
+        return depth;
+    }
+
+    // Whether name(seed?, float * dimensions) is implemented by owner, or one of
+    // the variants nested in owner, for node.
+    private static boolean declares(final FastNoise node, final Class<?> owner, final String name, final boolean seed, final int dimensions) {
+        final Class<?>[] params = new Class<?>[dimensions + (seed ? 1 : 0)];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = seed && i == 0 ? int.class : float.class;
+        }
+        try {
+            final Class<?> declaring = node.getClass().getMethod(name, params).getDeclaringClass();
+            return declaring == owner || declaring.getEnclosingClass() == owner;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static String floats(final int dimensions) {
+        return "F".repeat(dimensions);
+    }
+
+    private static final class Emitter {
+        final ClassWriter cw = new ClassWriter(NAME, BASE);
+        final List<Object> constants = new ArrayList<>();
+        final List<String> types = new ArrayList<>();
+        final int limit;
+
+        Emitter(final int limit) {
+            this.limit = limit;
+        }
+
+        boolean emit(final FastNoise root) {
+            for (int dimensions = 2; dimensions <= 3; dimensions++) {
+                final int[] coords = new int[dimensions];
+                final Code noise = new Code(1 + dimensions);
+                for (int i = 0; i < dimensions; i++) {
+                    coords[i] = 1 + i;
+                }
+                this.noise(noise, root, coords, 0);
+                noise.op(FRETURN, -1);
+
+                final Code single = new Code(2 + dimensions);
+                for (int i = 0; i < dimensions; i++) {
+                    coords[i] = 2 + i;
+                }
+                this.single(single, root, 1, 0, coords, 0);
+                single.op(FRETURN, -1);
+
+                if (noise.length() > HUGE_METHOD_LIMIT || single.length() > HUGE_METHOD_LIMIT) {
+                    return false;
+                }
+                this.cw.addMethod(ACC_PUBLIC | ACC_FINAL, "getNoise", "(" + floats(dimensions) + ")F", noise);
+                this.cw.addMethod(ACC_PUBLIC | ACC_FINAL, "getSingle", "(I" + floats(dimensions) + ")F", single);
+            }
+            this.constructor();
+            this.initializer();
+            return true;
+        }
+
+        FastNoise define(final FastNoise graph) {
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(this.cw.toByteArray(), this.constants.toArray(), true);
+                return (FastNoise) lookup.lookupClass().getConstructor(FastNoise.class).newInstance(graph);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException("Error defining compiled graph", e);
+            }
+        }
+
+        private void constructor() {
+            final Code code = new Code(2);
+            code.aload(0).aload(1);
+            code.invokespecial(this.cw.method(BASE, "<init>", "(L" + FAST_NOISE + ";)V"), "(L" + FAST_NOISE + ";)V");
+            code.op(RETURN, 0);
+            this.cw.addMethod(ACC_PUBLIC, "<init>", "(L" + FAST_NOISE + ";)V", code);
+        }
+
+        // Copies each constant from the class data into its field.
+        private void initializer() {
+            final String lookup = "()Ljava/lang/invoke/MethodHandles$Lookup;";
+            final String classData = "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;";
+            final int array = this.cw.classRef("[Ljava/lang/Object;");
+            final Code code = new Code(0);
+            code.invokestatic(this.cw.method("java/lang/invoke/MethodHandles", "lookup", lookup), lookup);
+            code.ldc(this.cw.string("_"));
+            code.ldc(array);
+            code.invokestatic(this.cw.method("java/lang/invoke/MethodHandles", "classData", classData), classData);
+            code.checkcast(array);
+            final int data = code.newLocal();
+            code.astore(data);
+            for (int i = 0; i < this.constants.size(); i++) {
+                final String type = this.types.get(i);
+                this.cw.addField(ACC_PUBLIC | ACC_STATIC | ACC_FINAL, "c" + i, "L" + type + ";");
+                code.aload(data).iconst(this.cw, i).op(AALOAD, -1);
+                code.checkcast(this.cw.classRef(type));
+                code.putstatic(this.cw.field(NAME, "c" + i, "L" + type + ";"));
+            }
+            code.op(RETURN, 0);
+            this.cw.addMethod(ACC_STATIC, "<clinit>", "()V", code);
+        }
+
+        // Pushes a constant object of the given type.
+        private void constant(final Code code, final Object value, final String type) {
+            int index = -1;
+            for (int i = 0; i < this.constants.size(); i++) {
+                if (this.constants.get(i) == value && this.types.get(i).equals(type)) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                index = this.constants.size();
+                this.constants.add(value);
+                this.types.add(type);
+            }
+            code.getstatic(this.cw.field(NAME, "c" + index, "L" + type + ";"));
+        }
+
+        // Pushes seed + offset, or offset alone if there is no local.
+        private void seed(final Code code, final int local, final int offset) {
+            if (local < 0) {
+                code.iconst(this.cw, offset);
+                return;
+            }
+            code.iload(local);
+            if (offset != 0) {
+                code.iconst(this.cw, offset).op(IADD, -1);
+            }
+        }
+
+        private void loads(final Code code, final int[] coords) {
+            for (final int local : coords) {
+                code.fload(local);
+            }
+        }
+
+        private int store(final Code code) {
+            final int local = code.newLocal();
+            code.fstore(local);
+            return local;
+        }
+
+        private void math(final Code code, final String name, final String descriptor) {
+            code.invokestatic(this.cw.method(MATH, name, descriptor), descriptor);
+        }
+
+        // Pushes node.getNoise(coords).
+        private void noise(final Code code, final FastNoise node, final int[] coords, final int depth) {
+            final int dimensions = coords.length;
+            if (depth > this.limit) {
+                this.callNoise(code, node, coords);
+            } else if (declares(node, FastNoise.class, "getNoise", false, dimensions)) {
+                final NoiseBuilder cfg = node.toBuilder();
+                final float[] offsets = { cfg.offsetX(), cfg.offsetY(), cfg.offsetZ() };
+                final float[] frequencies = { cfg.frequencyX(), cfg.frequencyY(), cfg.frequencyZ() };
+                final int[] scaled = new int[dimensions];
+                for (int i = 0; i < dimensions; i++) {
+                    code.fload(coords[i]);
+                    // Only the 3D variant is offset
+                    if (dimensions == 3) {
+                        code.fconst(this.cw, offsets[i]).op(FADD, -1);
+                    }
+                    code.fconst(this.cw, frequencies[i]).op(FMUL, -1);
+                    scaled[i] = this.store(code);
+                }
+                this.single(code, node, -1, cfg.seed(), scaled, depth);
+            } else if (node instanceof ScaledNoise && declares(node, ScaledNoise.class, "getNoise", false, dimensions)) {
+                this.constant(code, ((ScaledNoise) node).getScaleFunction(), SCALE_FUNCTION);
+                this.noise(code, node.getReferences().get(0), coords, depth + 1);
+                code.invokeinterface(this.cw.interfaceMethod(SCALE_FUNCTION, "scale", "(F)F"), "(F)F");
+            } else if (node instanceof WarpedNoise && declares(node, WarpedNoise.class, "getNoise", false, dimensions)) {
+                final NoiseBuilder cfg = node.toBuilder();
+                final float[] offsets = { cfg.offsetX(), cfg.offsetY(), cfg.offsetZ() };
+                final float[] frequencies = { cfg.frequencyX(), cfg.frequencyY(), cfg.frequencyZ() };
+                final int[] offset = new int[dimensions];
+                for (int i = 0; i < dimensions; i++) {
+                    code.fload(coords[i]).fconst(this.cw, offsets[i]).op(FADD, -1);
+                    offset[i] = this.store(code);
+                }
+                final int vector = this.warp(code, (WarpedNoise) node, -1, cfg.seed(), offset);
+                final int[] warped = new int[dimensions];
+                for (int i = 0; i < dimensions; i++) {
+                    this.component(code, vector, dimensions, i);
+                    code.fconst(this.cw, frequencies[i]).op(FMUL, -1);
+                    warped[i] = this.store(code);
+                }
+                this.single(code, ((WarpedNoise) node).reference, -1, cfg.seed(), warped, depth + 1);
+            } else if (node instanceof MultiNoise && ((MultiNoise) node).references.length > 0) {
+                this.multi(code, (MultiNoise) node, coords, depth);
+            } else {
+                this.callNoise(code, node, coords);
+            }
+        }
+
+        private void multi(final Code code, final MultiNoise node, final int[] coords, final int depth) {
+            final FastNoise[] references = node.references;
+            final Class<?> type = node.getClass();
+            if (type == MultiNoise.Min.class || type == MultiNoise.Max.class || type == MultiNoise.Avg.class) {
+                final String op = type == MultiNoise.Min.class ? "min" : "max";
+                code.fconst(this.cw, type == MultiNoise.Min.class ? 1 : type == MultiNoise.Max.class ? -1 : 0);
+                for (final FastNoise reference : references) {
+                    this.noise(code, reference, coords, depth + 1);
+                    this.math(code, op, "(FF)F");
+                }
+                if (type == MultiNoise.Avg.class) {
+                    code.fconst(this.cw, references.length).op(FDIV, -1);
+                }
+            } else if (type == MultiNoise.Mul.class || type == MultiNoise.Div.class || type == MultiNoise.Sum.class) {
+                // Math.max(-1, Math.min(1, out))
+                code.fconst(this.cw, -1).fconst(this.cw, 1);
+                if (type == MultiNoise.Sum.class) {
+                    code.fconst(this.cw, 0);
+                    for (final FastNoise reference : references) {
+                        this.noise(code, reference, coords, depth + 1);
+                        code.op(FADD, -1);
+                    }
+                } else {
+                    // The same coordinates as MultiNoise#usesLegacyCoordinates
+                    int[] others = coords;
+                    if (coords.length == 3) {
+                        code.fconst(this.cw, 0);
+                        others = new int[] { coords[0], this.store(code) };
+                    }
+                    this.callNoise(code, references[0], new int[] { coords[0] });
+                    for (int i = 1; i < references.length; i++) {
+                        this.noise(code, references[i], others, depth + 1);
+                        if (type == MultiNoise.Mul.class) {
+                            code.op(FMUL, -1);
+                        } else {
+                            code.invokestatic(this.cw.method(BASE, "divide", "(FF)F"), "(FF)F");
+                        }
+                    }
+                }
+                this.math(code, "min", "(FF)F");
+                this.math(code, "max", "(FF)F");
+            } else {
+                this.callNoise(code, node, coords);
+            }
+        }
+
+        // Pushes node.getSingle(seed + offset, coords).
+        private void single(final Code code, final FastNoise node, final int seed, final int offset, final int[] coords, final int depth) {
+            final int dimensions = coords.length;
+            if (depth > this.limit) {
+                this.callSingle(code, node, seed, offset, coords);
+            } else if (node instanceof ScaledNoise && declares(node, ScaledNoise.class, "getSingle", true, dimensions)) {
+                this.constant(code, ((ScaledNoise) node).getScaleFunction(), SCALE_FUNCTION);
+                this.single(code, node.getReferences().get(0), seed, offset, coords, depth + 1);
+                code.invokeinterface(this.cw.interfaceMethod(SCALE_FUNCTION, "scale", "(F)F"), "(F)F");
+            } else if (node instanceof WarpedNoise && declares(node, WarpedNoise.class, "getSingle", true, dimensions)) {
+                final int vector = this.warp(code, (WarpedNoise) node, seed, offset, coords);
+                final int[] warped = new int[dimensions];
+                for (int i = 0; i < dimensions; i++) {
+                    this.component(code, vector, dimensions, i);
+                    warped[i] = this.store(code);
+                }
+                this.single(code, ((WarpedNoise) node).reference, seed, offset, warped, depth + 1);
+            } else if (node instanceof FractalNoise && declares(node, FractalNoise.class, "getSingle", true, dimensions)) {
+                this.fractal(code, (FractalNoise) node, seed, offset, coords, depth);
+            } else {
+                this.callSingle(code, node, seed, offset, coords);
+            }
+        }
+
+        // The octaves of FractalNoise#getSingle, unrolled. The amplitude of each
+        // octave is a constant, and the sum is kept on the stack.
+        private void fractal(final Code code, final FractalNoise node, final int seed, final int offset, final int[] coords, final int depth) {
+            final float[] lacunarity = { node.lacunarityX, node.lacunarityY, node.lacunarityZ };
+            int[] octave = coords;
+            float amp = 1;
+            code.fconst(this.cw, 0);
+            for (int i = 0; i < node.octaves; i++) {
+                switch (node.fractalType) {
+                    case FBM:
+                        this.single(code, node.reference, seed, offset + i, octave, depth + 1);
+                        break;
+                    case BILLOW:
+                        this.single(code, node.reference, seed, offset + i, octave, depth + 1);
+                        this.math(code, "abs", "(F)F");
+                        code.fconst(this.cw, 2).op(FMUL, -1).fconst(this.cw, 1).op(FSUB, -1);
+                        break;
+                    case RIGID_MULTI:
+                        code.fconst(this.cw, 1);
+                        this.single(code, node.reference, seed, offset + i, octave, depth + 1);
+                        this.math(code, "abs", "(F)F");
+                        code.op(FSUB, -1);
+                        break;
+                    case PING_PONG:
+                        this.single(code, node.reference, seed, offset + i, octave, depth + 1);
+                        code.fconst(this.cw, 1).op(FADD, -1).fconst(this.cw, node.pingPongStrength).op(FMUL, -1);
+                        code.invokestatic(this.cw.method(FRACTAL_NOISE, "pingPong", "(F)F"), "(F)F");
+                        code.fconst(this.cw, 0.5F).op(FSUB, -1).fconst(this.cw, 2).op(FMUL, -1);
+                        break;
+                    default:
+                        this.constant(code, node.fractalFunction, FRACTAL_FUNCTION);
+                        this.single(code, node.reference, seed, offset + i, octave, depth + 1);
+                        code.invokeinterface(this.cw.interfaceMethod(FRACTAL_FUNCTION, "fractal", "(F)F"), "(F)F");
+                }
+                code.fconst(this.cw, amp).op(FMUL, -1).op(FADD, -1);
+                if (i < node.octaves - 1) {
+                    final int[] next = new int[coords.length];
+                    for (int a = 0; a < coords.length; a++) {
+                        code.fload(octave[a]).fconst(this.cw, lacunarity[a]).op(FMUL, -1);
+                        next[a] = this.store(code);
+                    }
+                    octave = next;
+                }
+                amp *= node.gain;
+            }
+            code.fconst(this.cw, node.fractalBounding).op(FMUL, -1);
+        }
+
+        // Stores node.warp(seed + offset, coords) in a new local.
+        private int warp(final Code code, final WarpedNoise node, final int seed, final int offset, final int[] coords) {
+            final String descriptor = "(I" + floats(coords.length) + ")L" + VECTORS[coords.length] + ";";
+            this.constant(code, node, WARPED_NOISE);
+            this.seed(code, seed, offset);
+            this.loads(code, coords);
+            code.invokevirtual(this.cw.method(WARPED_NOISE, "warp", descriptor), descriptor);
+            final int local = code.newLocal();
+            code.astore(local);
+            return local;
+        }
+
+        private void component(final Code code, final int vector, final int dimensions, final int axis) {
+            code.aload(vector).getfield(this.cw.field(VECTORS[dimensions], AXES[axis], "F"));
+        }
+
+        private void callNoise(final Code code, final FastNoise node, final int[] coords) {
+            final String descriptor = "(" + floats(coords.length) + ")F";
+            this.constant(code, node, FAST_NOISE);
+            this.loads(code, coords);
+            code.invokevirtual(this.cw.method(FAST_NOISE, "getNoise", descriptor), descriptor);
+        }
+
+        private void callSingle(final Code code, final FastNoise node, final int seed, final int offset, final int[] coords) {
+            final String descriptor = "(I" + floats(coords.length) + ")F";
+            this.constant(code, node, FAST_NOISE);
+            this.seed(code, seed, offset);
+            this.loads(code, coords);
+            code.invokevirtual(this.cw.method(FAST_NOISE, "getSingle", descriptor), descriptor);
+        }
+    }
+}
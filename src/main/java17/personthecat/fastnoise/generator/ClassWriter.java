@@ -0,0 +1,361 @@
+package personthecat.fastnoise.generator;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Just enough of the class file format for the methods of a compiled graph.
+// Every method is straight-line code, so no stack map frames are needed.
+final class ClassWriter {
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    private static final int VERSION = 61;
+
+    private final Output pool = new Output();
+    private final Map<String, Integer> entries = new HashMap<>();
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+    private final int thisClass;
+    private final int superClass;
+    private int poolCount = 1;
+
+    ClassWriter(final String name, final String superName) {
+        this.thisClass = this.classRef(name);
+        this.superClass = this.classRef(superName);
+    }
+
+    int utf8(final String value) {
+        return this.entry("U" + value, out -> {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.u1(1);
+            out.u2(bytes.length);
+            out.bytes(bytes);
+        });
+    }
+
+    int classRef(final String internalName) {
+        final int name = this.utf8(internalName);
+        return this.entry("C" + internalName, out -> {
+            out.u1(7);
+            out.u2(name);
+        });
+    }
+
+    int string(final String value) {
+        final int utf8 = this.utf8(value);
+        return this.entry("S" + value, out -> {
+            out.u1(8);
+            out.u2(utf8);
+        });
+    }
+
+    int integer(final int value) {
+        return this.entry("I" + value, out -> {
+            out.u1(3);
+            out.u4(value);
+        });
+    }
+
+    int floating(final float value) {
+        final int bits = Float.floatToRawIntBits(value);
+        return this.entry("F" + bits, out -> {
+            out.u1(4);
+            out.u4(bits);
+        });
+    }
+
+    int field(final String owner, final String name, final String descriptor) {
+        return this.member(9, owner, name, descriptor);
+    }
+
+    int method(final String owner, final String name, final String descriptor) {
+        return this.member(10, owner, name, descriptor);
+    }
+
+    int interfaceMethod(final String owner, final String name, final String descriptor) {
+        return this.member(11, owner, name, descriptor);
+    }
+
+    int thisClass() {
+        return this.thisClass;
+    }
+
+    private int member(final int tag, final String owner, final String name, final String descriptor) {
+        final int type = this.classRef(owner);
+        final int nameAndType = this.nameAndType(name, descriptor);
+        return this.entry(tag + owner + '.' + name + descriptor, out -> {
+            out.u1(tag);
+            out.u2(type);
+            out.u2(nameAndType);
+        });
+    }
+
+    private int nameAndType(final String name, final String descriptor) {
+        final int n = this.utf8(name);
+        final int d = this.utf8(descriptor);
+        return this.entry("N" + name + ':' + descriptor, out -> {
+            out.u1(12);
+            out.u2(n);
+            out.u2(d);
+        });
+    }
+
+    private int entry(final String key, final Writer writer) {
+        final Integer existing = this.entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        writer.write(this.pool);
+        final int index = this.poolCount++;
+        this.entries.put(key, index);
+        return index;
+    }
+
+    void addField(final int access, final String name, final String descriptor) {
+        final Output out = new Output();
+        out.u2(access);
+        out.u2(this.utf8(name));
+        out.u2(this.utf8(descriptor));
+        out.u2(0);
+        this.fields.add(out.bytes.toByteArray());
+    }
+
+    void addMethod(final int access, final String name, final String descriptor, final Code code) {
+        final byte[] bytecode = code.bytes.bytes.toByteArray();
+        final Output out = new Output();
+        out.u2(access);
+        out.u2(this.utf8(name));
+        out.u2(this.utf8(descriptor));
+        out.u2(1);
+        out.u2(this.utf8("Code"));
+        out.u4(12 + bytecode.length);
+        out.u2(code.maxStack);
+        out.u2(code.maxLocals);
+        out.u4(bytecode.length);
+        out.bytes(bytecode);
+        out.u2(0); // exception table
+        out.u2(0); // attributes
+        this.methods.add(out.bytes.toByteArray());
+    }
+
+    byte[] toByteArray() {
+        final Output out = new Output();
+        out.u4(0xCAFEBABE);
+        out.u2(0);
+        out.u2(VERSION);
+        out.u2(this.poolCount);
+        out.bytes(this.pool.bytes.toByteArray());
+        out.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.u2(this.thisClass);
+        out.u2(this.superClass);
+        out.u2(0); // interfaces
+        out.u2(this.fields.size());
+        for (final byte[] field : this.fields) {
+            out.bytes(field);
+        }
+        out.u2(this.methods.size());
+        for (final byte[] method : this.methods) {
+            out.bytes(method);
+        }
+        out.u2(0); // attributes
+        return out.bytes.toByteArray();
+    }
+
+    // The bytecode of one method. Each instruction updates the depth of the
+    // operand stack so that max_stack can be written with the method.
+    static final class Code {
+        private final Output bytes = new Output();
+        private int stack;
+        private int maxStack;
+        private int maxLocals;
+
+        Code(final int parameterSlots) {
+            this.maxLocals = parameterSlots;
+        }
+
+        int newLocal() {
+            return this.maxLocals++;
+        }
+
+        int length() {
+            return this.bytes.bytes.size();
+        }
+
+        Code op(final int opcode, final int delta) {
+            this.bytes.u1(opcode);
+            return this.push(delta);
+        }
+
+        Code iconst(final ClassWriter cw, final int value) {
+            if (value >= -1 && value <= 5) {
+                return this.op(0x03 + value, 1);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                this.bytes.u1(0x10);
+                this.bytes.u1(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                this.bytes.u1(0x11);
+                this.bytes.u2(value);
+            } else {
+                return this.ldc(cw.integer(value));
+            }
+            return this.push(1);
+        }
+
+        Code fconst(final ClassWriter cw, final float value) {
+            final int bits = Float.floatToRawIntBits(value);
+            if (bits == Float.floatToRawIntBits(0.0F)) {
+                return this.op(0x0B, 1);
+            } else if (bits == Float.floatToRawIntBits(1.0F)) {
+                return this.op(0x0C, 1);
+            } else if (bits == Float.floatToRawIntBits(2.0F)) {
+                return this.op(0x0D, 1);
+            }
+            return this.ldc(cw.floating(value));
+        }
+
+        Code ldc(final int index) {
+            if (index < 256) {
+                this.bytes.u1(0x12);
+                this.bytes.u1(index);
+            } else {
+                this.bytes.u1(0x13);
+                this.bytes.u2(index);
+            }
+            return this.push(1);
+        }
+
+        Code iload(final int local) {
+            return this.local(0x15, local, 1);
+        }
+
+        Code fload(final int local) {
+            return this.local(0x17, local, 1);
+        }
+
+        Code aload(final int local) {
+            return this.local(0x19, local, 1);
+        }
+
+        Code fstore(final int local) {
+            return this.local(0x38, local, -1);
+        }
+
+        Code astore(final int local) {
+            return this.local(0x3A, local, -1);
+        }
+
+        private Code local(final int opcode, final int local, final int delta) {
+            if (local < 256) {
+                this.bytes.u1(opcode);
+                this.bytes.u1(local);
+            } else {
+                this.bytes.u1(0xC4); // wide
+                this.bytes.u1(opcode);
+                this.bytes.u2(local);
+            }
+            return this.push(delta);
+        }
+
+        Code getstatic(final int field) {
+            return this.ref(0xB2, field, 1);
+        }
+
+        Code putstatic(final int field) {
+            return this.ref(0xB3, field, -1);
+        }
+
+        Code getfield(final int field) {
+            return this.ref(0xB4, field, 0);
+        }
+
+        Code checkcast(final int type) {
+            return this.ref(0xC0, type, 0);
+        }
+
+        Code invokevirtual(final int method, final String descriptor) {
+            return this.ref(0xB6, method, returnSlots(descriptor) - argumentSlots(descriptor) - 1);
+        }
+
+        Code invokespecial(final int method, final String descriptor) {
+            return this.ref(0xB7, method, returnSlots(descriptor) - argumentSlots(descriptor) - 1);
+        }
+
+        Code invokestatic(final int method, final String descriptor) {
+            return this.ref(0xB8, method, returnSlots(descriptor) - argumentSlots(descriptor));
+        }
+
+        Code invokeinterface(final int method, final String descriptor) {
+            final int arguments = argumentSlots(descriptor);
+            this.ref(0xB9, method, returnSlots(descriptor) - arguments - 1);
+            this.bytes.u1(arguments + 1);
+            this.bytes.u1(0);
+            return this;
+        }
+
+        private Code ref(final int opcode, final int index, final int delta) {
+            this.bytes.u1(opcode);
+            this.bytes.u2(index);
+            return this.push(delta);
+        }
+
+        private Code push(final int delta) {
+            this.stack += delta;
+            this.maxStack = Math.max(this.maxStack, this.stack);
+            return this;
+        }
+
+        // Only int, float, and reference types are used.
+        private static int argumentSlots(final String descriptor) {
+            int slots = 0;
+            int i = 1;
+            while (descriptor.charAt(i) != ')') {
+                char c = descriptor.charAt(i);
+                while (c == '[') {
+                    c = descriptor.charAt(++i);
+                }
+                if (c == 'L') {
+                    i = descriptor.indexOf(';', i);
+                }
+                slots++;
+                i++;
+            }
+            return slots;
+        }
+
+        private static int returnSlots(final String descriptor) {
+            return descriptor.endsWith(")V") ? 0 : 1;
+        }
+    }
+
+    private interface Writer {
+        void write(Output out);
+    }
+
+    private static final class Output {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        void u1(final int value) {
+            this.bytes.write(value);
+        }
+
+        void u2(final int value) {
+            this.bytes.write(value >>> 8);
+            this.bytes.write(value);
+        }
+
+        void u4(final int value) {
+            this.u2(value >>> 16);
+            this.u2(value);
+        }
+
+        void bytes(final byte[] bytes) {
+            this.bytes.write(bytes, 0, bytes.length);
+        }
+    }
+}
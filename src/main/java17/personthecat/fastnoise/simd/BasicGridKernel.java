@@ -0,0 +1,231 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+
+import personthecat.fastnoise.util.NoiseTables;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.floor;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.hash2;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.hash3;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.interpolateHermite;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.lerp;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.toFloat;
+
+// Lane-parallel WarpedNoise.BasicGrid. The corners of each sample's cell are
+// hashed two at a time, their cell vectors are read from the table, and then
+// interpolated one axis at a time in the same order as the scalar code.
+final class BasicGridKernel implements WarpKernel {
+    private static final int BLOCK = 256;
+
+    // NoiseTables#CELL_2D and CELL_3D, one array per axis.
+    private static final float[] CELL_X2 = new float[256];
+    private static final float[] CELL_Y2 = new float[256];
+    private static final float[] CELL_X3 = new float[256];
+    private static final float[] CELL_Y3 = new float[256];
+    private static final float[] CELL_Z3 = new float[256];
+
+    static {
+        for (int h = 0; h < 256; h++) {
+            CELL_X2[h] = NoiseTables.CELL_2D[h].x;
+            CELL_Y2[h] = NoiseTables.CELL_2D[h].y;
+            CELL_X3[h] = NoiseTables.CELL_3D[h].x;
+            CELL_Y3[h] = NoiseTables.CELL_3D[h].y;
+            CELL_Z3[h] = NoiseTables.CELL_3D[h].z;
+        }
+    }
+
+    private final float frequencyX;
+    private final float frequencyY;
+    private final float frequencyZ;
+    private final float amplitudeX;
+    private final float amplitudeY;
+    private final float amplitudeZ;
+
+    BasicGridKernel(final float frequencyX, final float frequencyY, final float frequencyZ,
+                    final float amplitudeX, final float amplitudeY, final float amplitudeZ) {
+        this.frequencyX = frequencyX;
+        this.frequencyY = frequencyY;
+        this.frequencyZ = frequencyZ;
+        this.amplitudeX = amplitudeX / 0.45F;
+        this.amplitudeY = amplitudeY / 0.45F;
+        this.amplitudeZ = amplitudeZ / 0.45F;
+    }
+
+    @Override
+    public void warp(final int seed, final float[] xs, final float[] ys, final int count) {
+        final Block b = new Block(4);
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+
+            this.floor2(b, len);
+            fractions2(b, len);
+            corners2(seed, b, len, 0);
+            corners2(seed, b, len, 1);
+            lookup(b.h, CELL_X2, b.cx, len);
+            lookup(b.h, CELL_Y2, b.cy, len);
+            interpolate2(b.cx, b, b.x, this.amplitudeX, len);
+            interpolate2(b.cy, b, b.y, this.amplitudeY, len);
+
+            System.arraycopy(b.x, 0, xs, start, len);
+            System.arraycopy(b.y, 0, ys, start, len);
+        }
+    }
+
+    @Override
+    public void warp(final int seed, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        final Block b = new Block(8);
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            System.arraycopy(zs, start, b.z, 0, len);
+
+            this.floor3(b, len);
+            fractions3(b, len);
+            corners3(seed, b, len, 0, 0);
+            corners3(seed, b, len, 1, 0);
+            corners3(seed, b, len, 0, 1);
+            corners3(seed, b, len, 1, 1);
+            lookup(b.h, CELL_X3, b.cx, len);
+            lookup(b.h, CELL_Y3, b.cy, len);
+            lookup(b.h, CELL_Z3, b.cz, len);
+            interpolate3(b.cx, b, b.x, this.amplitudeX, len);
+            interpolate3(b.cy, b, b.y, this.amplitudeY, len);
+            interpolate3(b.cz, b, b.z, this.amplitudeZ, len);
+
+            System.arraycopy(b.x, 0, xs, start, len);
+            System.arraycopy(b.y, 0, ys, start, len);
+            System.arraycopy(b.z, 0, zs, start, len);
+        }
+    }
+
+    private void floor2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xf = FloatVector.fromArray(F, b.x, n).mul(this.frequencyX);
+            final FloatVector yf = FloatVector.fromArray(F, b.y, n).mul(this.frequencyY);
+            floor(xf, b.i, n);
+            floor(yf, b.j, n);
+            xf.intoArray(b.xf, n);
+            yf.intoArray(b.yf, n);
+        }
+    }
+
+    private void floor3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xf = FloatVector.fromArray(F, b.x, n).mul(this.frequencyX);
+            final FloatVector yf = FloatVector.fromArray(F, b.y, n).mul(this.frequencyY);
+            final FloatVector zf = FloatVector.fromArray(F, b.z, n).mul(this.frequencyZ);
+            floor(xf, b.i, n);
+            floor(yf, b.j, n);
+            floor(zf, b.k, n);
+            xf.intoArray(b.xf, n);
+            yf.intoArray(b.yf, n);
+            zf.intoArray(b.zf, n);
+        }
+    }
+
+    private static void fractions2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            interpolateHermite(FloatVector.fromArray(F, b.xf, n).sub(toFloat(IntVector.fromArray(I, b.i, n)))).intoArray(b.sx, n);
+            interpolateHermite(FloatVector.fromArray(F, b.yf, n).sub(toFloat(IntVector.fromArray(I, b.j, n)))).intoArray(b.sy, n);
+        }
+    }
+
+    private static void fractions3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            interpolateHermite(FloatVector.fromArray(F, b.xf, n).sub(toFloat(IntVector.fromArray(I, b.i, n)))).intoArray(b.sx, n);
+            interpolateHermite(FloatVector.fromArray(F, b.yf, n).sub(toFloat(IntVector.fromArray(I, b.j, n)))).intoArray(b.sy, n);
+            interpolateHermite(FloatVector.fromArray(F, b.zf, n).sub(toFloat(IntVector.fromArray(I, b.k, n)))).intoArray(b.sz, n);
+        }
+    }
+
+    // The two corners along x at one offset in y. Corners are ordered x0y0, x1y0,
+    // x0y1, x1y1.
+    private static void corners2(final int seed, final Block b, final int len, final int dy) {
+        final int c = dy * 2;
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector x0 = IntVector.fromArray(I, b.i, n);
+            final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+            hash2(seed, x0, y).and(255).intoArray(b.h[c], n);
+            hash2(seed, x0.add(1), y).and(255).intoArray(b.h[c + 1], n);
+        }
+    }
+
+    // The same order as corners2, for z0 and then z1.
+    private static void corners3(final int seed, final Block b, final int len, final int dy, final int dz) {
+        final int c = dz * 4 + dy * 2;
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector x0 = IntVector.fromArray(I, b.i, n);
+            final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+            final IntVector z = IntVector.fromArray(I, b.k, n).add(dz);
+            hash3(seed, x0, y, z).and(255).intoArray(b.h[c], n);
+            hash3(seed, x0.add(1), y, z).and(255).intoArray(b.h[c + 1], n);
+        }
+    }
+
+    private static void lookup(final int[][] h, final float[] table, final float[][] out, final int len) {
+        for (int c = 0; c < h.length; c++) {
+            final int[] index = h[c];
+            final float[] values = out[c];
+            for (int n = 0; n < len; n++) {
+                values[n] = table[index[n]];
+            }
+        }
+    }
+
+    private static void interpolate2(final float[][] c, final Block b, final float[] p, final float amplitude, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xs = FloatVector.fromArray(F, b.sx, n);
+            final FloatVector ys = FloatVector.fromArray(F, b.sy, n);
+            final FloatVector l0 = lerp(FloatVector.fromArray(F, c[0], n), FloatVector.fromArray(F, c[1], n), xs);
+            final FloatVector l1 = lerp(FloatVector.fromArray(F, c[2], n), FloatVector.fromArray(F, c[3], n), xs);
+            FloatVector.fromArray(F, p, n).add(lerp(l0, l1, ys).mul(amplitude)).intoArray(p, n);
+        }
+    }
+
+    private static void interpolate3(final float[][] c, final Block b, final float[] p, final float amplitude, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xs = FloatVector.fromArray(F, b.sx, n);
+            final FloatVector ys = FloatVector.fromArray(F, b.sy, n);
+            final FloatVector zs = FloatVector.fromArray(F, b.sz, n);
+            final FloatVector l00 = lerp(FloatVector.fromArray(F, c[0], n), FloatVector.fromArray(F, c[1], n), xs);
+            final FloatVector l10 = lerp(FloatVector.fromArray(F, c[2], n), FloatVector.fromArray(F, c[3], n), xs);
+            final FloatVector l01 = lerp(FloatVector.fromArray(F, c[4], n), FloatVector.fromArray(F, c[5], n), xs);
+            final FloatVector l11 = lerp(FloatVector.fromArray(F, c[6], n), FloatVector.fromArray(F, c[7], n), xs);
+            final FloatVector l = lerp(lerp(l00, l10, ys), lerp(l01, l11, ys), zs);
+            FloatVector.fromArray(F, p, n).add(l.mul(amplitude)).intoArray(p, n);
+        }
+    }
+
+    // Scratch space for one block of samples.
+    private static final class Block {
+        final float[] x = new float[BLOCK];
+        final float[] y = new float[BLOCK];
+        final float[] z = new float[BLOCK];
+        final float[] xf = new float[BLOCK];
+        final float[] yf = new float[BLOCK];
+        final float[] zf = new float[BLOCK];
+        final float[] sx = new float[BLOCK];
+        final float[] sy = new float[BLOCK];
+        final float[] sz = new float[BLOCK];
+        final int[] i = new int[BLOCK];
+        final int[] j = new int[BLOCK];
+        final int[] k = new int[BLOCK];
+        final int[][] h;
+        final float[][] cx;
+        final float[][] cy;
+        final float[][] cz;
+
+        Block(final int corners) {
+            this.h = new int[corners][BLOCK];
+            this.cx = new float[corners][BLOCK];
+            this.cy = new float[corners][BLOCK];
+            this.cz = new float[corners][BLOCK];
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+
+import personthecat.fastnoise.data.DistanceType;
+import personthecat.fastnoise.util.NoiseTables;
+import personthecat.fastnoise.util.NoiseUtils;
+
+import java.util.Arrays;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.hash2;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.hash3;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.round;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.toFloat;
+
+// Lane-parallel nearest feature search for CellularNoise. Each surrounding cell
+// is visited in the same order as getSingle and the three smallest distances
+// are updated for every lane with min / max, the same as Math#min and Math#max.
+// The nearest cell is selected with a mask instead of a branch.
+final class CellularKernel implements CellularSearch {
+    private static final int BLOCK = 256;
+    private static final float MAX_DISTANCE = 999999;
+
+    private final DistanceType distance;
+
+    // NoiseTables#CELL_2D and CELL_3D, already multiplied by the jitter.
+    private final float[] cellX2 = new float[256];
+    private final float[] cellY2 = new float[256];
+    private final float[] cellX3 = new float[256];
+    private final float[] cellY3 = new float[256];
+    private final float[] cellZ3 = new float[256];
+
+    CellularKernel(final DistanceType distance, final float jitterX, final float jitterY, final float jitterZ) {
+        if (distance == DistanceType.FUNCTION) {
+            throw new IllegalArgumentException("Distance functions are not supported");
+        }
+        this.distance = distance;
+        for (int h = 0; h < 256; h++) {
+            this.cellX2[h] = NoiseTables.CELL_2D[h].x * jitterX;
+            this.cellY2[h] = NoiseTables.CELL_2D[h].y * jitterY;
+            this.cellX3[h] = NoiseTables.CELL_3D[h].x * jitterX;
+            this.cellY3[h] = NoiseTables.CELL_3D[h].y * jitterY;
+            this.cellZ3[h] = NoiseTables.CELL_3D[h].z * jitterZ;
+        }
+    }
+
+    @Override
+    public void search(final int seed, final float[] xs, final float[] ys, final int count, final Features out) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            round2(b, len);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    cell2(seed, b, len, dx, dy);
+                    for (int n = 0; n < len; n++) {
+                        final int h = b.h[n];
+                        b.jx[n] = this.cellX2[h];
+                        b.jy[n] = this.cellY2[h];
+                    }
+                    switch (this.distance) {
+                        case EUCLIDEAN: euclidean2(b, len); break;
+                        case MANHATTAN: manhattan2(b, len); break;
+                        default: natural2(b, len);
+                    }
+                    update(b, len, false);
+                }
+            }
+            for (int n = 0; n < len; n++) {
+                if (saturated(b.xr[n]) || saturated(b.yr[n])) {
+                    this.single2(seed, b, n);
+                }
+            }
+            b.copyTo(out, start, len);
+        }
+    }
+
+    @Override
+    public void search(final int seed, final float[] xs, final float[] ys, final float[] zs, final int count, final Features out) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            System.arraycopy(zs, start, b.z, 0, len);
+            round3(b, len);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int dz = -1; dz <= 1; dz++) {
+                        cell3(seed, b, len, dx, dy, dz);
+                        for (int n = 0; n < len; n++) {
+                            final int h = b.h[n];
+                            b.jx[n] = this.cellX3[h];
+                            b.jy[n] = this.cellY3[h];
+                            b.jz[n] = this.cellZ3[h];
+                        }
+                        switch (this.distance) {
+                            case EUCLIDEAN: euclidean3(b, len); break;
+                            case MANHATTAN: manhattan3(b, len); break;
+                            default: natural3(b, len);
+                        }
+                        update(b, len, true);
+                    }
+                }
+            }
+            for (int n = 0; n < len; n++) {
+                if (saturated(b.xr[n]) || saturated(b.yr[n]) || saturated(b.zr[n])) {
+                    this.single3(seed, b, n);
+                }
+            }
+            b.copyTo(out, start, len);
+        }
+    }
+
+    private static void round2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            round(FloatVector.fromArray(F, b.x, n), b.xr, n);
+            round(FloatVector.fromArray(F, b.y, n), b.yr, n);
+        }
+        b.reset();
+    }
+
+    private static void round3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            round(FloatVector.fromArray(F, b.x, n), b.xr, n);
+            round(FloatVector.fromArray(F, b.y, n), b.yr, n);
+            round(FloatVector.fromArray(F, b.z, n), b.zr, n);
+        }
+        b.reset();
+    }
+
+    // Rounding saturates at the edge of the int range, where the loops in getSingle
+    // wrap around and visit fewer cells than the kernel.
+    private static boolean saturated(final int r) {
+        return r == Integer.MAX_VALUE || r == Integer.MIN_VALUE;
+    }
+
+    // The same search as getSingle, for a single saturated sample.
+    private void single2(final int seed, final Block b, final int n) {
+        final float x = b.x[n];
+        final float y = b.y[n];
+        float distance = MAX_DISTANCE;
+        float distance2 = MAX_DISTANCE;
+        float distance3 = MAX_DISTANCE;
+        int xc = 0, yc = 0;
+        for (int xi = b.xr[n] - 1; xi <= b.xr[n] + 1; xi++) {
+            for (int yi = b.yr[n] - 1; yi <= b.yr[n] + 1; yi++) {
+                final int h = NoiseUtils.hash2(seed, xi, yi) & 255;
+                final float vecX = xi - x + this.cellX2[h];
+                final float vecY = yi - y + this.cellY2[h];
+                final float newDistance = this.distance(vecX, vecY);
+
+                distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                if (newDistance < distance) {
+                    distance = newDistance;
+                    xc = xi;
+                    yc = yi;
+                }
+            }
+        }
+        b.set(n, distance, distance2, distance3, xc, yc, 0);
+    }
+
+    private void single3(final int seed, final Block b, final int n) {
+        final float x = b.x[n];
+        final float y = b.y[n];
+        final float z = b.z[n];
+        float distance = MAX_DISTANCE;
+        float distance2 = MAX_DISTANCE;
+        float distance3 = MAX_DISTANCE;
+        int xc = 0, yc = 0, zc = 0;
+        for (int xi = b.xr[n] - 1; xi <= b.xr[n] + 1; xi++) {
+            for (int yi = b.yr[n] - 1; yi <= b.yr[n] + 1; yi++) {
+                for (int zi = b.zr[n] - 1; zi <= b.zr[n] + 1; zi++) {
+                    final int h = NoiseUtils.hash3(seed, xi, yi, zi) & 255;
+                    final float vecX = xi - x + this.cellX3[h];
+                    final float vecY = yi - y + this.cellY3[h];
+                    final float vecZ = zi - z + this.cellZ3[h];
+                    final float newDistance = this.distance(vecX, vecY, vecZ);
+
+                    distance3 = Math.max(Math.min(distance3, newDistance), distance2);
+                    distance2 = Math.max(Math.min(distance2, newDistance), distance);
+                    if (newDistance < distance) {
+                        distance = newDistance;
+                        xc = xi;
+                        yc = yi;
+                        zc = zi;
+                    }
+                }
+            }
+        }
+        b.set(n, distance, distance2, distance3, xc, yc, zc);
+    }
+
+    private float distance(final float vx, final float vy) {
+        switch (this.distance) {
+            case EUCLIDEAN: return vx * vx + vy * vy;
+            case MANHATTAN: return Math.abs(vx) + Math.abs(vy);
+            default: return Math.abs(vx) + Math.abs(vy) + vx * vx + vy * vy;
+        }
+    }
+
+    private float distance(final float vx, final float vy, final float vz) {
+        switch (this.distance) {
+            case EUCLIDEAN: return vx * vx + vy * vy + vz * vz;
+            case MANHATTAN: return Math.abs(vx) + Math.abs(vy) + Math.abs(vz);
+            default: return Math.abs(vx) + Math.abs(vy) + Math.abs(vz) + vx * vx + vy * vy + vz * vz;
+        }
+    }
+
+    // The hashed cell and its offset from each sample, before jitter.
+    private static void cell2(final int seed, final Block b, final int len, final int dx, final int dy) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector xi = IntVector.fromArray(I, b.xr, n).add(dx);
+            final IntVector yi = IntVector.fromArray(I, b.yr, n).add(dy);
+            hash2(seed, xi, yi).and(255).intoArray(b.h, n);
+            xi.intoArray(b.xi, n);
+            yi.intoArray(b.yi, n);
+            toFloat(xi).sub(FloatVector.fromArray(F, b.x, n)).intoArray(b.vx, n);
+            toFloat(yi).sub(FloatVector.fromArray(F, b.y, n)).intoArray(b.vy, n);
+        }
+    }
+
+    private static void cell3(final int seed, final Block b, final int len, final int dx, final int dy, final int dz) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector xi = IntVector.fromArray(I, b.xr, n).add(dx);
+            final IntVector yi = IntVector.fromArray(I, b.yr, n).add(dy);
+            final IntVector zi = IntVector.fromArray(I, b.zr, n).add(dz);
+            hash3(seed, xi, yi, zi).and(255).intoArray(b.h, n);
+            xi.intoArray(b.xi, n);
+            yi.intoArray(b.yi, n);
+            zi.intoArray(b.zi, n);
+            toFloat(xi).sub(FloatVector.fromArray(F, b.x, n)).intoArray(b.vx, n);
+            toFloat(yi).sub(FloatVector.fromArray(F, b.y, n)).intoArray(b.vy, n);
+            toFloat(zi).sub(FloatVector.fromArray(F, b.z, n)).intoArray(b.vz, n);
+        }
+    }
+
+    private static void euclidean2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector vx = FloatVector.fromArray(F, b.vx, n).add(FloatVector.fromArray(F, b.jx, n));
+            final FloatVector vy = FloatVector.fromArray(F, b.vy, n).add(FloatVector.fromArray(F, b.jy, n));
+            vx.mul(vx).add(vy.mul(vy)).intoArray(b.d, n);
+        }
+    }
+
+    private static void manhattan2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector vx = FloatVector.fromArray(F, b.vx, n).add(FloatVector.fromArray(F, b.jx, n));
+            final FloatVector vy = FloatVector.fromArray(F, b.vy, n).add(FloatVector.fromArray(F, b.jy, n));
+            vx.abs().add(vy.abs()).intoArray(b.d, n);
+        }
+    }
+
+    private static void natural2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector vx = FloatVector.fromArray(F, b.vx, n).add(FloatVector.fromArray(F, b.jx, n));
+            final FloatVector vy = FloatVector.fromArray(F, b.vy, n).add(FloatVector.fromArray(F, b.jy, n));
+            vx.abs().add(vy.abs()).add(vx.mul(vx)).add(vy.mul(vy)).intoArray(b.d, n);
+        }
+    }
+
+    private static void euclidean3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector vx = FloatVector.fromArray(F, b.vx, n).add(FloatVector.fromArray(F, b.jx, n));
+            final FloatVector vy = FloatVector.fromArray(F, b.vy, n).add(FloatVector.fromArray(F, b.jy, n));
+            final FloatVector vz = FloatVector.fromArray(F, b.vz, n).add(FloatVector.fromArray(F, b.jz, n));
+            vx.mul(vx).add(vy.mul(vy)).add(vz.mul(vz)).intoArray(b.d, n);
+        }
+    }
+
+    private static void manhattan3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector vx = FloatVector.fromArray(F, b.vx, n).add(FloatVector.fromArray(F, b.jx, n));
+            final FloatVector vy = FloatVector.fromArray(F, b.vy, n).add(FloatVector.fromArray(F, b.jy, n));
+            final FloatVector vz = FloatVector.fromArray(F, b.vz, n).add(FloatVector.fromArray(F, b.jz, n));
+            vx.abs().add(vy.abs()).add(vz.abs()).intoArray(b.d, n);
+        }
+    }
+
+    private static void natural3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector vx = FloatVector.fromArray(F, b.vx, n).add(FloatVector.fromArray(F, b.jx, n));
+            final FloatVector vy = FloatVector.fromArray(F, b.vy, n).add(FloatVector.fromArray(F, b.jy, n));
+            final FloatVector vz = FloatVector.fromArray(F, b.vz, n).add(FloatVector.fromArray(F, b.jz, n));
+            vx.abs().add(vy.abs()).add(vz.abs()).add(vx.mul(vx)).add(vy.mul(vy)).add(vz.mul(vz)).intoArray(b.d, n);
+        }
+    }
+
+    // Cell coordinates are blended as float bits so that one mask selects every value.
+    private static void update(final Block b, final int len, final boolean z) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector d = FloatVector.fromArray(F, b.d, n);
+            final FloatVector d1 = FloatVector.fromArray(F, b.d1, n);
+            final FloatVector d2 = FloatVector.fromArray(F, b.d2, n);
+            final FloatVector d3 = FloatVector.fromArray(F, b.d3, n);
+            final VectorMask<Float> nearer = d.compare(VectorOperators.LT, d1);
+            d3.min(d).max(d2).intoArray(b.d3, n);
+            d2.min(d).max(d1).intoArray(b.d2, n);
+            d1.blend(d, nearer).intoArray(b.d1, n);
+            select(b.xc, b.xi, nearer, n);
+            select(b.yc, b.yi, nearer, n);
+            if (z) select(b.zc, b.zi, nearer, n);
+        }
+    }
+
+    private static void select(final int[] current, final int[] candidate, final VectorMask<Float> m, final int n) {
+        IntVector.fromArray(I, current, n).reinterpretAsFloats()
+            .blend(IntVector.fromArray(I, candidate, n).reinterpretAsFloats(), m)
+            .reinterpretAsInts().intoArray(current, n);
+    }
+
+    private static final class Block {
+        final float[] x = new float[BLOCK];
+        final float[] y = new float[BLOCK];
+        final float[] z = new float[BLOCK];
+        final int[] xr = new int[BLOCK];
+        final int[] yr = new int[BLOCK];
+        final int[] zr = new int[BLOCK];
+        final int[] xi = new int[BLOCK];
+        final int[] yi = new int[BLOCK];
+        final int[] zi = new int[BLOCK];
+        final int[] h = new int[BLOCK];
+        final float[] vx = new float[BLOCK];
+        final float[] vy = new float[BLOCK];
+        final float[] vz = new float[BLOCK];
+        final float[] jx = new float[BLOCK];
+        final float[] jy = new float[BLOCK];
+        final float[] jz = new float[BLOCK];
+        final float[] d = new float[BLOCK];
+        final float[] d1 = new float[BLOCK];
+        final float[] d2 = new float[BLOCK];
+        final float[] d3 = new float[BLOCK];
+        final int[] xc = new int[BLOCK];
+        final int[] yc = new int[BLOCK];
+        final int[] zc = new int[BLOCK];
+
+        void reset() {
+            Arrays.fill(this.d1, MAX_DISTANCE);
+            Arrays.fill(this.d2, MAX_DISTANCE);
+            Arrays.fill(this.d3, MAX_DISTANCE);
+            Arrays.fill(this.xc, 0);
+            Arrays.fill(this.yc, 0);
+            Arrays.fill(this.zc, 0);
+        }
+
+        void set(final int n, final float d1, final float d2, final float d3, final int xc, final int yc, final int zc) {
+            this.d1[n] = d1;
+            this.d2[n] = d2;
+            this.d3[n] = d3;
+            this.xc[n] = xc;
+            this.yc[n] = yc;
+            this.zc[n] = zc;
+        }
+
+        void copyTo(final Features out, final int start, final int len) {
+            System.arraycopy(this.d1, 0, out.distance, start, len);
+            System.arraycopy(this.d2, 0, out.distance2, start, len);
+            System.arraycopy(this.d3, 0, out.distance3, start, len);
+            System.arraycopy(this.xc, 0, out.xc, start, len);
+            System.arraycopy(this.yc, 0, out.yc, start, len);
+            System.arraycopy(this.zc, 0, out.zc, start, len);
+        }
+    }
+}
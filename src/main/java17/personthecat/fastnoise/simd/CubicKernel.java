@@ -0,0 +1,141 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.cubicLerp;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.floor;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.toFloat;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.value2;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.value3;
+
+// Lane-parallel CubicNoise. The 4x4(x4) window around each sample is reduced one
+// row of four values at a time: two passes evaluate the row and one more
+// interpolates it along x. Rows are then interpolated along y, and planes
+// along z, in the same order as getSingle.
+final class CubicKernel implements PointKernel {
+    private static final int BLOCK = 256;
+
+    private static final float CUBIC_2D_BOUNDING = 1 / (float) (1.5 * 1.5);
+    private static final float CUBIC_3D_BOUNDING = 1 / (float) (1.5 * 1.5 * 1.5);
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            cells2(b, len);
+            for (int r = 0; r < 4; r++) {
+                row2(seed, b, len, r - 1, 0);
+                row2(seed, b, len, r - 1, 2);
+                interpolate(b.v, b.xs, b.row[r], len);
+            }
+            interpolate(b.row, b.ys, b.out, len);
+            for (int n = 0; n < len; n++) {
+                out[offset + start + n] = b.out[n] * CUBIC_2D_BOUNDING;
+            }
+        }
+    }
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            System.arraycopy(zs, start, b.z, 0, len);
+            cells3(b, len);
+            for (int p = 0; p < 4; p++) {
+                for (int r = 0; r < 4; r++) {
+                    row3(seed, b, len, r - 1, p - 1, 0);
+                    row3(seed, b, len, r - 1, p - 1, 2);
+                    interpolate(b.v, b.xs, b.row[r], len);
+                }
+                interpolate(b.row, b.ys, b.plane[p], len);
+            }
+            interpolate(b.plane, b.zs, b.out, len);
+            for (int n = 0; n < len; n++) {
+                out[offset + start + n] = b.out[n] * CUBIC_3D_BOUNDING;
+            }
+        }
+    }
+
+    // The cell is the second of the four in the window on each axis.
+    private static void cells2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            floor(FloatVector.fromArray(F, b.x, n), b.i, n);
+            floor(FloatVector.fromArray(F, b.y, n), b.j, n);
+        }
+        for (int n = 0; n < len; n += F.length()) {
+            FloatVector.fromArray(F, b.x, n).sub(toFloat(IntVector.fromArray(I, b.i, n))).intoArray(b.xs, n);
+            FloatVector.fromArray(F, b.y, n).sub(toFloat(IntVector.fromArray(I, b.j, n))).intoArray(b.ys, n);
+        }
+    }
+
+    private static void cells3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            floor(FloatVector.fromArray(F, b.x, n), b.i, n);
+            floor(FloatVector.fromArray(F, b.y, n), b.j, n);
+            floor(FloatVector.fromArray(F, b.z, n), b.k, n);
+        }
+        for (int n = 0; n < len; n += F.length()) {
+            FloatVector.fromArray(F, b.x, n).sub(toFloat(IntVector.fromArray(I, b.i, n))).intoArray(b.xs, n);
+            FloatVector.fromArray(F, b.y, n).sub(toFloat(IntVector.fromArray(I, b.j, n))).intoArray(b.ys, n);
+            FloatVector.fromArray(F, b.z, n).sub(toFloat(IntVector.fromArray(I, b.k, n))).intoArray(b.zs, n);
+        }
+    }
+
+    // Values c and c + 1 of one row, at x offsets c - 1 and c.
+    private static void row2(final int seed, final Block b, final int len, final int dy, final int c) {
+        final float[] v0 = b.v[c];
+        final float[] v1 = b.v[c + 1];
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector x = IntVector.fromArray(I, b.i, n).add(c - 1);
+            final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+            value2(seed, x, y).intoArray(v0, n);
+            value2(seed, x.add(1), y).intoArray(v1, n);
+        }
+    }
+
+    private static void row3(final int seed, final Block b, final int len, final int dy, final int dz, final int c) {
+        final float[] v0 = b.v[c];
+        final float[] v1 = b.v[c + 1];
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector x = IntVector.fromArray(I, b.i, n).add(c - 1);
+            final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+            final IntVector z = IntVector.fromArray(I, b.k, n).add(dz);
+            value3(seed, x, y, z).intoArray(v0, n);
+            value3(seed, x.add(1), y, z).intoArray(v1, n);
+        }
+    }
+
+    private static void interpolate(final float[][] v, final float[] t, final float[] out, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            cubicLerp(FloatVector.fromArray(F, v[0], n), FloatVector.fromArray(F, v[1], n),
+                FloatVector.fromArray(F, v[2], n), FloatVector.fromArray(F, v[3], n),
+                FloatVector.fromArray(F, t, n)).intoArray(out, n);
+        }
+    }
+
+    // Scratch space for one block of samples.
+    private static final class Block {
+        final float[] x = new float[BLOCK];
+        final float[] y = new float[BLOCK];
+        final float[] z = new float[BLOCK];
+        final int[] i = new int[BLOCK];
+        final int[] j = new int[BLOCK];
+        final int[] k = new int[BLOCK];
+        final float[] xs = new float[BLOCK];
+        final float[] ys = new float[BLOCK];
+        final float[] zs = new float[BLOCK];
+        final float[][] v = new float[4][BLOCK];
+        final float[][] row = new float[4][BLOCK];
+        final float[][] plane = new float[4][BLOCK];
+        final float[] out = new float[BLOCK];
+    }
+}
@@ -0,0 +1,146 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.floor;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.interpolateHermite;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.lerp;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.toFloat;
+
+// The shared structure of PerlinKernel and ValueKernel. Each lane finds its
+// lattice cell, the subclass evaluates every corner of the cell into Block#v,
+// and the corners are interpolated in the same order as getSingle.
+//
+// Corner c is at (x0 + (c & 1), y0 + (c >> 1 & 1), z0 + (c >> 2)).
+abstract class LatticeKernel implements PointKernel {
+    static final int BLOCK = 256;
+
+    abstract void corners2(int seed, Block b, int len);
+
+    abstract void corners3(int seed, Block b, int len);
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        final Block b = new Block(4);
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            cells2(b, len);
+            fractions2(b, len);
+            this.corners2(seed, b, len);
+            interpolate2(b, len);
+            System.arraycopy(b.out, 0, out, offset + start, len);
+        }
+    }
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        final Block b = new Block(8);
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            System.arraycopy(zs, start, b.z, 0, len);
+            cells3(b, len);
+            fractions3(b, len);
+            this.corners3(seed, b, len);
+            interpolate3(b, len);
+            System.arraycopy(b.out, 0, out, offset + start, len);
+        }
+    }
+
+    private static void cells2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            floor(FloatVector.fromArray(F, b.x, n), b.i, n);
+            floor(FloatVector.fromArray(F, b.y, n), b.j, n);
+        }
+    }
+
+    private static void fractions2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xd = FloatVector.fromArray(F, b.x, n).sub(toFloat(IntVector.fromArray(I, b.i, n)));
+            final FloatVector yd = FloatVector.fromArray(F, b.y, n).sub(toFloat(IntVector.fromArray(I, b.j, n)));
+            xd.intoArray(b.xd, n);
+            yd.intoArray(b.yd, n);
+            interpolateHermite(xd).intoArray(b.xs, n);
+            interpolateHermite(yd).intoArray(b.ys, n);
+        }
+    }
+
+    private static void cells3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            floor(FloatVector.fromArray(F, b.x, n), b.i, n);
+            floor(FloatVector.fromArray(F, b.y, n), b.j, n);
+            floor(FloatVector.fromArray(F, b.z, n), b.k, n);
+        }
+    }
+
+    private static void fractions3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xd = FloatVector.fromArray(F, b.x, n).sub(toFloat(IntVector.fromArray(I, b.i, n)));
+            final FloatVector yd = FloatVector.fromArray(F, b.y, n).sub(toFloat(IntVector.fromArray(I, b.j, n)));
+            final FloatVector zd = FloatVector.fromArray(F, b.z, n).sub(toFloat(IntVector.fromArray(I, b.k, n)));
+            xd.intoArray(b.xd, n);
+            yd.intoArray(b.yd, n);
+            zd.intoArray(b.zd, n);
+            interpolateHermite(xd).intoArray(b.xs, n);
+            interpolateHermite(yd).intoArray(b.ys, n);
+            interpolateHermite(zd).intoArray(b.zs, n);
+        }
+    }
+
+    private static void interpolate2(final Block b, final int len) {
+        final float[][] v = b.v;
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xs = FloatVector.fromArray(F, b.xs, n);
+            final FloatVector xf0 = lerp(FloatVector.fromArray(F, v[0], n), FloatVector.fromArray(F, v[1], n), xs);
+            final FloatVector xf1 = lerp(FloatVector.fromArray(F, v[2], n), FloatVector.fromArray(F, v[3], n), xs);
+            lerp(xf0, xf1, FloatVector.fromArray(F, b.ys, n)).intoArray(b.out, n);
+        }
+    }
+
+    private static void interpolate3(final Block b, final int len) {
+        final float[][] v = b.v;
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xs = FloatVector.fromArray(F, b.xs, n);
+            final FloatVector ys = FloatVector.fromArray(F, b.ys, n);
+            final FloatVector xf00 = lerp(FloatVector.fromArray(F, v[0], n), FloatVector.fromArray(F, v[1], n), xs);
+            final FloatVector xf10 = lerp(FloatVector.fromArray(F, v[2], n), FloatVector.fromArray(F, v[3], n), xs);
+            final FloatVector xf01 = lerp(FloatVector.fromArray(F, v[4], n), FloatVector.fromArray(F, v[5], n), xs);
+            final FloatVector xf11 = lerp(FloatVector.fromArray(F, v[6], n), FloatVector.fromArray(F, v[7], n), xs);
+            final FloatVector yf0 = lerp(xf00, xf10, ys);
+            final FloatVector yf1 = lerp(xf01, xf11, ys);
+            lerp(yf0, yf1, FloatVector.fromArray(F, b.zs, n)).intoArray(b.out, n);
+        }
+    }
+
+    // Scratch space for one block of samples.
+    static final class Block {
+        final float[] x = new float[BLOCK];
+        final float[] y = new float[BLOCK];
+        final float[] z = new float[BLOCK];
+        final int[] i = new int[BLOCK];
+        final int[] j = new int[BLOCK];
+        final int[] k = new int[BLOCK];
+        final float[] xd = new float[BLOCK];
+        final float[] yd = new float[BLOCK];
+        final float[] zd = new float[BLOCK];
+        final float[] xs = new float[BLOCK];
+        final float[] ys = new float[BLOCK];
+        final float[] zs = new float[BLOCK];
+        final float[] out = new float[BLOCK];
+        final int[] h = new int[BLOCK];
+        final float[] gx = new float[BLOCK];
+        final float[] gy = new float[BLOCK];
+        final float[] gz = new float[BLOCK];
+        final float[][] v;
+
+        Block(final int corners) {
+            this.v = new float[corners][BLOCK];
+        }
+    }
+}
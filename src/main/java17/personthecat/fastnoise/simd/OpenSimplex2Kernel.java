@@ -0,0 +1,337 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+
+import java.util.Arrays;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.bits;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.floor;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradientIndex2L;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradientIndex3L;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradients3L;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.lookup2;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.round;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.toFloat;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.truncateUnit;
+
+import static personthecat.fastnoise.util.NoiseTables.GRAD_2DL;
+import static personthecat.fastnoise.util.NoiseValues.X_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Y_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Z_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.G2;
+
+// Lane-parallel OpenSimplex2Noise. Every vertex is evaluated for every lane and
+// the vertices getSingle would skip are masked out of the sum.
+//
+// Each vertex takes three passes over the block: one to find its offset and
+// gradient index, one to read the gradients, and one to add its contribution.
+final class OpenSimplex2Kernel implements PointKernel {
+    private static final int BLOCK = 256;
+
+    private static final float C1 = 2 * (1 - 2 * G2) * (1 / G2 - 2);
+    private static final float C2 = -2 * (1 - 2 * G2) * (1 - 2 * G2);
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            Arrays.fill(b.out, -0.0F);
+
+            origin2(seed, b, len);
+            lookup2(GRAD_2DL, b.h, b.gx, b.gy, len);
+            contribute2(b, len);
+            middle2(seed, b, len);
+            lookup2(GRAD_2DL, b.h, b.gx, b.gy, len);
+            contribute2(b, len);
+            far2(seed, b, len);
+            lookup2(GRAD_2DL, b.h, b.gx, b.gy, len);
+            contribute2(b, len);
+
+            for (int n = 0; n < len; n++) {
+                out[offset + start + n] = b.out[n] * 99.83685446303647f;
+            }
+        }
+    }
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            System.arraycopy(zs, start, b.z, 0, len);
+            Arrays.fill(b.out, 0.0F);
+
+            round3(b, len);
+            origin3(seed, b, len);
+            gradients3L(b.h, b.gx, b.gy, b.gz, len);
+            contribute3(b, len);
+            edge3(seed, b, len);
+            gradients3L(b.h, b.gx, b.gy, b.gz, len);
+            contribute3(b, len);
+
+            // The second of the two offset grids
+            flip3(b, len);
+            origin3(~seed, b, len);
+            gradients3L(b.h, b.gx, b.gy, b.gz, len);
+            contribute3(b, len);
+            edge3(~seed, b, len);
+            gradients3L(b.h, b.gx, b.gy, b.gz, len);
+            contribute3(b, len);
+
+            for (int n = 0; n < len; n++) {
+                out[offset + start + n] = b.out[n] * 32.69428253173828125f;
+            }
+        }
+    }
+
+    private static void origin2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x = FloatVector.fromArray(F, b.x, n);
+            final FloatVector y = FloatVector.fromArray(F, b.y, n);
+            floor(x, b.i, n);
+            floor(y, b.j, n);
+
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final FloatVector xi = x.sub(toFloat(i));
+            final FloatVector yi = y.sub(toFloat(j));
+            final FloatVector t = xi.add(yi).mul(G2);
+            final FloatVector x0 = xi.sub(t);
+            final FloatVector y0 = yi.sub(t);
+            final FloatVector a = FloatVector.broadcast(F, 0.5f).sub(x0.mul(x0)).sub(y0.mul(y0));
+            final IntVector pi = i.mul(X_PRIME);
+            final IntVector pj = j.mul(Y_PRIME);
+
+            pi.intoArray(b.i, n);
+            pj.intoArray(b.j, n);
+            x0.intoArray(b.x0, n);
+            y0.intoArray(b.y0, n);
+            t.intoArray(b.t, n);
+            a.intoArray(b.a, n);
+            gradientIndex2L(seed, pi, pj).intoArray(b.h, n);
+            x0.intoArray(b.dx, n);
+            y0.intoArray(b.dy, n);
+            a.intoArray(b.f, n);
+        }
+    }
+
+    // The vertex at (0, 1) or (1, 0), whichever is closer.
+    private static void middle2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final VectorMask<Float> yMajor = y0.compare(VectorOperators.GT, x0);
+            final IntVector dj = bits(yMajor);
+            final IntVector di = dj.lanewise(VectorOperators.XOR, 1);
+
+            final FloatVector x = x0.add(G2);
+            final FloatVector y = y0.add(G2);
+            final FloatVector x1 = x.sub(1).blend(x, yMajor);
+            final FloatVector y1 = y.blend(y.sub(1), yMajor);
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(di.mul(X_PRIME));
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(dj.mul(Y_PRIME));
+
+            gradientIndex2L(seed, pi, pj).intoArray(b.h, n);
+            x1.intoArray(b.dx, n);
+            y1.intoArray(b.dy, n);
+            FloatVector.broadcast(F, 0.5f).sub(x1.mul(x1)).sub(y1.mul(y1)).intoArray(b.f, n);
+        }
+    }
+
+    private static void far2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector t = FloatVector.fromArray(F, b.t, n);
+            final FloatVector a = FloatVector.fromArray(F, b.a, n);
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(X_PRIME);
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(Y_PRIME);
+
+            gradientIndex2L(seed, pi, pj).intoArray(b.h, n);
+            FloatVector.fromArray(F, b.x0, n).add(2 * G2 - 1).intoArray(b.dx, n);
+            FloatVector.fromArray(F, b.y0, n).add(2 * G2 - 1).intoArray(b.dy, n);
+            t.mul(C1).add(a.add(C2)).intoArray(b.f, n);
+        }
+    }
+
+    // Vertices with no falloff contribute 0 instead of being skipped.
+    private static void contribute2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector f = FloatVector.fromArray(F, b.f, n);
+            final FloatVector dx = FloatVector.fromArray(F, b.dx, n);
+            final FloatVector dy = FloatVector.fromArray(F, b.dy, n);
+            final FloatVector gx = FloatVector.fromArray(F, b.gx, n);
+            final FloatVector gy = FloatVector.fromArray(F, b.gy, n);
+            final FloatVector g = dx.mul(gx).add(dy.mul(gy));
+            final FloatVector v = f.mul(f).mul(f.mul(f)).mul(g).blend(0, f.compare(VectorOperators.LE, 0));
+            FloatVector.fromArray(F, b.out, n).add(v).intoArray(b.out, n);
+        }
+    }
+
+    private static void round3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x = FloatVector.fromArray(F, b.x, n);
+            final FloatVector y = FloatVector.fromArray(F, b.y, n);
+            final FloatVector z = FloatVector.fromArray(F, b.z, n);
+            round(x, b.i, n);
+            round(y, b.j, n);
+            round(z, b.k, n);
+
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final IntVector k = IntVector.fromArray(I, b.k, n);
+            final FloatVector x0 = x.sub(toFloat(i));
+            final FloatVector y0 = y.sub(toFloat(j));
+            final FloatVector z0 = z.sub(toFloat(k));
+            i.mul(X_PRIME).intoArray(b.i, n);
+            j.mul(Y_PRIME).intoArray(b.j, n);
+            k.mul(Z_PRIME).intoArray(b.k, n);
+            x0.intoArray(b.x0, n);
+            y0.intoArray(b.y0, n);
+            z0.intoArray(b.z0, n);
+            truncateUnit(FloatVector.broadcast(F, -1.0f).sub(x0), b.sx, n);
+            truncateUnit(FloatVector.broadcast(F, -1.0f).sub(y0), b.sy, n);
+            truncateUnit(FloatVector.broadcast(F, -1.0f).sub(z0), b.sz, n);
+        }
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector sx = IntVector.fromArray(I, b.sx, n).or(1);
+            final IntVector sy = IntVector.fromArray(I, b.sy, n).or(1);
+            final IntVector sz = IntVector.fromArray(I, b.sz, n).or(1);
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final FloatVector z0 = FloatVector.fromArray(F, b.z0, n);
+            sx.intoArray(b.sx, n);
+            sy.intoArray(b.sy, n);
+            sz.intoArray(b.sz, n);
+            toFloat(sx).mul(x0.neg()).intoArray(b.ax, n);
+            toFloat(sy).mul(y0.neg()).intoArray(b.ay, n);
+            toFloat(sz).mul(z0.neg()).intoArray(b.az, n);
+            FloatVector.broadcast(F, 0.6f).sub(x0.mul(x0)).sub(y0.mul(y0).add(z0.mul(z0))).intoArray(b.a, n);
+        }
+    }
+
+    private static void origin3(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector pi = IntVector.fromArray(I, b.i, n);
+            final IntVector pj = IntVector.fromArray(I, b.j, n);
+            final IntVector pk = IntVector.fromArray(I, b.k, n);
+            gradientIndex3L(seed, pi, pj, pk).intoArray(b.h, n);
+            FloatVector.fromArray(F, b.x0, n).intoArray(b.dx, n);
+            FloatVector.fromArray(F, b.y0, n).intoArray(b.dy, n);
+            FloatVector.fromArray(F, b.z0, n).intoArray(b.dz, n);
+            FloatVector.fromArray(F, b.a, n).intoArray(b.f, n);
+        }
+    }
+
+    // The neighbor across the face of the cube nearest to the sample. Its falloff
+    // is stored minus 1, so it is skipped whenever the original value is not > 1.
+    private static void edge3(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector ax = FloatVector.fromArray(F, b.ax, n);
+            final FloatVector ay = FloatVector.fromArray(F, b.ay, n);
+            final FloatVector az = FloatVector.fromArray(F, b.az, n);
+            final VectorMask<Float> cx = ax.compare(VectorOperators.GE, ay).and(ax.compare(VectorOperators.GE, az));
+            final VectorMask<Float> cy = cx.not().and(ay.compare(VectorOperators.GT, ax)).and(ay.compare(VectorOperators.GE, az));
+            final VectorMask<Float> cz = cx.or(cy).not();
+            final FloatVector s = az.blend(ay, cy).blend(ax, cx);
+            final FloatVector a = FloatVector.fromArray(F, b.a, n);
+            a.add(s).add(s).sub(1).intoArray(b.f, n);
+
+            final IntVector sx = IntVector.fromArray(I, b.sx, n);
+            final IntVector sy = IntVector.fromArray(I, b.sy, n);
+            final IntVector sz = IntVector.fromArray(I, b.sz, n);
+            final IntVector pi = IntVector.fromArray(I, b.i, n).sub(sx.mul(X_PRIME).mul(bits(cx)));
+            final IntVector pj = IntVector.fromArray(I, b.j, n).sub(sy.mul(Y_PRIME).mul(bits(cy)));
+            final IntVector pk = IntVector.fromArray(I, b.k, n).sub(sz.mul(Z_PRIME).mul(bits(cz)));
+            gradientIndex3L(seed, pi, pj, pk).intoArray(b.h, n);
+
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final FloatVector z0 = FloatVector.fromArray(F, b.z0, n);
+            x0.blend(x0.add(toFloat(sx)), cx).intoArray(b.dx, n);
+            y0.blend(y0.add(toFloat(sy)), cy).intoArray(b.dy, n);
+            z0.blend(z0.add(toFloat(sz)), cz).intoArray(b.dz, n);
+        }
+    }
+
+    // Moves every lane onto the second grid, which is offset by half a cell.
+    private static void flip3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector ax = FloatVector.broadcast(F, 0.5f).sub(FloatVector.fromArray(F, b.ax, n));
+            final FloatVector ay = FloatVector.broadcast(F, 0.5f).sub(FloatVector.fromArray(F, b.ay, n));
+            final FloatVector az = FloatVector.broadcast(F, 0.5f).sub(FloatVector.fromArray(F, b.az, n));
+            final IntVector sx = IntVector.fromArray(I, b.sx, n);
+            final IntVector sy = IntVector.fromArray(I, b.sy, n);
+            final IntVector sz = IntVector.fromArray(I, b.sz, n);
+            ax.intoArray(b.ax, n);
+            ay.intoArray(b.ay, n);
+            az.intoArray(b.az, n);
+            toFloat(sx).mul(ax).intoArray(b.x0, n);
+            toFloat(sy).mul(ay).intoArray(b.y0, n);
+            toFloat(sz).mul(az).intoArray(b.z0, n);
+            FloatVector.fromArray(F, b.a, n)
+                .add(FloatVector.broadcast(F, 0.75f).sub(ax).sub(ay.add(az))).intoArray(b.a, n);
+
+            IntVector.fromArray(I, b.i, n).add(sx.lanewise(VectorOperators.ASHR, 1).and(X_PRIME)).intoArray(b.i, n);
+            IntVector.fromArray(I, b.j, n).add(sy.lanewise(VectorOperators.ASHR, 1).and(Y_PRIME)).intoArray(b.j, n);
+            IntVector.fromArray(I, b.k, n).add(sz.lanewise(VectorOperators.ASHR, 1).and(Z_PRIME)).intoArray(b.k, n);
+            sx.neg().intoArray(b.sx, n);
+            sy.neg().intoArray(b.sy, n);
+            sz.neg().intoArray(b.sz, n);
+        }
+    }
+
+    // Vertices with no falloff are skipped.
+    private static void contribute3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector f = FloatVector.fromArray(F, b.f, n);
+            final FloatVector dx = FloatVector.fromArray(F, b.dx, n);
+            final FloatVector dy = FloatVector.fromArray(F, b.dy, n);
+            final FloatVector dz = FloatVector.fromArray(F, b.dz, n);
+            final FloatVector gx = FloatVector.fromArray(F, b.gx, n);
+            final FloatVector gy = FloatVector.fromArray(F, b.gy, n);
+            final FloatVector gz = FloatVector.fromArray(F, b.gz, n);
+            final FloatVector g = dx.mul(gx).add(dy.mul(gy)).add(dz.mul(gz));
+            final FloatVector out = FloatVector.fromArray(F, b.out, n);
+            out.blend(out.add(f.mul(f).mul(f.mul(f)).mul(g)), f.compare(VectorOperators.GT, 0)).intoArray(b.out, n);
+        }
+    }
+
+    // Scratch space for one block of samples.
+    private static final class Block {
+        final float[] x = new float[BLOCK];
+        final float[] y = new float[BLOCK];
+        final float[] z = new float[BLOCK];
+        final float[] x0 = new float[BLOCK];
+        final float[] y0 = new float[BLOCK];
+        final float[] z0 = new float[BLOCK];
+        final float[] ax = new float[BLOCK];
+        final float[] ay = new float[BLOCK];
+        final float[] az = new float[BLOCK];
+        final float[] t = new float[BLOCK];
+        final float[] a = new float[BLOCK];
+        final float[] f = new float[BLOCK];
+        final float[] dx = new float[BLOCK];
+        final float[] dy = new float[BLOCK];
+        final float[] dz = new float[BLOCK];
+        final float[] gx = new float[BLOCK];
+        final float[] gy = new float[BLOCK];
+        final float[] gz = new float[BLOCK];
+        final float[] out = new float[BLOCK];
+        final int[] i = new int[BLOCK];
+        final int[] j = new int[BLOCK];
+        final int[] k = new int[BLOCK];
+        final int[] sx = new int[BLOCK];
+        final int[] sy = new int[BLOCK];
+        final int[] sz = new int[BLOCK];
+        final int[] h = new int[BLOCK];
+    }
+}
@@ -0,0 +1,473 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+
+import java.util.Arrays;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.bits;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.floor;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradientIndex2L;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradientIndex3;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradients3;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.lookup2;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.toFloat;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.truncateUnit;
+
+import static personthecat.fastnoise.util.NoiseTables.GRAD_2DL;
+import static personthecat.fastnoise.util.NoiseValues.X_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Y_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Z_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.G2;
+
+// Lane-parallel OpenSimplex2SNoise. Every vertex is evaluated for every lane and
+// the vertices getSingle would skip are masked out of the sum.
+//
+// Where getSingle chooses between vertices, each alternative is computed and the
+// chosen one is blended into the same pass. In 3D, the vertices around each axis
+// follow the same pattern, so each kind of vertex is one pass given the axis.
+final class OpenSimplex2SKernel implements PointKernel {
+    private static final int BLOCK = 256;
+
+    private static final float C1 = 2 * (1 - 2 * G2) * (1 / G2 - 2);
+    private static final float C2 = -2 * (1 - 2 * G2) * (1 - 2 * G2);
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            Arrays.fill(b.out, -0.0F);
+
+            origin2(seed, b, len);
+            lookup2(GRAD_2DL, b.h, b.gx, b.gy, len);
+            contribute2(b, len, false);
+            far2(seed, b, len);
+            lookup2(GRAD_2DL, b.h, b.gx, b.gy, len);
+            contribute2(b, len, false);
+            first2(seed, b, len);
+            lookup2(GRAD_2DL, b.h, b.gx, b.gy, len);
+            contribute2(b, len, true);
+            second2(seed, b, len);
+            lookup2(GRAD_2DL, b.h, b.gx, b.gy, len);
+            contribute2(b, len, true);
+
+            for (int n = 0; n < len; n++) {
+                out[offset + start + n] = b.out[n] * 18.24196194486065f;
+            }
+        }
+    }
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        final Block b = new Block();
+        final int seed2 = seed + 1293373;
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            System.arraycopy(zs, start, b.z, 0, len);
+            Arrays.fill(b.out, -0.0F);
+
+            floor3(b, len);
+            offsets3(b, len);
+            flips3(b, len);
+            origin3(seed, b, len);
+            gradients3(b.h, b.gx, b.gy, b.gz, len);
+            contribute3(b, len, false);
+            center3(seed2, b, len);
+            gradients3(b.h, b.gx, b.gy, b.gz, len);
+            contribute3(b, len, false);
+            for (int u = 0; u < 3; u++) {
+                flip0(seed, b, len, u);
+                gradients3(b.h, b.gx, b.gy, b.gz, len);
+                contribute3(b, len, true);
+                flipPair0(seed, b, len, u);
+                gradients3(b.h, b.gx, b.gy, b.gz, len);
+                contribute3(b, len, true);
+                flip1(seed2, b, len, u);
+                gradients3(b.h, b.gx, b.gy, b.gz, len);
+                contribute3(b, len, true);
+            }
+            for (int u = 0; u < 3; u++) {
+                flipPair1(seed2, b, len, u);
+                gradients3(b.h, b.gx, b.gy, b.gz, len);
+                contribute3(b, len, true);
+            }
+
+            for (int n = 0; n < len; n++) {
+                out[offset + start + n] = b.out[n] * 9.046026385208288f;
+            }
+        }
+    }
+
+    private static void origin2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x = FloatVector.fromArray(F, b.x, n);
+            final FloatVector y = FloatVector.fromArray(F, b.y, n);
+            floor(x, b.i, n);
+            floor(y, b.j, n);
+
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final FloatVector xi = x.sub(toFloat(i));
+            final FloatVector yi = y.sub(toFloat(j));
+            final FloatVector t = xi.add(yi).mul(G2);
+            final FloatVector x0 = xi.sub(t);
+            final FloatVector y0 = yi.sub(t);
+            final FloatVector a0 = FloatVector.broadcast(F, 2.0f / 3.0f).sub(x0.mul(x0)).sub(y0.mul(y0));
+            final IntVector pi = i.mul(X_PRIME);
+            final IntVector pj = j.mul(Y_PRIME);
+
+            pi.intoArray(b.i, n);
+            pj.intoArray(b.j, n);
+            xi.intoArray(b.xi, n);
+            yi.intoArray(b.yi, n);
+            x0.intoArray(b.x0, n);
+            y0.intoArray(b.y0, n);
+            t.intoArray(b.t, n);
+            a0.intoArray(b.a0, n);
+            gradientIndex2L(seed, pi, pj).intoArray(b.h, n);
+            x0.intoArray(b.dx, n);
+            y0.intoArray(b.dy, n);
+            a0.intoArray(b.f, n);
+        }
+    }
+
+    private static void far2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector t = FloatVector.fromArray(F, b.t, n);
+            final FloatVector a0 = FloatVector.fromArray(F, b.a0, n);
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(X_PRIME);
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(Y_PRIME);
+
+            gradientIndex2L(seed, pi, pj).intoArray(b.h, n);
+            FloatVector.fromArray(F, b.x0, n).sub(1 - 2 * G2).intoArray(b.dx, n);
+            FloatVector.fromArray(F, b.y0, n).sub(1 - 2 * G2).intoArray(b.dy, n);
+            t.mul(C1).add(a0.add(C2)).intoArray(b.f, n);
+        }
+    }
+
+    // The first of the two remaining vertices, chosen from (2, 1), (0, 1), (-1, 0) or (1, 0).
+    private static void first2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xi = FloatVector.fromArray(F, b.xi, n);
+            final FloatVector yi = FloatVector.fromArray(F, b.yi, n);
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final FloatVector s = xi.add(xi.sub(yi));
+            final VectorMask<Float> high = FloatVector.fromArray(F, b.t, n).compare(VectorOperators.GT, G2);
+            final VectorMask<Float> a = high.and(s.compare(VectorOperators.GT, 1));
+            final VectorMask<Float> c = high.not().and(s.compare(VectorOperators.LT, 0));
+            final VectorMask<Float> d = high.or(c).not();
+
+            final FloatVector x = x0.add(G2);
+            final FloatVector y = y0.add(G2);
+            final FloatVector x2 = x.sub(1).blend(x0.add(1).sub(G2), c).blend(x, high).blend(x0.add(3 * G2 - 2), a);
+            final FloatVector y2 = y.blend(y0.sub(G2), c).blend(y.sub(1), high).blend(y0.add(3 * G2 - 1), a);
+            final IntVector di = bits(a).lanewise(VectorOperators.LSHL, 1).add(bits(d)).sub(bits(c));
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(di.mul(X_PRIME));
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(bits(high).mul(Y_PRIME));
+
+            gradientIndex2L(seed, pi, pj).intoArray(b.h, n);
+            x2.intoArray(b.dx, n);
+            y2.intoArray(b.dy, n);
+            FloatVector.broadcast(F, 2.0f / 3.0f).sub(x2.mul(x2)).sub(y2.mul(y2)).intoArray(b.f, n);
+        }
+    }
+
+    // The second of the two remaining vertices, chosen from (1, 2), (1, 0), (0, -1) or (0, 1).
+    private static void second2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xi = FloatVector.fromArray(F, b.xi, n);
+            final FloatVector yi = FloatVector.fromArray(F, b.yi, n);
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final FloatVector xmyi = xi.sub(yi);
+            final VectorMask<Float> high = FloatVector.fromArray(F, b.t, n).compare(VectorOperators.GT, G2);
+            final VectorMask<Float> a = high.and(yi.sub(xmyi).compare(VectorOperators.GT, 1));
+            final VectorMask<Float> c = high.not().and(yi.compare(VectorOperators.LT, xmyi));
+            final VectorMask<Float> d = high.or(c).not();
+
+            final FloatVector x = x0.add(G2);
+            final FloatVector y = y0.add(G2);
+            final FloatVector x3 = x.blend(x0.sub(G2), c).blend(x.sub(1), high).blend(x0.add(3 * G2 - 1), a);
+            final FloatVector y3 = y.sub(1).blend(y0.sub(G2).sub(1), c).blend(y, high).blend(y0.add(3 * G2 - 2), a);
+            final IntVector dj = bits(a).lanewise(VectorOperators.LSHL, 1).add(bits(d)).sub(bits(c));
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(bits(high).mul(X_PRIME));
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(dj.mul(Y_PRIME));
+
+            gradientIndex2L(seed, pi, pj).intoArray(b.h, n);
+            x3.intoArray(b.dx, n);
+            y3.intoArray(b.dy, n);
+            FloatVector.broadcast(F, 2.0f / 3.0f).sub(x3.mul(x3)).sub(y3.mul(y3)).intoArray(b.f, n);
+        }
+    }
+
+    private static void contribute2(final Block b, final int len, final boolean masked) {
+        final VectorMask<Float> optional = F.maskAll(masked);
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector f = FloatVector.fromArray(F, b.f, n);
+            final FloatVector dx = FloatVector.fromArray(F, b.dx, n);
+            final FloatVector dy = FloatVector.fromArray(F, b.dy, n);
+            final FloatVector gx = FloatVector.fromArray(F, b.gx, n);
+            final FloatVector gy = FloatVector.fromArray(F, b.gy, n);
+            final FloatVector g = dx.mul(gx).add(dy.mul(gy));
+            final FloatVector out = FloatVector.fromArray(F, b.out, n);
+            final VectorMask<Float> skip = f.compare(VectorOperators.GT, 0).not().and(optional);
+            out.add(f.mul(f).mul(f.mul(f)).mul(g)).blend(out, skip).intoArray(b.out, n);
+        }
+    }
+
+    private static void floor3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x = FloatVector.fromArray(F, b.x, n);
+            final FloatVector y = FloatVector.fromArray(F, b.y, n);
+            final FloatVector z = FloatVector.fromArray(F, b.z, n);
+            floor(x, b.i, n);
+            floor(y, b.j, n);
+            floor(z, b.k, n);
+
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final IntVector k = IntVector.fromArray(I, b.k, n);
+            final FloatVector xi = x.sub(toFloat(i));
+            final FloatVector yi = y.sub(toFloat(j));
+            final FloatVector zi = z.sub(toFloat(k));
+            i.mul(X_PRIME).intoArray(b.i, n);
+            j.mul(Y_PRIME).intoArray(b.j, n);
+            k.mul(Z_PRIME).intoArray(b.k, n);
+            xi.intoArray(b.xi, n);
+            yi.intoArray(b.yi, n);
+            zi.intoArray(b.zi, n);
+            truncateUnit(FloatVector.broadcast(F, -0.5f).sub(xi), b.nx, n);
+            truncateUnit(FloatVector.broadcast(F, -0.5f).sub(yi), b.ny, n);
+            truncateUnit(FloatVector.broadcast(F, -0.5f).sub(zi), b.nz, n);
+        }
+    }
+
+    private static void offsets3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xi = FloatVector.fromArray(F, b.xi, n);
+            final FloatVector yi = FloatVector.fromArray(F, b.yi, n);
+            final FloatVector zi = FloatVector.fromArray(F, b.zi, n);
+            final FloatVector x0 = xi.add(toFloat(IntVector.fromArray(I, b.nx, n)));
+            final FloatVector y0 = yi.add(toFloat(IntVector.fromArray(I, b.ny, n)));
+            final FloatVector z0 = zi.add(toFloat(IntVector.fromArray(I, b.nz, n)));
+            final FloatVector x1 = xi.sub(0.5f);
+            final FloatVector y1 = yi.sub(0.5f);
+            final FloatVector z1 = zi.sub(0.5f);
+            x0.intoArray(b.x0, n);
+            y0.intoArray(b.y0, n);
+            z0.intoArray(b.z0, n);
+            x1.intoArray(b.x1, n);
+            y1.intoArray(b.y1, n);
+            z1.intoArray(b.z1, n);
+            FloatVector.broadcast(F, 0.75f).sub(x0.mul(x0)).sub(y0.mul(y0)).sub(z0.mul(z0)).intoArray(b.a0, n);
+            FloatVector.broadcast(F, 0.75f).sub(x1.mul(x1)).sub(y1.mul(y1)).sub(z1.mul(z1)).intoArray(b.a1, n);
+        }
+    }
+
+    // The direction of each axis and the change in falloff when flipping it on either grid.
+    private static void flips3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            flip(IntVector.fromArray(I, b.nx, n), FloatVector.fromArray(F, b.x1, n), b.sx, b.fx0, b.fx1, n);
+            flip(IntVector.fromArray(I, b.ny, n), FloatVector.fromArray(F, b.y1, n), b.sy, b.fy0, b.fy1, n);
+            flip(IntVector.fromArray(I, b.nz, n), FloatVector.fromArray(F, b.z1, n), b.sz, b.fz0, b.fz1, n);
+        }
+    }
+
+    private static void flip(final IntVector mask, final FloatVector d1, final float[] sign, final float[] flip0, final float[] flip1, final int n) {
+        toFloat(mask.or(1)).intoArray(sign, n);
+        toFloat(mask.or(1).lanewise(VectorOperators.LSHL, 1)).mul(d1).intoArray(flip0, n);
+        toFloat(IntVector.broadcast(I, -2).sub(mask.lanewise(VectorOperators.LSHL, 2))).mul(d1).sub(1.0f).intoArray(flip1, n);
+    }
+
+    private static void origin3(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(IntVector.fromArray(I, b.nx, n).and(X_PRIME));
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(IntVector.fromArray(I, b.ny, n).and(Y_PRIME));
+            final IntVector pk = IntVector.fromArray(I, b.k, n).add(IntVector.fromArray(I, b.nz, n).and(Z_PRIME));
+            gradientIndex3(seed, pi, pj, pk).intoArray(b.h, n);
+            FloatVector.fromArray(F, b.x0, n).intoArray(b.dx, n);
+            FloatVector.fromArray(F, b.y0, n).intoArray(b.dy, n);
+            FloatVector.fromArray(F, b.z0, n).intoArray(b.dz, n);
+            FloatVector.fromArray(F, b.a0, n).intoArray(b.f, n);
+        }
+    }
+
+    private static void center3(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(X_PRIME);
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(Y_PRIME);
+            final IntVector pk = IntVector.fromArray(I, b.k, n).add(Z_PRIME);
+            gradientIndex3(seed, pi, pj, pk).intoArray(b.h, n);
+            FloatVector.fromArray(F, b.x1, n).intoArray(b.dx, n);
+            FloatVector.fromArray(F, b.y1, n).intoArray(b.dy, n);
+            FloatVector.fromArray(F, b.z1, n).intoArray(b.dz, n);
+            FloatVector.fromArray(F, b.a1, n).intoArray(b.f, n);
+        }
+    }
+
+    // The vertex of the first grid flipped across axis u.
+    private static void flip0(final int seed, final Block b, final int len, final int u) {
+        final float[] fu0 = b.flips0[u];
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector a = FloatVector.fromArray(F, fu0, n).add(FloatVector.fromArray(F, b.a0, n));
+            a.intoArray(b.f, n);
+        }
+        vertex0(seed, b, len, u == 0, u == 1, u == 2);
+    }
+
+    // The vertex of the first grid flipped across both other axes, when flip0 is not used.
+    private static void flipPair0(final int seed, final Block b, final int len, final int u) {
+        final float[] fu0 = b.flips0[u];
+        final float[] fv0 = b.flips0[u == 0 ? 1 : 0];
+        final float[] fw0 = b.flips0[u == 2 ? 1 : 2];
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector a0 = FloatVector.fromArray(F, b.a0, n);
+            final VectorMask<Float> flipped = FloatVector.fromArray(F, fu0, n).add(a0).compare(VectorOperators.GT, 0);
+            final FloatVector a = FloatVector.fromArray(F, fv0, n).add(FloatVector.fromArray(F, fw0, n)).add(a0);
+            a.blend(0, flipped).intoArray(b.f, n);
+        }
+        vertex0(seed, b, len, u != 0, u != 1, u != 2);
+    }
+
+    // The vertex of the second grid flipped across axis u, when flip0 is not used.
+    private static void flip1(final int seed, final Block b, final int len, final int u) {
+        final float[] fu0 = b.flips0[u];
+        final float[] fu1 = b.flips1[u];
+        for (int n = 0; n < len; n += F.length()) {
+            final VectorMask<Float> flipped = FloatVector.fromArray(F, fu0, n)
+                .add(FloatVector.fromArray(F, b.a0, n)).compare(VectorOperators.GT, 0);
+            final FloatVector a = FloatVector.fromArray(F, fu1, n).add(FloatVector.fromArray(F, b.a1, n));
+            a.blend(0, flipped).intoArray(b.f, n);
+        }
+        vertex1(seed, b, len, u == 0, u == 1, u == 2);
+    }
+
+    // The vertex of the second grid flipped across both other axes, when flip1 is not used.
+    private static void flipPair1(final int seed, final Block b, final int len, final int u) {
+        final float[] fu0 = b.flips0[u];
+        final float[] fu1 = b.flips1[u];
+        final float[] fv1 = b.flips1[u == 0 ? 1 : 0];
+        final float[] fw1 = b.flips1[u == 2 ? 1 : 2];
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector a1 = FloatVector.fromArray(F, b.a1, n);
+            final VectorMask<Float> flipped = FloatVector.fromArray(F, fu0, n)
+                .add(FloatVector.fromArray(F, b.a0, n)).compare(VectorOperators.GT, 0);
+            final VectorMask<Float> skip = flipped.not().and(FloatVector.fromArray(F, fu1, n).add(a1).compare(VectorOperators.GT, 0));
+            final FloatVector a = FloatVector.fromArray(F, fv1, n).add(FloatVector.fromArray(F, fw1, n)).add(a1);
+            a.blend(0, skip).intoArray(b.f, n);
+        }
+        vertex1(seed, b, len, u != 0, u != 1, u != 2);
+    }
+
+    // The offset and gradient index of a vertex of the first grid, flipped across each chosen axis.
+    private static void vertex0(final int seed, final Block b, final int len, final boolean x, final boolean y, final boolean z) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector nx = IntVector.fromArray(I, b.nx, n);
+            final IntVector ny = IntVector.fromArray(I, b.ny, n);
+            final IntVector nz = IntVector.fromArray(I, b.nz, n);
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(nx.lanewise(VectorOperators.XOR, x ? -1 : 0).and(X_PRIME));
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(ny.lanewise(VectorOperators.XOR, y ? -1 : 0).and(Y_PRIME));
+            final IntVector pk = IntVector.fromArray(I, b.k, n).add(nz.lanewise(VectorOperators.XOR, z ? -1 : 0).and(Z_PRIME));
+            gradientIndex3(seed, pi, pj, pk).intoArray(b.h, n);
+
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final FloatVector z0 = FloatVector.fromArray(F, b.z0, n);
+            x0.blend(x0.sub(FloatVector.fromArray(F, b.sx, n)), F.maskAll(x)).intoArray(b.dx, n);
+            y0.blend(y0.sub(FloatVector.fromArray(F, b.sy, n)), F.maskAll(y)).intoArray(b.dy, n);
+            z0.blend(z0.sub(FloatVector.fromArray(F, b.sz, n)), F.maskAll(z)).intoArray(b.dz, n);
+        }
+    }
+
+    // The offset and gradient index of a vertex of the second grid, flipped across each chosen axis.
+    private static void vertex1(final int seed, final Block b, final int len, final boolean x, final boolean y, final boolean z) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector nx = IntVector.fromArray(I, b.nx, n);
+            final IntVector ny = IntVector.fromArray(I, b.ny, n);
+            final IntVector nz = IntVector.fromArray(I, b.nz, n);
+            final IntVector pi = IntVector.fromArray(I, b.i, n).add(nx.or(x ? 0 : -1).and(X_PRIME << (x ? 1 : 0)));
+            final IntVector pj = IntVector.fromArray(I, b.j, n).add(ny.or(y ? 0 : -1).and(Y_PRIME << (y ? 1 : 0)));
+            final IntVector pk = IntVector.fromArray(I, b.k, n).add(nz.or(z ? 0 : -1).and(Z_PRIME << (z ? 1 : 0)));
+            gradientIndex3(seed, pi, pj, pk).intoArray(b.h, n);
+
+            final FloatVector x1 = FloatVector.fromArray(F, b.x1, n);
+            final FloatVector y1 = FloatVector.fromArray(F, b.y1, n);
+            final FloatVector z1 = FloatVector.fromArray(F, b.z1, n);
+            x1.blend(FloatVector.fromArray(F, b.sx, n).add(x1), F.maskAll(x)).intoArray(b.dx, n);
+            y1.blend(FloatVector.fromArray(F, b.sy, n).add(y1), F.maskAll(y)).intoArray(b.dy, n);
+            z1.blend(FloatVector.fromArray(F, b.sz, n).add(z1), F.maskAll(z)).intoArray(b.dz, n);
+        }
+    }
+
+    private static void contribute3(final Block b, final int len, final boolean masked) {
+        final VectorMask<Float> optional = F.maskAll(masked);
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector f = FloatVector.fromArray(F, b.f, n);
+            final FloatVector dx = FloatVector.fromArray(F, b.dx, n);
+            final FloatVector dy = FloatVector.fromArray(F, b.dy, n);
+            final FloatVector dz = FloatVector.fromArray(F, b.dz, n);
+            final FloatVector gx = FloatVector.fromArray(F, b.gx, n);
+            final FloatVector gy = FloatVector.fromArray(F, b.gy, n);
+            final FloatVector gz = FloatVector.fromArray(F, b.gz, n);
+            final FloatVector g = dx.mul(gx).add(dy.mul(gy)).add(dz.mul(gz));
+            final FloatVector out = FloatVector.fromArray(F, b.out, n);
+            final VectorMask<Float> skip = f.compare(VectorOperators.GT, 0).not().and(optional);
+            out.add(f.mul(f).mul(f.mul(f)).mul(g)).blend(out, skip).intoArray(b.out, n);
+        }
+    }
+
+    // Scratch space for one block of samples.
+    private static final class Block {
+        final float[] x = new float[BLOCK];
+        final float[] y = new float[BLOCK];
+        final float[] z = new float[BLOCK];
+        final float[] xi = new float[BLOCK];
+        final float[] yi = new float[BLOCK];
+        final float[] zi = new float[BLOCK];
+        final float[] x0 = new float[BLOCK];
+        final float[] y0 = new float[BLOCK];
+        final float[] z0 = new float[BLOCK];
+        final float[] x1 = new float[BLOCK];
+        final float[] y1 = new float[BLOCK];
+        final float[] z1 = new float[BLOCK];
+        final float[] sx = new float[BLOCK];
+        final float[] sy = new float[BLOCK];
+        final float[] sz = new float[BLOCK];
+        final float[] fx0 = new float[BLOCK];
+        final float[] fy0 = new float[BLOCK];
+        final float[] fz0 = new float[BLOCK];
+        final float[] fx1 = new float[BLOCK];
+        final float[] fy1 = new float[BLOCK];
+        final float[] fz1 = new float[BLOCK];
+        final float[][] flips0 = { this.fx0, this.fy0, this.fz0 };
+        final float[][] flips1 = { this.fx1, this.fy1, this.fz1 };
+        final float[] t = new float[BLOCK];
+        final float[] a0 = new float[BLOCK];
+        final float[] a1 = new float[BLOCK];
+        final float[] f = new float[BLOCK];
+        final float[] dx = new float[BLOCK];
+        final float[] dy = new float[BLOCK];
+        final float[] dz = new float[BLOCK];
+        final float[] gx = new float[BLOCK];
+        final float[] gy = new float[BLOCK];
+        final float[] gz = new float[BLOCK];
+        final float[] out = new float[BLOCK];
+        final int[] i = new int[BLOCK];
+        final int[] j = new int[BLOCK];
+        final int[] k = new int[BLOCK];
+        final int[] nx = new int[BLOCK];
+        final int[] ny = new int[BLOCK];
+        final int[] nz = new int[BLOCK];
+        final int[] h = new int[BLOCK];
+    }
+}
@@ -0,0 +1,83 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+
+import personthecat.fastnoise.util.NoiseTables;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradientIndex3;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradients3;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.hash2;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.lookup2;
+
+// Lane-parallel PerlinNoise. Each corner takes three passes: one to hash it,
+// one to read its gradient, and one for the dot product with the offset.
+final class PerlinKernel extends LatticeKernel {
+
+    // NoiseTables#GRAD_2D as x, y pairs.
+    private static final float[] GRAD_2D = new float[16];
+
+    static {
+        for (int h = 0; h < 8; h++) {
+            GRAD_2D[h << 1] = NoiseTables.GRAD_2D[h].x;
+            GRAD_2D[h << 1 | 1] = NoiseTables.GRAD_2D[h].y;
+        }
+    }
+
+    @Override
+    void corners2(final int seed, final Block b, final int len) {
+        for (int c = 0; c < 4; c++) {
+            index2(seed, b, len, c & 1, c >> 1);
+            lookup2(GRAD_2D, b.h, b.gx, b.gy, len);
+            dot2(b, b.v[c], len, c & 1, c >> 1);
+        }
+    }
+
+    @Override
+    void corners3(final int seed, final Block b, final int len) {
+        for (int c = 0; c < 8; c++) {
+            index3(seed, b, len, c & 1, c >> 1 & 1, c >> 2);
+            gradients3(b.h, b.gx, b.gy, b.gz, len);
+            dot3(b, b.v[c], len, c & 1, c >> 1 & 1, c >> 2);
+        }
+    }
+
+    private static void index2(final int seed, final Block b, final int len, final int dx, final int dy) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector x = IntVector.fromArray(I, b.i, n).add(dx);
+            final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+            hash2(seed, x, y).and(7).lanewise(VectorOperators.LSHL, 1).intoArray(b.h, n);
+        }
+    }
+
+    private static void index3(final int seed, final Block b, final int len, final int dx, final int dy, final int dz) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector x = IntVector.fromArray(I, b.i, n).add(dx);
+            final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+            final IntVector z = IntVector.fromArray(I, b.k, n).add(dz);
+            gradientIndex3(seed, x, y, z).intoArray(b.h, n);
+        }
+    }
+
+    // The offset from the far corner on each axis is d - 1.
+    private static void dot2(final Block b, final float[] v, final int len, final int dx, final int dy) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xd = FloatVector.fromArray(F, b.xd, n).sub(dx);
+            final FloatVector yd = FloatVector.fromArray(F, b.yd, n).sub(dy);
+            xd.mul(FloatVector.fromArray(F, b.gx, n)).add(yd.mul(FloatVector.fromArray(F, b.gy, n))).intoArray(v, n);
+        }
+    }
+
+    private static void dot3(final Block b, final float[] v, final int len, final int dx, final int dy, final int dz) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector xd = FloatVector.fromArray(F, b.xd, n).sub(dx);
+            final FloatVector yd = FloatVector.fromArray(F, b.yd, n).sub(dy);
+            final FloatVector zd = FloatVector.fromArray(F, b.zd, n).sub(dz);
+            xd.mul(FloatVector.fromArray(F, b.gx, n)).add(yd.mul(FloatVector.fromArray(F, b.gy, n)))
+                .add(zd.mul(FloatVector.fromArray(F, b.gz, n))).intoArray(v, n);
+        }
+    }
+}
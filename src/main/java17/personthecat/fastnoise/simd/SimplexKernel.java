@@ -0,0 +1,267 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.bits;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.floor;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.toFloat;
+
+import static personthecat.fastnoise.util.NoiseValues.X_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Y_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Z_PRIME;
+
+// Lane-parallel SimplexNoise. Each lane follows the same sequence of float
+// operations as getSingle, with the corner branches replaced by masks.
+//
+// Samples are processed in blocks, one pass per stage of the algorithm, with
+// intermediate values kept in scratch arrays. Each pass is small enough to be
+// compiled without boxing any vectors, which is not true of the whole kernel.
+final class SimplexKernel implements PointKernel {
+    private static final int BLOCK = 256;
+
+    private static final float F2 = (float) (1.0 / 2.0);
+    private static final float G2 = (float) (1.0 / 4.0);
+    private static final float F3 = (float) (1.0 / 3.0);
+    private static final float G3 = (float) (1.0 / 6.0);
+    private static final float G33 = G3 * 3 - 1;
+
+    private static final int ONE = Float.floatToIntBits(1.0F);
+    private static final int NEGATIVE_ONE = Float.floatToIntBits(-1.0F);
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final int count) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            skew2(b, len);
+            origin2(seed, b, len);
+            middle2(seed, b, len);
+            far2(seed, b, len);
+            System.arraycopy(b.out, 0, out, offset + start, len);
+        }
+    }
+
+    @Override
+    public void sample(final int seed, final float[] out, final int offset, final float[] xs, final float[] ys, final float[] zs, final int count) {
+        final Block b = new Block();
+        for (int start = 0; start < count; start += BLOCK) {
+            final int len = Math.min(BLOCK, count - start);
+            System.arraycopy(xs, start, b.x, 0, len);
+            System.arraycopy(ys, start, b.y, 0, len);
+            System.arraycopy(zs, start, b.z, 0, len);
+            skew3(b, len);
+            order3(b, len);
+            origin3(seed, b, len);
+            middle3(seed, b, len, 0, G3);
+            middle3(seed, b, len, 3, F3);
+            far3(seed, b, len);
+            System.arraycopy(b.out, 0, out, offset + start, len);
+        }
+    }
+
+    private static void skew2(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x = FloatVector.fromArray(F, b.x, n);
+            final FloatVector y = FloatVector.fromArray(F, b.y, n);
+            final FloatVector t = x.add(y).mul(F2);
+            floor(x.add(t), b.i, n);
+            floor(y.add(t), b.j, n);
+
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final FloatVector s = toFloat(i.add(j)).mul(G2);
+            final FloatVector x0 = x.sub(toFloat(i).sub(s));
+            final FloatVector y0 = y.sub(toFloat(j).sub(s));
+            x0.intoArray(b.x0, n);
+            y0.intoArray(b.y0, n);
+            bits(x0.compare(VectorOperators.GT, y0)).intoArray(b.order, n);
+        }
+    }
+
+    private static void origin2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            contribution(seed, i, j, x0, y0).intoArray(b.out, n);
+        }
+    }
+
+    private static void middle2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector i1 = IntVector.fromArray(I, b.order, n);
+            final IntVector j1 = i1.lanewise(VectorOperators.XOR, 1);
+            final IntVector i = IntVector.fromArray(I, b.i, n).add(i1);
+            final IntVector j = IntVector.fromArray(I, b.j, n).add(j1);
+            final FloatVector x1 = FloatVector.fromArray(F, b.x0, n).sub(toFloat(i1)).add(G2);
+            final FloatVector y1 = FloatVector.fromArray(F, b.y0, n).sub(toFloat(j1)).add(G2);
+            FloatVector.fromArray(F, b.out, n).add(contribution(seed, i, j, x1, y1)).intoArray(b.out, n);
+        }
+    }
+
+    private static void far2(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector i = IntVector.fromArray(I, b.i, n).add(1);
+            final IntVector j = IntVector.fromArray(I, b.j, n).add(1);
+            final FloatVector x2 = FloatVector.fromArray(F, b.x0, n).sub(1).add(F2);
+            final FloatVector y2 = FloatVector.fromArray(F, b.y0, n).sub(1).add(F2);
+            FloatVector.fromArray(F, b.out, n).add(contribution(seed, i, j, x2, y2)).mul(50).intoArray(b.out, n);
+        }
+    }
+
+    private static FloatVector contribution(final int seed, final IntVector i, final IntVector j, final FloatVector xd, final FloatVector yd) {
+        FloatVector t = FloatVector.broadcast(F, 0.5F).sub(xd.mul(xd)).sub(yd.mul(yd));
+        final VectorMask<Float> outside = t.compare(VectorOperators.LT, 0);
+        t = t.mul(t);
+
+        // GRAD_2D[hash & 7], selecting the bits of each float.
+        final IntVector hash = hash(seed, i.mul(X_PRIME).lanewise(VectorOperators.XOR, j.mul(Y_PRIME)));
+        final VectorMask<Integer> b0 = hash.and(1).compare(VectorOperators.NE, 0);
+        final VectorMask<Integer> axis = hash.and(4).compare(VectorOperators.NE, 0);
+        final IntVector a = IntVector.broadcast(I, NEGATIVE_ONE).blend(ONE, b0);
+        final IntVector b = IntVector.broadcast(I, NEGATIVE_ONE).blend(ONE, hash.and(2).compare(VectorOperators.NE, 0));
+        final FloatVector gx = a.blend(b.blend(0, b0.not()), axis).reinterpretAsFloats();
+        final FloatVector gy = b.blend(b.blend(0, b0), axis).reinterpretAsFloats();
+
+        return t.mul(t).mul(xd.mul(gx).add(yd.mul(gy))).blend(0, outside);
+    }
+
+    private static void skew3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x = FloatVector.fromArray(F, b.x, n);
+            final FloatVector y = FloatVector.fromArray(F, b.y, n);
+            final FloatVector z = FloatVector.fromArray(F, b.z, n);
+            final FloatVector t = x.add(y).add(z).mul(F3);
+            floor(x.add(t), b.i, n);
+            floor(y.add(t), b.j, n);
+            floor(z.add(t), b.k, n);
+
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final IntVector k = IntVector.fromArray(I, b.k, n);
+            final FloatVector s = toFloat(i.add(j).add(k)).mul(G3);
+            x.sub(toFloat(i).sub(s)).intoArray(b.x0, n);
+            y.sub(toFloat(j).sub(s)).intoArray(b.y0, n);
+            z.sub(toFloat(k).sub(s)).intoArray(b.z0, n);
+        }
+    }
+
+    // Packs the offsets of the two middle corners into bits 0-2 and 3-5.
+    private static void order3(final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final FloatVector z0 = FloatVector.fromArray(F, b.z0, n);
+
+            // The branches of getSingle, including their behavior for NaN.
+            final VectorMask<Float> a = x0.compare(VectorOperators.GE, y0);
+            final VectorMask<Float> b1 = y0.compare(VectorOperators.GE, z0);
+            final VectorMask<Float> c1 = x0.compare(VectorOperators.GE, z0);
+            final VectorMask<Float> b2 = y0.compare(VectorOperators.LT, z0);
+            final VectorMask<Float> c2 = x0.compare(VectorOperators.LT, z0);
+            final VectorMask<Float> na = a.not();
+
+            bits(a.and(b1.or(c1)))
+                .or(bits(na.andNot(b2)).lanewise(VectorOperators.LSHL, 1))
+                .or(bits(a.andNot(b1).andNot(c1).or(na.and(b2))).lanewise(VectorOperators.LSHL, 2))
+                .or(bits(a.or(na.andNot(b2).andNot(c2))).lanewise(VectorOperators.LSHL, 3))
+                .or(bits(na.or(b1)).lanewise(VectorOperators.LSHL, 4))
+                .or(bits(a.andNot(b1).or(na.and(b2.or(c2)))).lanewise(VectorOperators.LSHL, 5))
+                .intoArray(b.order, n);
+        }
+    }
+
+    private static void origin3(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector i = IntVector.fromArray(I, b.i, n);
+            final IntVector j = IntVector.fromArray(I, b.j, n);
+            final IntVector k = IntVector.fromArray(I, b.k, n);
+            final FloatVector x0 = FloatVector.fromArray(F, b.x0, n);
+            final FloatVector y0 = FloatVector.fromArray(F, b.y0, n);
+            final FloatVector z0 = FloatVector.fromArray(F, b.z0, n);
+            contribution(seed, i, j, k, x0, y0, z0).intoArray(b.out, n);
+        }
+    }
+
+    // Either middle corner, given the position of its offsets in the packed order.
+    private static void middle3(final int seed, final Block b, final int len, final int shift, final float offset) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector order = IntVector.fromArray(I, b.order, n).lanewise(VectorOperators.LSHR, shift);
+            final IntVector di = order.and(1);
+            final IntVector dj = order.lanewise(VectorOperators.LSHR, 1).and(1);
+            final IntVector dk = order.lanewise(VectorOperators.LSHR, 2).and(1);
+            final IntVector i = IntVector.fromArray(I, b.i, n).add(di);
+            final IntVector j = IntVector.fromArray(I, b.j, n).add(dj);
+            final IntVector k = IntVector.fromArray(I, b.k, n).add(dk);
+            final FloatVector xd = FloatVector.fromArray(F, b.x0, n).sub(toFloat(di)).add(offset);
+            final FloatVector yd = FloatVector.fromArray(F, b.y0, n).sub(toFloat(dj)).add(offset);
+            final FloatVector zd = FloatVector.fromArray(F, b.z0, n).sub(toFloat(dk)).add(offset);
+            FloatVector.fromArray(F, b.out, n).add(contribution(seed, i, j, k, xd, yd, zd)).intoArray(b.out, n);
+        }
+    }
+
+    private static void far3(final int seed, final Block b, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector i = IntVector.fromArray(I, b.i, n).add(1);
+            final IntVector j = IntVector.fromArray(I, b.j, n).add(1);
+            final IntVector k = IntVector.fromArray(I, b.k, n).add(1);
+            final FloatVector x3 = FloatVector.fromArray(F, b.x0, n).add(G33);
+            final FloatVector y3 = FloatVector.fromArray(F, b.y0, n).add(G33);
+            final FloatVector z3 = FloatVector.fromArray(F, b.z0, n).add(G33);
+            FloatVector.fromArray(F, b.out, n).add(contribution(seed, i, j, k, x3, y3, z3)).mul(32).intoArray(b.out, n);
+        }
+    }
+
+    private static FloatVector contribution(final int seed, final IntVector i, final IntVector j, final IntVector k,
+            final FloatVector xd, final FloatVector yd, final FloatVector zd) {
+        FloatVector t = FloatVector.broadcast(F, 0.6F).sub(xd.mul(xd)).sub(yd.mul(yd)).sub(zd.mul(zd));
+        final VectorMask<Float> outside = t.compare(VectorOperators.LT, 0);
+        t = t.mul(t);
+
+        final IntVector hash = hash(seed, i.mul(X_PRIME)
+            .lanewise(VectorOperators.XOR, j.mul(Y_PRIME))
+            .lanewise(VectorOperators.XOR, k.mul(Z_PRIME)));
+        // GRAD_3D[hash & 15]. Each gradient is a signed pair of axes, u and v.
+        final IntVector h = hash.and(15);
+        final IntVector a = IntVector.broadcast(I, ONE).blend(NEGATIVE_ONE, h.and(1).compare(VectorOperators.NE, 0));
+        final IntVector b = IntVector.broadcast(I, ONE).blend(NEGATIVE_ONE, h.and(2).compare(VectorOperators.NE, 0));
+        final VectorMask<Integer> uX = h.compare(VectorOperators.LT, 8);
+        final VectorMask<Integer> vY = h.compare(VectorOperators.LT, 4);
+        final VectorMask<Integer> vX = h.and(13).compare(VectorOperators.EQ, 12);
+        final FloatVector gx = IntVector.zero(I).blend(b, vX).blend(a, uX).reinterpretAsFloats();
+        final FloatVector gy = IntVector.zero(I).blend(a, uX.not()).blend(b, vY).reinterpretAsFloats();
+        final FloatVector gz = b.blend(0, vY.or(vX)).reinterpretAsFloats();
+
+        return t.mul(t).mul(xd.mul(gx).add(yd.mul(gy)).add(zd.mul(gz))).blend(0, outside);
+    }
+
+    // Equivalent to NoiseUtils#hash2 and hash3 given the primed coordinates already mixed together.
+    private static IntVector hash(final int seed, final IntVector primes) {
+        IntVector hash = primes.lanewise(VectorOperators.XOR, seed);
+        hash = hash.mul(hash).mul(hash).mul(60493);
+        return hash.lanewise(VectorOperators.ASHR, 13).lanewise(VectorOperators.XOR, hash);
+    }
+
+    // Scratch space for one block of samples.
+    private static final class Block {
+        final float[] x = new float[BLOCK];
+        final float[] y = new float[BLOCK];
+        final float[] z = new float[BLOCK];
+        final float[] x0 = new float[BLOCK];
+        final float[] y0 = new float[BLOCK];
+        final float[] z0 = new float[BLOCK];
+        final float[] out = new float[BLOCK];
+        final int[] i = new int[BLOCK];
+        final int[] j = new int[BLOCK];
+        final int[] k = new int[BLOCK];
+        final int[] order = new int[BLOCK];
+    }
+}
@@ -0,0 +1,43 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.IntVector;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.value2;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.value3;
+
+// Lane-parallel ValueNoise. Corners are evaluated two at a time, along x.
+final class ValueKernel extends LatticeKernel {
+
+    @Override
+    void corners2(final int seed, final Block b, final int len) {
+        for (int dy = 0; dy < 2; dy++) {
+            final float[] v0 = b.v[dy * 2];
+            final float[] v1 = b.v[dy * 2 + 1];
+            for (int n = 0; n < len; n += F.length()) {
+                final IntVector x = IntVector.fromArray(I, b.i, n);
+                final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+                value2(seed, x, y).intoArray(v0, n);
+                value2(seed, x.add(1), y).intoArray(v1, n);
+            }
+        }
+    }
+
+    @Override
+    void corners3(final int seed, final Block b, final int len) {
+        for (int c = 0; c < 8; c += 2) {
+            final int dy = c >> 1 & 1;
+            final int dz = c >> 2;
+            final float[] v0 = b.v[c];
+            final float[] v1 = b.v[c + 1];
+            for (int n = 0; n < len; n += F.length()) {
+                final IntVector x = IntVector.fromArray(I, b.i, n);
+                final IntVector y = IntVector.fromArray(I, b.j, n).add(dy);
+                final IntVector z = IntVector.fromArray(I, b.k, n).add(dz);
+                value3(seed, x, y, z).intoArray(v0, n);
+                value3(seed, x.add(1), y, z).intoArray(v1, n);
+            }
+        }
+    }
+}
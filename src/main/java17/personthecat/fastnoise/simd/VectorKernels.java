@@ -0,0 +1,75 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+
+import personthecat.fastnoise.data.DistanceType;
+
+// Loaded by VectorSupport when the Vector API is present.
+public class VectorKernels implements SimdKernels {
+    private static final PointKernel SIMPLEX = new SimplexKernel();
+    private static final PointKernel OPEN_SIMPLEX_2 = new OpenSimplex2Kernel();
+    private static final PointKernel OPEN_SIMPLEX_2S = new OpenSimplex2SKernel();
+    private static final PointKernel PERLIN = new PerlinKernel();
+    private static final PointKernel VALUE = new ValueKernel();
+    private static final PointKernel CUBIC = new CubicKernel();
+
+    public VectorKernels() {
+        // Fail here if the incubator module is not available
+        if (FloatVector.SPECIES_PREFERRED.length() != IntVector.SPECIES_PREFERRED.length()) {
+            throw new UnsupportedOperationException("Mismatched species");
+        }
+    }
+
+    @Override
+    public int width() {
+        return FloatVector.SPECIES_PREFERRED.length();
+    }
+
+    @Override
+    public PointKernel simplex() {
+        return SIMPLEX;
+    }
+
+    @Override
+    public PointKernel openSimplex2() {
+        return OPEN_SIMPLEX_2;
+    }
+
+    @Override
+    public PointKernel openSimplex2S() {
+        return OPEN_SIMPLEX_2S;
+    }
+
+    @Override
+    public PointKernel perlin() {
+        return PERLIN;
+    }
+
+    @Override
+    public PointKernel value() {
+        return VALUE;
+    }
+
+    @Override
+    public PointKernel cubic() {
+        return CUBIC;
+    }
+
+    @Override
+    public CellularSearch cellular(final DistanceType distance, final float jitterX, final float jitterY, final float jitterZ) {
+        return new CellularKernel(distance, jitterX, jitterY, jitterZ);
+    }
+
+    @Override
+    public WarpKernel basicGrid(final float frequencyX, final float frequencyY, final float frequencyZ,
+                                final float amplitudeX, final float amplitudeY, final float amplitudeZ) {
+        return new BasicGridKernel(frequencyX, frequencyY, frequencyZ, amplitudeX, amplitudeY, amplitudeZ);
+    }
+
+    @Override
+    public WarpKernel simplex2Reduced(final float frequencyX, final float frequencyY, final float frequencyZ,
+                                      final float amplitudeX, final float amplitudeY, final float amplitudeZ) {
+        return new Simplex2ReducedKernel(frequencyX, frequencyY, frequencyZ, amplitudeX, amplitudeY, amplitudeZ);
+    }
+}
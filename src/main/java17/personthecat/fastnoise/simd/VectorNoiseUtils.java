@@ -0,0 +1,251 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static personthecat.fastnoise.util.NoiseTables.GRAD_2DL;
+import static personthecat.fastnoise.util.NoiseUtils.fastFloor;
+import static personthecat.fastnoise.util.NoiseUtils.fastRound;
+import static personthecat.fastnoise.util.NoiseValues.X_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Y_PRIME;
+import static personthecat.fastnoise.util.NoiseValues.Z_PRIME;
+
+/**
+ * Lane-wise equivalents of the hashing primitives in NoiseUtils, shared by the
+ * kernels and usable by any other code running on the Vector API. Each lane of
+ * the result is bit-identical to the scalar method given the same lane of each
+ * argument. Every vector is expected to be of {@link #F} or {@link #I}.
+ */
+public final class VectorNoiseUtils {
+    public static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+    public static final VectorSpecies<Integer> I = IntVector.SPECIES_PREFERRED;
+
+    // Float to int conversions are not intrinsified for every species, so values
+    // are rounded by adding this instead. Lanes outside of the range where this
+    // is exact, including NaN, are converted one at a time.
+    private static final float ROUND = 12582912.0F;
+    private static final int ROUND_BITS = Float.floatToIntBits(ROUND);
+    private static final float LIMIT = 4194304.0F;
+    private static final float ONE_BITS = Float.intBitsToFloat(1);
+
+    private static final int ONE = Float.floatToIntBits(1.0F);
+    private static final int NEGATIVE_ONE = Float.floatToIntBits(-1.0F);
+
+    private VectorNoiseUtils() {}
+
+    /** Equivalent to NoiseUtils#hash2. */
+    public static IntVector hash2(final int seed, final IntVector x, final IntVector y) {
+        return finish(x.mul(X_PRIME).lanewise(VectorOperators.XOR, y.mul(Y_PRIME)).lanewise(VectorOperators.XOR, seed));
+    }
+
+    /** Equivalent to NoiseUtils#hash3. */
+    public static IntVector hash3(final int seed, final IntVector x, final IntVector y, final IntVector z) {
+        return finish(x.mul(X_PRIME).lanewise(VectorOperators.XOR, y.mul(Y_PRIME))
+            .lanewise(VectorOperators.XOR, z.mul(Z_PRIME)).lanewise(VectorOperators.XOR, seed));
+    }
+
+    /** Equivalent to NoiseUtils#value2. */
+    public static FloatVector value2(final int seed, final IntVector x, final IntVector y) {
+        return value(x.mul(X_PRIME).lanewise(VectorOperators.XOR, y.mul(Y_PRIME)).lanewise(VectorOperators.XOR, seed));
+    }
+
+    /** Equivalent to NoiseUtils#value3. */
+    public static FloatVector value3(final int seed, final IntVector x, final IntVector y, final IntVector z) {
+        return value(x.mul(X_PRIME).lanewise(VectorOperators.XOR, y.mul(Y_PRIME))
+            .lanewise(VectorOperators.XOR, z.mul(Z_PRIME)).lanewise(VectorOperators.XOR, seed));
+    }
+
+    /** Equivalent to NoiseUtils#gradient2L. The gradients are gathered from GRAD_2DL. */
+    public static FloatVector gradient2L(final int seed, final IntVector xPrimed, final IntVector yPrimed, final FloatVector xd, final FloatVector yd) {
+        final IntVector index = gradientIndex2L(seed, xPrimed, yPrimed);
+        return xd.mul(gather(GRAD_2DL, index)).add(yd.mul(gather(GRAD_2DL, index.or(1))));
+    }
+
+    /**
+     * Equivalent to NoiseUtils#gradient3L. GRAD_3DL only contains the 12 edges of a
+     * cube, so the gradients are selected with masks instead of being loaded.
+     */
+    public static FloatVector gradient3L(final int seed, final IntVector xPrimed, final IntVector yPrimed, final IntVector zPrimed,
+            final FloatVector xd, final FloatVector yd, final FloatVector zd) {
+        final IntVector edge = edge3L(gradientIndex3L(seed, xPrimed, yPrimed, zPrimed));
+        return xd.mul(edgeX(edge)).add(yd.mul(edgeY(edge))).add(zd.mul(edgeZ(edge)));
+    }
+
+    /** Lane n is table[index[n]], e.g. for looking up CELL_2DL or CELL_3DL. */
+    public static FloatVector gather(final float[] table, final IntVector index) {
+        return FloatVector.fromArray(F, table, 0, index.toArray(), 0);
+    }
+
+    private static IntVector finish(IntVector hash) {
+        hash = hash.mul(hash).mul(hash).mul(60493);
+        return hash.lanewise(VectorOperators.ASHR, 13).lanewise(VectorOperators.XOR, hash);
+    }
+
+    private static FloatVector value(final IntVector n) {
+        return toFloat(n.mul(n).mul(n).mul(60493)).div(2147483648.0F);
+    }
+
+    // The edge of GRAD_3DL[index]. The first 60 entries repeat edges 0 to 11 and
+    // the last 4 are edges 8, 1, 9 and 3.
+    private static IntVector edge3L(final IntVector index) {
+        final IntVector e = index.lanewise(VectorOperators.LSHR, 2);
+        final IntVector r = e.sub(60);
+        // e % 12 for any e below 64
+        final IntVector edge = e.sub(e.mul(43).lanewise(VectorOperators.LSHR, 9).mul(12));
+        final IntVector last = r.lanewise(VectorOperators.LSHR, 1).add(8).blend(r, r.and(1).compare(VectorOperators.NE, 0));
+        return edge.blend(last, e.compare(VectorOperators.GE, 60));
+    }
+
+    // Edges 0-3 are (0, +-1, +-1), 4-7 are (+-1, 0, +-1) and 8-11 are (+-1, +-1, 0),
+    // where bit 0 is the sign of the first axis and bit 1 the sign of the second.
+    private static FloatVector edgeX(final IntVector edge) {
+        return sign(edge, 1).blend(0, edge.compare(VectorOperators.LT, 4)).reinterpretAsFloats();
+    }
+
+    private static FloatVector edgeY(final IntVector edge) {
+        return IntVector.zero(I).blend(sign(edge, 2), edge.compare(VectorOperators.GE, 8))
+            .blend(sign(edge, 1), edge.compare(VectorOperators.LT, 4)).reinterpretAsFloats();
+    }
+
+    private static FloatVector edgeZ(final IntVector edge) {
+        return sign(edge, 2).blend(0, edge.compare(VectorOperators.GE, 8)).reinterpretAsFloats();
+    }
+
+    private static IntVector sign(final IntVector edge, final int bit) {
+        return IntVector.broadcast(I, ONE).blend(NEGATIVE_ONE, edge.and(bit).compare(VectorOperators.NE, 0));
+    }
+
+    // Equivalent to NoiseUtils#fastFloor, which also subtracts 1 from negative integers.
+    static void floor(final FloatVector f, final int[] out, final int n) {
+        if (!f.abs().compare(VectorOperators.LT, LIMIT).allTrue()) {
+            for (int lane = 0; lane < F.length(); lane++) {
+                out[n + lane] = fastFloor(f.lane(lane));
+            }
+            return;
+        }
+        final FloatVector r = f.add(ROUND).sub(ROUND);
+        final VectorMask<Float> down = r.compare(VectorOperators.GT, f)
+            .or(f.compare(VectorOperators.LT, 0).and(r.compare(VectorOperators.EQ, f)));
+        r.sub(FloatVector.zero(F).blend(1, down)).add(ROUND).reinterpretAsInts().sub(ROUND_BITS).intoArray(out, n);
+    }
+
+    // Equivalent to NoiseUtils#fastRound.
+    static void round(final FloatVector f, final int[] out, final int n) {
+        if (!f.abs().compare(VectorOperators.LT, LIMIT).allTrue()) {
+            for (int lane = 0; lane < F.length(); lane++) {
+                out[n + lane] = fastRound(f.lane(lane));
+            }
+            return;
+        }
+        final VectorMask<Float> positive = f.compare(VectorOperators.GE, 0);
+        final FloatVector g = f.sub(0.5F).blend(f.add(0.5F), positive);
+        final FloatVector r = g.add(ROUND).sub(ROUND);
+        final VectorMask<Float> down = positive.and(r.compare(VectorOperators.GT, g));
+        final VectorMask<Float> up = positive.not().and(r.compare(VectorOperators.LT, g));
+        r.sub(FloatVector.zero(F).blend(1, down)).add(FloatVector.zero(F).blend(1, up))
+            .add(ROUND).reinterpretAsInts().sub(ROUND_BITS).intoArray(out, n);
+    }
+
+    // Equivalent to (int) f for each lane, where the result is known to be -1 or 0
+    // whenever f is in (-2, 1). This is how the OpenSimplex2 generators find the
+    // direction of each axis.
+    static void truncateUnit(final FloatVector f, final int[] out, final int n) {
+        if (!f.compare(VectorOperators.GT, -2).and(f.compare(VectorOperators.LT, 1)).allTrue()) {
+            for (int lane = 0; lane < F.length(); lane++) {
+                out[n + lane] = (int) f.lane(lane);
+            }
+            return;
+        }
+        IntVector.zero(I).sub(bits(f.compare(VectorOperators.LE, -1))).intoArray(out, n);
+    }
+
+    // Equivalent to NoiseUtils#interpolateHermite.
+    static FloatVector interpolateHermite(final FloatVector t) {
+        return t.mul(t).mul(FloatVector.broadcast(F, 3).sub(t.mul(2)));
+    }
+
+    // Equivalent to NoiseUtils#lerp.
+    static FloatVector lerp(final FloatVector a, final FloatVector b, final FloatVector t) {
+        return a.add(t.mul(b.sub(a)));
+    }
+
+    // Equivalent to NoiseUtils#cubicLerp.
+    static FloatVector cubicLerp(final FloatVector a, final FloatVector b, final FloatVector c, final FloatVector d, final FloatVector t) {
+        final FloatVector p = d.sub(c).sub(a.sub(b));
+        return t.mul(t).mul(t).mul(p).add(t.mul(t).mul(a.sub(b).sub(p))).add(t.mul(c.sub(a))).add(b);
+    }
+
+    static FloatVector toFloat(final IntVector i) {
+        return (FloatVector) i.convert(VectorOperators.I2F, 0);
+    }
+
+    // 1 where the mask is set, otherwise 0.
+    static IntVector bits(final VectorMask<Float> m) {
+        return FloatVector.zero(F).blend(ONE_BITS, m).reinterpretAsInts();
+    }
+
+    // Index of NoiseUtils#gradient3 in GRAD_3D.
+    static IntVector gradientIndex3(final int seed, final IntVector x, final IntVector y, final IntVector z) {
+        return hash3(seed, x, y, z).and(15);
+    }
+
+    // Index of NoiseUtils#gradient2L in GRAD_2DL, given primed coordinates.
+    static IntVector gradientIndex2L(final int seed, final IntVector x, final IntVector y) {
+        final IntVector hash = x.lanewise(VectorOperators.XOR, y).lanewise(VectorOperators.XOR, seed).mul(0x27d4eb2d);
+        return hash.lanewise(VectorOperators.ASHR, 15).lanewise(VectorOperators.XOR, hash).and(127 << 1);
+    }
+
+    // Index of NoiseUtils#gradient3L in GRAD_3DL, given primed coordinates.
+    static IntVector gradientIndex3L(final int seed, final IntVector x, final IntVector y, final IntVector z) {
+        final IntVector hash = x.lanewise(VectorOperators.XOR, y).lanewise(VectorOperators.XOR, z)
+            .lanewise(VectorOperators.XOR, seed).mul(0x27d4eb2d);
+        return hash.lanewise(VectorOperators.ASHR, 15).lanewise(VectorOperators.XOR, hash).and(63 << 2);
+    }
+
+    // Reads the vector at each index, one lane at a time. In a pass over a whole
+    // block, this is no slower than a gather and avoids allocating index arrays.
+    static void lookup2(final float[] table, final int[] index, final float[] gx, final float[] gy, final int len) {
+        for (int n = 0; n < len; n++) {
+            final int h = index[n];
+            gx[n] = table[h];
+            gy[n] = table[h | 1];
+        }
+    }
+
+    static void lookup3(final float[] table, final int[] index, final float[] gx, final float[] gy, final float[] gz, final int len) {
+        for (int n = 0; n < len; n++) {
+            final int h = index[n];
+            gx[n] = table[h];
+            gy[n] = table[h | 1];
+            gz[n] = table[h | 2];
+        }
+    }
+
+    // GRAD_3D[index] for each index, selected the same way as SimplexKernel.
+    static void gradients3(final int[] index, final float[] gx, final float[] gy, final float[] gz, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector h = IntVector.fromArray(I, index, n);
+            final IntVector a = sign(h, 1);
+            final IntVector b = sign(h, 2);
+            final VectorMask<Integer> uX = h.compare(VectorOperators.LT, 8);
+            final VectorMask<Integer> vY = h.compare(VectorOperators.LT, 4);
+            final VectorMask<Integer> vX = h.and(13).compare(VectorOperators.EQ, 12);
+            IntVector.zero(I).blend(b, vX).blend(a, uX).reinterpretAsFloats().intoArray(gx, n);
+            IntVector.zero(I).blend(a, uX.not()).blend(b, vY).reinterpretAsFloats().intoArray(gy, n);
+            b.blend(0, vY.or(vX)).reinterpretAsFloats().intoArray(gz, n);
+        }
+    }
+
+    // GRAD_3DL[index] for each index.
+    static void gradients3L(final int[] index, final float[] gx, final float[] gy, final float[] gz, final int len) {
+        for (int n = 0; n < len; n += F.length()) {
+            final IntVector edge = edge3L(IntVector.fromArray(I, index, n));
+            edgeX(edge).intoArray(gx, n);
+            edgeY(edge).intoArray(gy, n);
+            edgeZ(edge).intoArray(gz, n);
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package personthecat.fastnoise.generator;
+
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
+import personthecat.fastnoise.data.DistanceType;
+import personthecat.fastnoise.data.FractalType;
+import personthecat.fastnoise.data.MultiType;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.data.ReturnType;
+import personthecat.fastnoise.data.WarpType;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static personthecat.fastnoise.util.NoiseUtils.value2;
+import static personthecat.fastnoise.util.NoiseUtils.value3;
+
+// Compares the scalar bulk methods of every generator with getNoise and getSingle
+// over random settings, seeds and coordinates, including coordinates too spread
+// out or too large for their lookup tables. Results must be bit-identical. The
+// vector kernels are disabled unless a backend is chosen explicitly; see
+// KernelEquivalenceTest for those. WhiteNoise#fillCells hashes integer cells,
+// where getSingle hashes the bits of its float coordinates, so its cells are
+// compared with value2 and value3 instead.
+public class BulkEquivalenceTest {
+    private static final NoiseType[] TYPES = {
+        NoiseType.VALUE, NoiseType.PERLIN, NoiseType.SIMPLEX, NoiseType.SIMPLEX2, NoiseType.SIMPLEX2S,
+        NoiseType.CELLULAR, NoiseType.WHITE, NoiseType.CUBIC, NoiseType.FRACTAL, NoiseType.WARPED, NoiseType.MULTI
+    };
+    private static final NoiseType[] BASIC_TYPES = {
+        NoiseType.VALUE, NoiseType.PERLIN, NoiseType.SIMPLEX, NoiseType.SIMPLEX2,
+        NoiseType.SIMPLEX2S, NoiseType.CELLULAR, NoiseType.CUBIC
+    };
+    private static final int NUM_TESTS = 100;
+    private static final int MAX_POINTS = 300;
+    private static final int MAX_GRID = 20;
+    private static final int MAX_ERRORS = 10;
+    private static final float[] LARGE = {
+        2.147e9F, 2.1474836E9F, 2.2e9F, 3e9F, 1e10F, 1e20F, Float.MAX_VALUE, Float.POSITIVE_INFINITY
+    };
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        if (System.getProperty("personthecat.fastnoise.backend") == null) {
+            System.setProperty("personthecat.fastnoise.backend", "scalar");
+        }
+        for (final NoiseType type : TYPES) {
+            for (int i = 0; i < NUM_TESTS; i++) {
+                final FastNoise noise = createGenerator(type).build();
+                testGrids(noise);
+                testPoints(noise);
+                testSingle(noise, RAND.nextInt());
+                testExtremes(noise, RAND.nextInt());
+            }
+        }
+        for (int i = 0; i < NUM_TESTS; i++) {
+            final int seed = RAND.nextInt();
+            testCells(new WhiteNoise(seed), seed);
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static NoiseBuilder createGenerator(final NoiseType type) {
+        final NoiseBuilder builder = FastNoise.builder()
+            .type(type)
+            .seed(RAND.nextInt())
+            .frequency(RAND.nextFloat() * 0.5F)
+            .offset((RAND.nextFloat() - 0.5F) * 100)
+            .range(RAND.nextFloat() * -10, RAND.nextFloat() * 10);
+        switch (type) {
+            case CELLULAR:
+                builder.distance(DistanceType.values()[RAND.nextInt(DistanceType.values().length)])
+                    .distanceFunction((x, y) -> x * x + Math.abs(y))
+                    .distanceFunction((x, y, z) -> x * x + Math.abs(y) + z * z)
+                    .cellularReturn(ReturnType.values()[RAND.nextInt(ReturnType.values().length)])
+                    .returnFunction((x, y, d, d2, d3) -> d3 - d + x)
+                    .returnFunction((x, y, z, d, d2, d3) -> d2 - d + z)
+                    .jitter(RAND.nextFloat() * 2)
+                    .noiseLookup(FastNoise.builder().type(NoiseType.SIMPLEX).seed(RAND.nextInt()));
+                break;
+            case FRACTAL:
+                builder.reference(basicGenerator())
+                    .fractal(FractalType.values()[RAND.nextInt(FractalType.NONE.ordinal())])
+                    .fractalFunction(f -> f * f)
+                    .fractal(FractalType.values()[RAND.nextInt(FractalType.NONE.ordinal())])
+                    .octaves(RAND.nextInt(8) + 1)
+                    .gain(RAND.nextFloat())
+                    .lacunarity(RAND.nextFloat() * 4)
+                    .pingPongStrength(RAND.nextFloat() * 4);
+                break;
+            case WARPED:
+                builder.type(BASIC_TYPES[RAND.nextInt(BASIC_TYPES.length)])
+                    .warp(WarpType.values()[RAND.nextInt(WarpType.NONE.ordinal())])
+                    .warpAmplitude(RAND.nextFloat() * 100)
+                    .warpFrequency(RAND.nextFloat())
+                    .noiseLookup(FastNoise.builder().type(NoiseType.PERLIN).seed(RAND.nextInt()));
+                break;
+            case MULTI:
+                final NoiseBuilder[] references = new NoiseBuilder[RAND.nextInt(3) + 1];
+                for (int i = 0; i < references.length; i++) {
+                    references[i] = basicGenerator();
+                }
+                builder.references(references);
+                if (RAND.nextBoolean()) {
+                    builder.multiFunction((x, y, z, generators) -> generators[0].getNoise(z, y, x));
+                } else {
+                    builder.multiFunction(output -> output[0] - output[output.length - 1] * 0.5F);
+                }
+                builder.multi(MultiType.values()[RAND.nextInt(MultiType.values().length)]);
+                break;
+            default:
+                break;
+        }
+        if (RAND.nextInt(4) == 0) {
+            builder.scaleFunction(n -> n * n * n + 0.5F);
+        }
+        return builder;
+    }
+
+    private static NoiseBuilder basicGenerator() {
+        return FastNoise.builder()
+            .type(BASIC_TYPES[RAND.nextInt(BASIC_TYPES.length)])
+            .seed(RAND.nextInt())
+            .frequency(RAND.nextFloat() * 2)
+            .offset((RAND.nextFloat() - 0.5F) * 100);
+    }
+
+    private static void testGrids(final FastNoise noise) {
+        final int width = RAND.nextInt(MAX_GRID) + 1;
+        final int height = RAND.nextInt(MAX_GRID) + 1;
+        final int depth = RAND.nextInt(MAX_GRID) + 1;
+        final float x = randomCoord();
+        final float y = randomCoord();
+        final float z = randomCoord();
+        final float step = RAND.nextFloat() * 4;
+
+        final float[] out = new float[width * height];
+        final float[] scaled = new float[width * height];
+        noise.fillNoise(out, x, y, width, height, step);
+        noise.fillNoiseScaled(scaled, x, y, width, height, step);
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final float px = x + i * step;
+                final float py = y + j * step;
+                check(noise, noise.getNoise(px, py), out[j * width + i], "fillNoise 2D");
+                check(noise, noise.getNoiseScaled(px, py), scaled[j * width + i], "fillNoiseScaled 2D");
+            }
+        }
+
+        final AxisOrder order = AxisOrder.values()[RAND.nextInt(AxisOrder.values().length)];
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final float[] out3 = new float[width * height * depth];
+        final float[] scaled3 = new float[width * height * depth];
+        noise.fillNoise(out3, x, y, z, width, height, depth, step, order);
+        noise.fillNoiseScaled(scaled3, x, y, z, width, height, depth, step, order);
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    final float px = x + i * step;
+                    final float py = y + j * step;
+                    final float pz = z + k * step;
+                    final int index = i * sx + j * sy + k * sz;
+                    check(noise, noise.getNoise(px, py, pz), out3[index], "fillNoise " + order);
+                    check(noise, noise.getNoiseScaled(px, py, pz), scaled3[index], "fillNoiseScaled " + order);
+                }
+            }
+        }
+    }
+
+    private static void testPoints(final FastNoise noise) {
+        final int count = RAND.nextInt(MAX_POINTS) + 1;
+        final float[] xs = randomCoords(count);
+        final float[] ys = randomCoords(count);
+        final float[] zs = randomCoords(count);
+        final float[] out = new float[count];
+        final float[] out3 = new float[count];
+        final float[] scaled = new float[count];
+        final float[] scaled3 = new float[count];
+        noise.sampleNoise(out, xs, ys);
+        noise.sampleNoise(out3, xs, ys, zs);
+        noise.sampleNoiseScaled(scaled, xs, ys);
+        noise.sampleNoiseScaled(scaled3, xs, ys, zs);
+        for (int i = 0; i < count; i++) {
+            check(noise, noise.getNoise(xs[i], ys[i]), out[i], "sampleNoise 2D");
+            check(noise, noise.getNoise(xs[i], ys[i], zs[i]), out3[i], "sampleNoise 3D");
+            check(noise, noise.getNoiseScaled(xs[i], ys[i]), scaled[i], "sampleNoiseScaled 2D");
+            check(noise, noise.getNoiseScaled(xs[i], ys[i], zs[i]), scaled3[i], "sampleNoiseScaled 3D");
+        }
+
+        // Samples outside of the range must not be written.
+        final int offset = RAND.nextInt(count);
+        final int length = RAND.nextInt(count - offset + 1);
+        final float sentinel = Float.intBitsToFloat(0x7fc0dead);
+        Arrays.fill(out, sentinel);
+        Arrays.fill(out3, sentinel);
+        Arrays.fill(scaled, sentinel);
+        Arrays.fill(scaled3, sentinel);
+        noise.sampleNoise(out, xs, ys, offset, length);
+        noise.sampleNoise(out3, xs, ys, zs, offset, length);
+        noise.sampleNoiseScaled(scaled, xs, ys, offset, length);
+        noise.sampleNoiseScaled(scaled3, xs, ys, zs, offset, length);
+        for (int i = 0; i < count; i++) {
+            final boolean inside = i >= offset && i < offset + length;
+            check(noise, inside ? noise.getNoise(xs[i], ys[i]) : sentinel, out[i], "sampleNoise 2D range");
+            check(noise, inside ? noise.getNoise(xs[i], ys[i], zs[i]) : sentinel, out3[i], "sampleNoise 3D range");
+            check(noise, inside ? noise.getNoiseScaled(xs[i], ys[i]) : sentinel, scaled[i], "sampleNoiseScaled 2D range");
+            check(noise, inside ? noise.getNoiseScaled(xs[i], ys[i], zs[i]) : sentinel, scaled3[i], "sampleNoiseScaled 3D range");
+        }
+    }
+
+    // Axes are either evenly spaced, as from fillNoise, or in any order.
+    private static void testSingle(final FastNoise noise, final int seed) {
+        final float[] xs = RAND.nextBoolean() ? randomAxis() : randomCoords(RAND.nextInt(MAX_GRID) + 1);
+        final float[] ys = RAND.nextBoolean() ? randomAxis() : randomCoords(RAND.nextInt(MAX_GRID) + 1);
+        final float[] zs = RAND.nextBoolean() ? randomAxis() : randomCoords(RAND.nextInt(MAX_GRID) + 1);
+        final float[] out = new float[xs.length * ys.length];
+        noise.fillSingle(seed, out, xs, ys);
+        for (int j = 0; j < ys.length; j++) {
+            for (int i = 0; i < xs.length; i++) {
+                check(noise, noise.getSingle(seed, xs[i], ys[j]), out[j * xs.length + i], "fillSingle 2D");
+            }
+        }
+        final AxisOrder order = AxisOrder.values()[RAND.nextInt(AxisOrder.values().length)];
+        final int sx = order.strideX(xs.length, ys.length, zs.length);
+        final int sy = order.strideY(xs.length, ys.length, zs.length);
+        final int sz = order.strideZ(xs.length, ys.length, zs.length);
+        final float[] out3 = new float[xs.length * ys.length * zs.length];
+        noise.fillSingle(seed, out3, xs, ys, zs, order);
+        for (int k = 0; k < zs.length; k++) {
+            for (int j = 0; j < ys.length; j++) {
+                for (int i = 0; i < xs.length; i++) {
+                    check(noise, noise.getSingle(seed, xs[i], ys[j], zs[k]), out3[i * sx + j * sy + k * sz], "fillSingle " + order);
+                }
+            }
+        }
+        testSample(noise, seed, randomCoords(xs.length), randomCoords(xs.length), randomCoords(xs.length), "random");
+    }
+
+    private static void testExtremes(final FastNoise noise, final int seed) {
+        testSample(noise, seed, denseCoords(), denseCoords(), denseCoords(), "dense");
+        testSample(noise, seed, spreadCoords(), spreadCoords(), spreadCoords(), "spread");
+        testSample(noise, seed, largeCoords(), denseCoords(), denseCoords(), "large x");
+        testSample(noise, seed, denseCoords(), largeCoords(), denseCoords(), "large y");
+        testSample(noise, seed, denseCoords(), denseCoords(), largeCoords(), "large z");
+    }
+
+    private static void testSample(final FastNoise noise, final int seed, final float[] xs, final float[] ys, final float[] zs, final String coords) {
+        final float[] out = new float[xs.length];
+        final float[] out3 = new float[xs.length];
+        try {
+            noise.sampleSingle(seed, out, xs, ys);
+            noise.sampleSingle(seed, out3, xs, ys, zs);
+        } catch (final RuntimeException e) {
+            fail("sampleSingle (" + coords + ") threw " + e, noise);
+            return;
+        }
+        for (int i = 0; i < xs.length; i++) {
+            check(noise, noise.getSingle(seed, xs[i], ys[i]), out[i], "sampleSingle 2D (" + coords + ")");
+            check(noise, noise.getSingle(seed, xs[i], ys[i], zs[i]), out3[i], "sampleSingle 3D (" + coords + ")");
+        }
+    }
+
+    // The int cells are the raw hash, which converts to the same float.
+    private static void testCells(final WhiteNoise noise, final int seed) {
+        final int width = RAND.nextInt(MAX_GRID) + 1;
+        final int height = RAND.nextInt(MAX_GRID) + 1;
+        final int depth = RAND.nextInt(MAX_GRID) + 1;
+        final int x = randomCell();
+        final int y = randomCell();
+        final int z = randomCell();
+
+        final int[] cells = new int[width * height];
+        final float[] out = new float[width * height];
+        noise.fillCells(cells, x, y, width, height);
+        noise.fillCells(out, x, y, width, height);
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final int index = j * width + i;
+                check(noise, value2(seed, x + i, y + j), out[index], "fillCells 2D");
+                check(noise, out[index], cells[index] / (float) 2147483648.0, "fillCells 2D (int)");
+            }
+        }
+
+        final AxisOrder order = AxisOrder.values()[RAND.nextInt(AxisOrder.values().length)];
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final int[] cells3 = new int[width * height * depth];
+        final float[] out3 = new float[width * height * depth];
+        noise.fillCells(cells3, x, y, z, width, height, depth, order);
+        noise.fillCells(out3, x, y, z, width, height, depth, order);
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    final int index = i * sx + j * sy + k * sz;
+                    check(noise, value3(seed, x + i, y + j, z + k), out3[index], "fillCells " + order);
+                    check(noise, out3[index], cells3[index] / (float) 2147483648.0, "fillCells " + order + " (int)");
+                }
+            }
+        }
+    }
+
+    // Includes cells at the edge of the int range, which wrap around.
+    private static int randomCell() {
+        return RAND.nextBoolean() ? RAND.nextInt(2000) - 1000 : RAND.nextInt();
+    }
+
+    // Mostly small values, with some integers and large values.
+    private static float randomCoord() {
+        switch (RAND.nextInt(6)) {
+            case 0: return RAND.nextInt(200) - 100;
+            case 1: return (RAND.nextFloat() - 0.5F) * 2E6F;
+            default: return (RAND.nextFloat() - 0.5F) * 2000;
+        }
+    }
+
+    private static float[] randomCoords(final int count) {
+        final float[] coords = new float[count];
+        for (int i = 0; i < count; i++) {
+            coords[i] = randomCoord();
+        }
+        return coords;
+    }
+
+    private static float[] randomAxis() {
+        final float start = randomCoord();
+        final float step = RAND.nextFloat() * 4;
+        final float[] axis = new float[RAND.nextInt(MAX_GRID) + 1];
+        for (int i = 0; i < axis.length; i++) {
+            axis[i] = start + i * step;
+        }
+        return axis;
+    }
+
+    // Close enough together for shared lattices to be used.
+    private static float[] denseCoords() {
+        final float base = (RAND.nextFloat() - 0.5F) * 2000;
+        final float[] coords = new float[MAX_POINTS];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = base + RAND.nextFloat() * 4;
+        }
+        return coords;
+    }
+
+    // Valid coordinates whose lattice would span more than the range of int.
+    private static float[] spreadCoords() {
+        final float[] coords = denseCoords();
+        coords[0] = -2e9F;
+        coords[coords.length - 1] = 2e9F;
+        return coords;
+    }
+
+    // Dense coordinates near or beyond the range of int, where floors saturate.
+    private static float[] largeCoords() {
+        final float base = LARGE[RAND.nextInt(LARGE.length)] * (RAND.nextBoolean() ? 1 : -1);
+        final float[] coords = new float[MAX_POINTS];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = RAND.nextInt(4) == 0 ? Math.nextUp(base) : base;
+        }
+        return coords;
+    }
+
+    private static void check(final FastNoise noise, final float expected, final float actual, final String method) {
+        checks++;
+        if (Float.floatToIntBits(expected) != Float.floatToIntBits(actual)) {
+            fail(method + ": expected " + expected + ", got " + actual, noise);
+        }
+    }
+
+    private static void fail(final String message, final FastNoise noise) {
+        if (errors++ < MAX_ERRORS) {
+            System.out.println(message + " in " + noise);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package personthecat.fastnoise.generator;
+
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.FractalType;
+import personthecat.fastnoise.data.MultiType;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.data.WarpType;
+
+import java.util.Random;
+
+// Compares random graphs with their compiled equivalent over random seeds and
+// coordinates. Results must be bit-identical. Run on Java 17+, or this only
+// checks that compile() returns the original graph.
+public class CompiledEquivalenceTest {
+    private static final NoiseType[] LEAVES = {
+        NoiseType.SIMPLEX, NoiseType.SIMPLEX2, NoiseType.SIMPLEX2S, NoiseType.PERLIN,
+        NoiseType.VALUE, NoiseType.CUBIC, NoiseType.CELLULAR, NoiseType.WHITE
+    };
+    private static final MultiType[] MULTIS = {
+        MultiType.MIN, MultiType.MAX, MultiType.AVG, MultiType.MUL, MultiType.DIV, MultiType.SUM
+    };
+    private static final int NUM_TESTS = 2000;
+    private static final int NUM_POINTS = 200;
+    private static final int MAX_DEPTH = 3;
+    private static final int MAX_ERRORS = 10;
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        System.out.println("Compiler available: " + CompiledNoise.isAvailable());
+        for (int i = 0; i < NUM_TESTS; i++) {
+            final FastNoise noise = randomGraph(RAND.nextInt(MAX_DEPTH + 1)).build();
+            final FastNoise compiled = noise.compile();
+            if (CompiledNoise.isAvailable() != compiled instanceof CompiledNoise) {
+                fail("Unexpected result of compile()", noise);
+            }
+            for (int p = 0; p < NUM_POINTS; p++) {
+                test(noise, compiled);
+            }
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static NoiseBuilder randomGraph(final int depth) {
+        final NoiseBuilder builder = FastNoise.builder()
+            .seed(RAND.nextInt())
+            .frequency(RAND.nextFloat() * 0.1F)
+            .offsetX(randomCoord())
+            .offsetY(randomCoord())
+            .offsetZ(randomCoord());
+        final int kind = depth == 0 ? 0 : RAND.nextInt(3);
+        if (kind == 0) {
+            builder.type(LEAVES[RAND.nextInt(LEAVES.length)]);
+        } else if (kind == 1) {
+            final NoiseBuilder[] references = new NoiseBuilder[RAND.nextInt(3) + 1];
+            for (int r = 0; r < references.length; r++) {
+                references[r] = randomGraph(depth - 1);
+            }
+            builder.type(NoiseType.MULTI).multi(MULTIS[RAND.nextInt(MULTIS.length)]).references(references);
+        } else {
+            builder.type(NoiseType.WARPED).references(randomGraph(depth - 1));
+        }
+        if (RAND.nextBoolean()) {
+            builder.fractal(FractalType.values()[RAND.nextInt(FractalType.NONE.ordinal())])
+                .fractalFunction(f -> f * f)
+                .octaves(RAND.nextInt(6) + 1)
+                .gain(RAND.nextFloat())
+                .lacunarity(RAND.nextFloat() * 4)
+                .pingPongStrength(RAND.nextFloat() * 4);
+        }
+        if (RAND.nextBoolean() || kind == 2) {
+            builder.warp(WarpType.values()[RAND.nextInt(WarpType.NONE.ordinal())])
+                .warpAmplitude(RAND.nextFloat() * 100)
+                .warpFrequency(RAND.nextFloat());
+        }
+        if (RAND.nextInt(4) == 0) {
+            builder.scaleFunction(f -> f * 0.5F + 0.25F);
+        }
+        return builder;
+    }
+
+    private static void test(final FastNoise noise, final FastNoise compiled) {
+        final float x = randomCoord();
+        final float y = randomCoord();
+        final float z = randomCoord();
+        final int seed = RAND.nextInt();
+        check(noise, noise.getNoise(x, y), compiled.getNoise(x, y), "getNoise 2D");
+        check(noise, noise.getNoise(x, y, z), compiled.getNoise(x, y, z), "getNoise 3D");
+        check(noise, noise.getNoiseScaled(x, y), compiled.getNoiseScaled(x, y), "getNoiseScaled 2D");
+        check(noise, noise.getSingle(seed, x, y), compiled.getSingle(seed, x, y), "getSingle 2D");
+        check(noise, noise.getSingle(seed, x, y, z), compiled.getSingle(seed, x, y, z), "getSingle 3D");
+    }
+
+    private static float randomCoord() {
+        return (RAND.nextFloat() - 0.5F) * 2000;
+    }
+
+    private static void check(final FastNoise noise, final float expected, final float actual, final String method) {
+        checks++;
+        if (Float.floatToIntBits(expected) != Float.floatToIntBits(actual)) {
+            fail(method + ": expected " + expected + ", got " + actual, noise);
+        }
+    }
+
+    private static void fail(final String message, final FastNoise noise) {
+        if (errors++ < MAX_ERRORS) {
+            System.out.println(message + " in\n" + noise.describeBackends());
+        }
+    }
+}
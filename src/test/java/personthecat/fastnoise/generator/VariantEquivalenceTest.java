@@ -0,0 +1,99 @@
+package personthecat.fastnoise.generator;
+
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.DistanceType;
+import personthecat.fastnoise.data.FractalType;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.data.ReturnType;
+
+import java.util.Random;
+
+import static personthecat.fastnoise.generator.FractalNoise.UNROLLED_OCTAVES;
+
+// Compares every variant chosen by NoiseBuilder with the generic FractalNoise or
+// CellularNoise it replaces. Results must be bit-identical.
+public class VariantEquivalenceTest {
+    private static final int NUM_TESTS = 20;
+    private static final int NUM_POINTS = 500;
+    private static final int MAX_ERRORS = 10;
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        for (final FractalType type : FractalType.values()) {
+            if (type == FractalType.NONE) continue;
+            for (int i = 0; i < NUM_TESTS; i++) {
+                final NoiseBuilder cfg = FastNoise.builder()
+                    .type(NoiseType.FRACTAL)
+                    .reference(FastNoise.builder().type(NoiseType.PERLIN))
+                    .fractalFunction(f -> f * f)
+                    .fractal(type)
+                    .seed(RAND.nextInt())
+                    .octaves(RAND.nextInt(UNROLLED_OCTAVES + 4) + 1)
+                    .gain(RAND.nextFloat())
+                    .lacunarity(RAND.nextFloat() * 4)
+                    .pingPongStrength(RAND.nextFloat() * 4);
+                test(cfg.build(), new FractalNoise(cfg, cfg.buildReference()));
+            }
+        }
+        for (final DistanceType distance : DistanceType.values()) {
+            for (final ReturnType returnType : ReturnType.values()) {
+                final NoiseBuilder cfg = FastNoise.builder()
+                    .type(NoiseType.CELLULAR)
+                    .distanceFunction((x, y) -> x * x + y * y)
+                    .returnFunction((x, y, d, d2, d3) -> d3 - d)
+                    .distance(distance)
+                    .cellularReturn(returnType)
+                    .noiseLookup(FastNoise.builder().type(NoiseType.VALUE))
+                    .seed(RAND.nextInt())
+                    .jitter(RAND.nextFloat() * 2);
+                test(cfg.build(), new CellularNoise(cfg));
+            }
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void test(final FastNoise variant, final FastNoise generic) {
+        final float[] xs = new float[NUM_POINTS];
+        final float[] ys = new float[NUM_POINTS];
+        final float[] zs = new float[NUM_POINTS];
+        for (int i = 0; i < NUM_POINTS; i++) {
+            xs[i] = randomCoord();
+            ys[i] = randomCoord();
+            zs[i] = randomCoord();
+            final int seed = RAND.nextInt();
+            check(variant, generic.getSingle(seed, xs[i]), variant.getSingle(seed, xs[i]), "getSingle 1D");
+            check(variant, generic.getSingle(seed, xs[i], ys[i]), variant.getSingle(seed, xs[i], ys[i]), "getSingle 2D");
+            check(variant, generic.getSingle(seed, xs[i], ys[i], zs[i]), variant.getSingle(seed, xs[i], ys[i], zs[i]), "getSingle 3D");
+        }
+        final float[] expected = new float[NUM_POINTS];
+        final float[] actual = new float[NUM_POINTS];
+        generic.sampleNoise(expected, xs, ys);
+        variant.sampleNoise(actual, xs, ys);
+        for (int i = 0; i < NUM_POINTS; i++) {
+            check(variant, expected[i], actual[i], "sampleNoise 2D");
+        }
+        generic.sampleNoise(expected, xs, ys, zs);
+        variant.sampleNoise(actual, xs, ys, zs);
+        for (int i = 0; i < NUM_POINTS; i++) {
+            check(variant, expected[i], actual[i], "sampleNoise 3D");
+        }
+    }
+
+    private static float randomCoord() {
+        return (RAND.nextFloat() - 0.5F) * 200;
+    }
+
+    private static void check(final FastNoise noise, final float expected, final float actual, final String method) {
+        checks++;
+        if (Float.floatToIntBits(expected) != Float.floatToIntBits(actual) && errors++ < MAX_ERRORS) {
+            System.out.println(method + ": expected " + expected + ", got " + actual + " in " + noise);
+        }
+    }
+}
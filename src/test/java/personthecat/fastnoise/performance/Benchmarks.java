@@ -9,6 +9,7 @@ import org.openjdk.jmh.annotations.Threads;
 import personthecat.fastnoise.FastNoise;
 import personthecat.fastnoise.FastNoiseLite;
 import personthecat.fastnoise.OriginalFastNoise;
+import personthecat.fastnoise.data.AxisOrder;
 import personthecat.fastnoise.data.FractalType;
 import personthecat.fastnoise.data.NoiseType;
 
@@ -16,6 +17,7 @@ import java.util.concurrent.TimeUnit;
 
 public class Benchmarks {
     private static final int TEST_SIZE = 1_000;
+    private static final int GRID_SIZE = 32;
     private static final int NUM_FORKS = 1;
     private static final int NUM_THREADS = 4;
 
@@ -115,6 +117,136 @@ public class Benchmarks {
         return acc;
     }
 
+    @Enabled(false)
+    @Benchmark
+    @Fork(NUM_FORKS)
+    @Threads(NUM_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float openSimplex_2D_grid() {
+        final FastNoise n = FastNoise.builder().type(NoiseType.SIMPLEX2).build();
+        float acc = 0;
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                acc += n.getNoise(x, y);
+            }
+        }
+        return acc;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(NUM_FORKS)
+    @Threads(NUM_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float openSimplex_2D_grid_bulk() {
+        final FastNoise n = FastNoise.builder().type(NoiseType.SIMPLEX2).build();
+        final float[] out = new float[GRID_SIZE * GRID_SIZE];
+        n.fillNoise(out, 0, 0, GRID_SIZE, GRID_SIZE, 1);
+        float acc = 0;
+        for (final float f : out) {
+            acc += f;
+        }
+        return acc;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(NUM_FORKS)
+    @Threads(NUM_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float openSimplex_2D_grid_lite() {
+        final FastNoiseLite n = new FastNoiseLite();
+        n.SetNoiseType(FastNoiseLite.NoiseType.OpenSimplex2);
+        float acc = 0;
+        for (int y = 0; y < GRID_SIZE; y++) {
+            for (int x = 0; x < GRID_SIZE; x++) {
+                acc += n.GetNoise(x, y);
+            }
+        }
+        return acc;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(NUM_FORKS)
+    @Threads(NUM_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float openSimplex_2D_points_bulk() {
+        final FastNoise n = FastNoise.builder().type(NoiseType.SIMPLEX2).build();
+        final float[] xs = new float[TEST_SIZE];
+        final float[] ys = new float[TEST_SIZE];
+        for (int i = 0; i < TEST_SIZE; i++) {
+            xs[i] = i;
+        }
+        final float[] out = new float[TEST_SIZE];
+        n.sampleNoise(out, xs, ys);
+        float acc = 0;
+        for (final float f : out) {
+            acc += f;
+        }
+        return acc;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(NUM_FORKS)
+    @Threads(NUM_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float openSimplex_3D_grid() {
+        final FastNoise n = FastNoise.builder().type(NoiseType.SIMPLEX2).build();
+        float acc = 0;
+        for (int z = 0; z < GRID_SIZE; z++) {
+            for (int y = 0; y < GRID_SIZE; y++) {
+                for (int x = 0; x < GRID_SIZE; x++) {
+                    acc += n.getNoise(x, y, z);
+                }
+            }
+        }
+        return acc;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(NUM_FORKS)
+    @Threads(NUM_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float openSimplex_3D_grid_bulk() {
+        final FastNoise n = FastNoise.builder().type(NoiseType.SIMPLEX2).build();
+        final float[] out = new float[GRID_SIZE * GRID_SIZE * GRID_SIZE];
+        n.fillNoise(out, 0, 0, 0, GRID_SIZE, GRID_SIZE, GRID_SIZE, 1, AxisOrder.ZYX);
+        float acc = 0;
+        for (final float f : out) {
+            acc += f;
+        }
+        return acc;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(NUM_FORKS)
+    @Threads(NUM_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float openSimplex_3D_grid_lite() {
+        final FastNoiseLite n = new FastNoiseLite();
+        n.SetNoiseType(FastNoiseLite.NoiseType.OpenSimplex2);
+        float acc = 0;
+        for (int z = 0; z < GRID_SIZE; z++) {
+            for (int y = 0; y < GRID_SIZE; y++) {
+                for (int x = 0; x < GRID_SIZE; x++) {
+                    acc += n.GetNoise(x, y, z);
+                }
+            }
+        }
+        return acc;
+    }
+
     @Enabled(false)
     @Benchmark
     @Fork(NUM_FORKS)
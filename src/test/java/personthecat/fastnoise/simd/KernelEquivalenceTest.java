@@ -0,0 +1,148 @@
+package personthecat.fastnoise.simd;
+
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
+import personthecat.fastnoise.data.DistanceType;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.data.NoiseType;
+import personthecat.fastnoise.data.ReturnType;
+import personthecat.fastnoise.data.WarpType;
+
+import java.util.Random;
+
+// Compares the bulk methods of each generator with a Vector API kernel against
+// getNoise over random seeds and coordinates. Results must be bit-identical.
+// Run on Java 17+ with --add-modules jdk.incubator.vector, or this only checks
+// the scalar fallback.
+public class KernelEquivalenceTest {
+    private static final NoiseType[] TYPES = {
+        NoiseType.SIMPLEX, NoiseType.SIMPLEX2, NoiseType.SIMPLEX2S, NoiseType.PERLIN,
+        NoiseType.VALUE, NoiseType.CUBIC, NoiseType.CELLULAR, NoiseType.WARPED
+    };
+    private static final int NUM_TESTS = 500;
+    private static final int MAX_POINTS = 600;
+    private static final int MAX_GRID = 24;
+    private static final int MAX_ERRORS = 10;
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        System.out.println("Backend: " + VectorSupport.backend() + " (" + VectorSupport.width() + " lanes)");
+        for (final NoiseType type : TYPES) {
+            for (int i = 0; i < NUM_TESTS; i++) {
+                final FastNoise noise = createGenerator(type);
+                testPoints(type, noise);
+                testGrids(type, noise);
+            }
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static FastNoise createGenerator(final NoiseType type) {
+        final NoiseBuilder builder = FastNoise.builder()
+            .type(type)
+            .seed(RAND.nextInt())
+            .frequency(RAND.nextFloat() * 2);
+        if (type == NoiseType.CELLULAR) {
+            // Custom distance and return functions are always evaluated by the scalar code.
+            builder.distance(DistanceType.values()[RAND.nextInt(DistanceType.FUNCTION.ordinal())])
+                .cellularReturn(ReturnType.values()[RAND.nextInt(ReturnType.FUNCTION.ordinal())])
+                .jitter(RAND.nextFloat() * 2)
+                .noiseLookup(FastNoise.builder().type(NoiseType.SIMPLEX).seed(RAND.nextInt()));
+        } else if (type == NoiseType.WARPED) {
+            builder.type(NoiseType.SIMPLEX)
+                .warp(RAND.nextBoolean() ? WarpType.BASIC_GRID : WarpType.SIMPLEX2_REDUCED)
+                .warpAmplitude(RAND.nextFloat() * 100)
+                .warpFrequency(RAND.nextFloat());
+        }
+        return builder.build();
+    }
+
+    private static void testPoints(final NoiseType type, final FastNoise noise) {
+        final int count = RAND.nextInt(MAX_POINTS) + 1;
+        final float[] xs = new float[count];
+        final float[] ys = new float[count];
+        final float[] zs = new float[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = randomCoord();
+            ys[i] = randomCoord();
+            zs[i] = randomCoord();
+        }
+        final float[] out2 = new float[count];
+        final float[] out3 = new float[count];
+        noise.sampleNoise(out2, xs, ys);
+        noise.sampleNoise(out3, xs, ys, zs);
+        for (int i = 0; i < count; i++) {
+            check(type, out2[i], noise.getNoise(xs[i], ys[i]), xs[i], ys[i]);
+            check(type, out3[i], noise.getNoise(xs[i], ys[i], zs[i]), xs[i], ys[i], zs[i]);
+        }
+    }
+
+    private static void testGrids(final NoiseType type, final FastNoise noise) {
+        final int width = RAND.nextInt(MAX_GRID) + 1;
+        final int height = RAND.nextInt(MAX_GRID) + 1;
+        final int depth = RAND.nextInt(MAX_GRID) + 1;
+        final float x = randomCoord();
+        final float y = randomCoord();
+        final float z = randomCoord();
+        final float step = RAND.nextFloat() * 4;
+
+        final float[] out2 = new float[width * height];
+        noise.fillNoise(out2, x, y, width, height, step);
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final float px = x + i * step;
+                final float py = y + j * step;
+                check(type, out2[j * width + i], noise.getNoise(px, py), px, py);
+            }
+        }
+
+        final AxisOrder order = AxisOrder.values()[RAND.nextInt(AxisOrder.values().length)];
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final float[] out3 = new float[width * height * depth];
+        noise.fillNoise(out3, x, y, z, width, height, depth, step, order);
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    final float px = x + i * step;
+                    final float py = y + j * step;
+                    final float pz = z + k * step;
+                    check(type, out3[i * sx + j * sy + k * sz], noise.getNoise(px, py, pz), px, py, pz);
+                }
+            }
+        }
+    }
+
+    // Mostly small values, with some integers, large values and NaN. Values of
+    // 2^31 and above round to the saturated cells at the edge of the int range.
+    private static float randomCoord() {
+        switch (RAND.nextInt(9)) {
+            case 0: return RAND.nextInt(200) - 100;
+            case 1: return (RAND.nextFloat() - 0.5F) * 2E6F;
+            case 2: return (RAND.nextFloat() - 0.5F) * 1E9F;
+            case 3: return RAND.nextInt(100) == 0 ? Float.NaN : RAND.nextFloat();
+            case 4: return (RAND.nextBoolean() ? 0x1p31F : -0x1p31F) * (1 + RAND.nextFloat());
+            default: return (RAND.nextFloat() - 0.5F) * 2000;
+        }
+    }
+
+    private static void check(final NoiseType type, final float actual, final float expected, final float... coords) {
+        checks++;
+        if (Float.floatToIntBits(actual) != Float.floatToIntBits(expected)) {
+            if (errors++ < MAX_ERRORS) {
+                final StringBuilder sb = new StringBuilder(type.name()).append(" at");
+                for (final float c : coords) {
+                    sb.append(' ').append(c);
+                }
+                System.out.println(sb.append(": expected ").append(expected).append(", got ").append(actual));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package personthecat.fastnoise.util;
+
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.data.ScaleApproximation;
+import personthecat.fastnoise.function.ScaleFunction;
+
+import java.util.Random;
+
+// Samples each scale function approximated by NoiseBuilder#buildScaleFunction over
+// its whole domain and compares it with the exact function. The error must be
+// within the requested maximum, and inputs outside of the domain must be exact.
+// When the error can't be met, the exact function must be returned instead and the
+// fit reported by NoiseBuilder#fitScaleFunction must say so.
+public class ApproximateScaleTest {
+    private static final ScaleFunction[] FUNCTIONS = {
+        n -> (float) Math.pow(Math.abs(n), 1.7),
+        n -> (float) Math.sin(3 * n),
+        n -> n * n * n - n,
+        n -> (float) Math.exp(n),
+        n -> (float) Math.tanh(4 * n),
+        n -> n <= 0 ? n : (float) (0.5 * Math.sqrt(n) + n * n)
+    };
+    private static final float[] MAX_ERRORS = { 1.0E-2F, 1.0E-3F, 1.0E-4F };
+    private static final int NUM_RANGES = 10;
+    private static final int NUM_POINTS = 100_000;
+    private static final int MAX_REPORTS = 10;
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        for (final ScaleApproximation mode : ScaleApproximation.values()) {
+            if (mode == ScaleApproximation.NONE) continue;
+            for (int f = 0; f < FUNCTIONS.length; f++) {
+                for (final float maxError : MAX_ERRORS) {
+                    for (int i = 0; i < NUM_RANGES; i++) {
+                        final NoiseBuilder builder = FastNoise.builder()
+                            .scaleFunction(FUNCTIONS[f], mode, maxError)
+                            .seed(RAND.nextInt());
+                        if (i > 0) {
+                            final float a = (RAND.nextFloat() - 0.5F) * 8;
+                            builder.range(a, a + RAND.nextFloat() * 4);
+                        }
+                        test(builder, FUNCTIONS[f], maxError, mode + " #" + f);
+                    }
+                }
+            }
+        }
+        checks++;
+        if (FastNoise.builder().scaleFunction(FUNCTIONS[0]).fitScaleFunction() != null) {
+            fail("fitScaleFunction without an approximation is not null");
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void test(final NoiseBuilder builder, final ScaleFunction exact, final float maxError, final String name) {
+        final ScaleFunction built = builder.buildScaleFunction();
+        final ApproximateScale fit = builder.fitScaleFunction();
+        checks++;
+        if (fit == null || fit.isWithinTarget() != built instanceof ApproximateScale) {
+            fail(name + " within " + maxError + " built " + built + " from " + fit);
+            return;
+        }
+        if (!(built instanceof ApproximateScale)) {
+            // The error can't be met, e.g. due to rounding, so the exact function is used.
+            checks++;
+            if (built != exact || !fit.toString().contains("misses")) {
+                fail(name + " within " + maxError + " returned " + built + " from " + fit);
+            }
+            return;
+        }
+        final ApproximateScale approx = (ApproximateScale) built;
+        final float min = approx.getMin();
+        final float max = approx.getMax();
+        final String description = name + " within " + maxError + ": " + approx;
+        if (min > -1 || max < 1) {
+            fail(description + " does not cover [-1, 1]");
+        }
+        // Every node and midpoint, then random inputs.
+        final int nodes = approx.size() * 2;
+        final double step = ((double) max - min) / nodes;
+        for (int i = 0; i <= nodes; i++) {
+            check(approx, exact, Math.min(max, (float) (min + i * step)), maxError, description);
+        }
+        for (int i = 0; i < NUM_POINTS; i++) {
+            check(approx, exact, min + RAND.nextFloat() * (max - min), maxError, description);
+        }
+        check(approx, exact, min, maxError, description);
+        check(approx, exact, max, maxError, description);
+
+        final float[] outside = { Math.nextDown(min), Math.nextUp(max), min - 10, max + 10 };
+        for (final float x : outside) {
+            checks++;
+            if (Float.floatToIntBits(approx.scale(x)) != Float.floatToIntBits(exact.scale(x))) {
+                fail(description + " is not exact at " + x);
+            }
+        }
+    }
+
+    private static void check(final ScaleFunction approx, final ScaleFunction exact, final float x, final float maxError, final String description) {
+        checks++;
+        final double error = Math.abs((double) approx.scale(x) - exact.scale(x));
+        if (!(error <= maxError)) {
+            fail(description + " has an error of " + error + " at " + x);
+        }
+    }
+
+    private static void fail(final String message) {
+        if (errors++ < MAX_REPORTS) {
+            System.out.println(message);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package personthecat.fastnoise.util;
+
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.AxisOrder;
+import personthecat.fastnoise.data.NoiseBuilder;
+import personthecat.fastnoise.data.NoiseType;
+
+import java.util.Random;
+
+// Compares each bit packed by fillBoolean with getBoolean and isInThreshold over
+// random thresholds, inversions and sizes, most of which are not multiples of 64.
+// Bits past the sample count must be clear and the BitMasks accessors must agree.
+// Grids are packed one row or layer at a time, so rows and layers which don't end
+// on a word boundary and a full chunk section are tested as well.
+public class BitMasksTest {
+    private static final NoiseType[] TYPES = {
+        NoiseType.SIMPLEX, NoiseType.SIMPLEX2S, NoiseType.PERLIN, NoiseType.VALUE, NoiseType.CELLULAR
+    };
+    private static final int[] EDGES = { 1, 63, 64, 65, 127, 128, 129 };
+    private static final int[] SLABS = { 3, 21, 63, 65, 100, 130 };
+    private static final int NUM_TESTS = 200;
+    private static final int MAX_GRID = 24;
+    private static final int MAX_ERRORS = 10;
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        for (final NoiseType type : TYPES) {
+            for (int i = 0; i < NUM_TESTS; i++) {
+                final FastNoise noise = createGenerator(type);
+                final int edge = EDGES[RAND.nextInt(EDGES.length)];
+                test2(noise, edge, 1);
+                test2(noise, RAND.nextInt(MAX_GRID) + 1, RAND.nextInt(MAX_GRID) + 1);
+                test3(noise, edge, 1, 1);
+                test3(noise, RAND.nextInt(MAX_GRID) + 1, RAND.nextInt(MAX_GRID) + 1, RAND.nextInt(MAX_GRID) + 1);
+
+                final int slab = SLABS[RAND.nextInt(SLABS.length)];
+                test2(noise, slab, RAND.nextInt(4) + 2);
+                test3(noise, slab, RAND.nextInt(4) + 2, RAND.nextInt(4) + 2);
+                test3(noise, RAND.nextInt(4) + 2, RAND.nextInt(4) + 2, slab);
+            }
+            test3(createGenerator(type), 16, 384, 16, AxisOrder.YZX);
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static FastNoise createGenerator(final NoiseType type) {
+        final NoiseBuilder builder = FastNoise.builder()
+            .type(type)
+            .seed(RAND.nextInt())
+            .frequency(RAND.nextFloat() * 0.2F)
+            .invert(RAND.nextBoolean());
+        final float min = RAND.nextFloat() * 2 - 1;
+        switch (RAND.nextInt(3)) {
+            case 0: return builder.threshold(min, min).build();
+            case 1: return builder.threshold(min, min + RAND.nextFloat() * (1 - min)).build();
+            default: return builder.build();
+        }
+    }
+
+    private static void test2(final FastNoise noise, final int width, final int height) {
+        final float x = randomCoord();
+        final float y = randomCoord();
+        final float step = RAND.nextFloat() * 4;
+        final int count = width * height;
+        final long[] mask = garbage(count);
+        noise.fillBoolean(mask, x, y, width, height, step);
+
+        final boolean[] expected = new boolean[count];
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                final float px = x + i * step;
+                final float py = y + j * step;
+                final int n = j * width + i;
+                expected[n] = noise.getBoolean(px, py);
+                check(noise, expected[n], noise.isInThreshold(noise.getNoise(px, py)), "isInThreshold 2D", n);
+            }
+        }
+        checkMask(noise, mask, expected, "fillBoolean 2D");
+    }
+
+    private static void test3(final FastNoise noise, final int width, final int height, final int depth) {
+        test3(noise, width, height, depth, AxisOrder.values()[RAND.nextInt(AxisOrder.values().length)]);
+    }
+
+    private static void test3(final FastNoise noise, final int width, final int height, final int depth, final AxisOrder order) {
+        final float x = randomCoord();
+        final float y = randomCoord();
+        final float z = randomCoord();
+        final float step = RAND.nextFloat() * 4;
+        final int sx = order.strideX(width, height, depth);
+        final int sy = order.strideY(width, height, depth);
+        final int sz = order.strideZ(width, height, depth);
+        final int count = width * height * depth;
+        final long[] mask = garbage(count);
+        noise.fillBoolean(mask, x, y, z, width, height, depth, step, order);
+
+        final boolean[] expected = new boolean[count];
+        for (int k = 0; k < depth; k++) {
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    final float px = x + i * step;
+                    final float py = y + j * step;
+                    final float pz = z + k * step;
+                    final int n = i * sx + j * sy + k * sz;
+                    expected[n] = noise.getBoolean(px, py, pz);
+                    check(noise, expected[n], noise.isInThreshold(noise.getNoise(px, py, pz)), "isInThreshold 3D", n);
+                }
+            }
+        }
+        checkMask(noise, mask, expected, "fillBoolean " + order);
+    }
+
+    // Every bit must be written, including the tail of the last word.
+    private static long[] garbage(final int count) {
+        final long[] mask = BitMasks.create(count);
+        for (int w = 0; w < mask.length; w++) {
+            mask[w] = RAND.nextLong();
+        }
+        return mask;
+    }
+
+    private static void checkMask(final FastNoise noise, final long[] mask, final boolean[] expected, final String method) {
+        final int count = expected.length;
+        int total = 0;
+        for (int n = 0; n < count; n++) {
+            check(noise, expected[n], BitMasks.get(mask, n), method, n);
+            if (expected[n]) total++;
+        }
+        for (int n = count; n < mask.length << 6; n++) {
+            check(noise, false, BitMasks.get(mask, n), method + " tail", n);
+        }
+        check(noise, total, BitMasks.count(mask, count), "BitMasks#count");
+        check(noise, total > 0, BitMasks.any(mask, count), "BitMasks#any", count);
+        check(noise, total == count, BitMasks.all(mask, count), "BitMasks#all", count);
+        check(noise, total == 0, BitMasks.none(mask, count), "BitMasks#none", count);
+    }
+
+    private static float randomCoord() {
+        return (RAND.nextFloat() - 0.5F) * 2000;
+    }
+
+    private static void check(final FastNoise noise, final boolean expected, final boolean actual, final String method, final int index) {
+        checks++;
+        if (expected != actual && errors++ < MAX_ERRORS) {
+            System.out.println(method + " at " + index + ": expected " + expected + ", got " + actual + " in " + noise);
+        }
+    }
+
+    private static void check(final FastNoise noise, final int expected, final int actual, final String method) {
+        checks++;
+        if (expected != actual && errors++ < MAX_ERRORS) {
+            System.out.println(method + ": expected " + expected + ", got " + actual + " in " + noise);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package personthecat.fastnoise.util;
+
+import java.util.Random;
+
+// Checks that every value of PositionalRandom is a pure function of its seed, cell
+// and index: streams are reproduced by new instances, after moving between cells
+// and after skipping, and match the static accessors. A few values are pinned so
+// that changes to the stream itself are noticed.
+public class PositionalRandomTest {
+    private static final int NUM_TESTS = 10_000;
+    private static final int SEQUENCE = 16;
+    private static final int MAX_ERRORS = 10;
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        checkPinned(1337, 12, -7, 3, -1828548701, -1266006544, 75733414, -1122893037);
+        checkPinned(-42, -100000, 64, 2_000_000_000, 182577336, -298953258, -1026836904, -663344392);
+
+        final PositionalRandom moved = new PositionalRandom(0);
+        for (int i = 0; i < NUM_TESTS; i++) {
+            final int seed = RAND.nextInt();
+            final int x = RAND.nextInt();
+            final int y = RAND.nextInt(512) - 64;
+            final int z = RAND.nextInt();
+            final int[] expected = sequence(new PositionalRandom(seed).at(x, y, z));
+
+            final PositionalRandom rand = new PositionalRandom(seed);
+            rand.at(RAND.nextInt(), RAND.nextInt(), RAND.nextInt()).skip(RAND.nextInt(100)).nextInt();
+            check(expected, sequence(rand.at(x, y, z)), "at after moving");
+            check(expected, sequence(rand.at(x, y, z)), "at the same cell again");
+            for (int n = 0; n < SEQUENCE; n++) {
+                check(expected[n], PositionalRandom.getInt(seed, x, y, z, n), "getInt");
+            }
+            final int skip = RAND.nextInt(SEQUENCE);
+            rand.at(x, y, z).skip(skip);
+            check(skip, rand.getIndex(), "getIndex");
+            check(expected[skip], rand.nextInt(), "nextInt after skip");
+            check(sequence(new PositionalRandom(seed).at(x, 0, z)), sequence(rand.at(x, z)), "at 2D");
+
+            final int bound = RAND.nextInt(1000) + 1;
+            rand.at(x, y, z);
+            for (int n = 0; n < SEQUENCE; n++) {
+                final int value = rand.nextInt(bound);
+                check(PositionalRandom.getInt(seed, x, y, z, n, bound), value, "nextInt(bound)");
+                check(true, value >= 0 && value < bound, "nextInt(bound) in range");
+            }
+            rand.at(x, y, z);
+            for (int n = 0; n < SEQUENCE; n++) {
+                final float value = rand.nextFloat();
+                check(Float.floatToIntBits(PositionalRandom.getFloat(seed, x, y, z, n)), Float.floatToIntBits(value), "nextFloat");
+                check(true, value >= 0 && value < 1, "nextFloat in range");
+            }
+            rand.at(x, y, z);
+            for (int n = 0; n < SEQUENCE; n++) {
+                check(expected[n] < 0, rand.nextBoolean(), "nextBoolean");
+            }
+
+            // Moving one instance through random cells changes nothing either.
+            check(sequence(new PositionalRandom(0).at(x, y, z)), sequence(moved.at(x, y, z)), "shared instance");
+        }
+        try {
+            new PositionalRandom(0).nextInt(0);
+            check(true, false, "nextInt(0) throws");
+        } catch (final IllegalArgumentException ignored) {
+            checks++;
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void checkPinned(final int seed, final int x, final int y, final int z, final int... expected) {
+        check(expected, sequence(new PositionalRandom(seed).at(x, y, z), expected.length), "pinned values");
+    }
+
+    private static int[] sequence(final PositionalRandom rand) {
+        return sequence(rand, SEQUENCE);
+    }
+
+    private static int[] sequence(final PositionalRandom rand, final int length) {
+        final int[] values = new int[length];
+        for (int n = 0; n < length; n++) {
+            values[n] = rand.nextInt();
+        }
+        return values;
+    }
+
+    private static void check(final int[] expected, final int[] actual, final String method) {
+        for (int n = 0; n < expected.length; n++) {
+            check(expected[n], actual[n], method + " #" + n);
+        }
+    }
+
+    private static void check(final int expected, final int actual, final String method) {
+        checks++;
+        if (expected != actual && errors++ < MAX_ERRORS) {
+            System.out.println(method + ": expected " + expected + ", got " + actual);
+        }
+    }
+
+    private static void check(final boolean expected, final boolean actual, final String method) {
+        checks++;
+        if (expected != actual && errors++ < MAX_ERRORS) {
+            System.out.println(method + ": expected " + expected + ", got " + actual);
+        }
+    }
+}
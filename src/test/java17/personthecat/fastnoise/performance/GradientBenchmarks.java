@@ -0,0 +1,147 @@
+package personthecat.fastnoise.performance;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import personthecat.fastnoise.util.NoiseUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gather;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradient2L;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.gradient3L;
+import static personthecat.fastnoise.util.NoiseTables.GRAD_3DL;
+
+// Compares ways of evaluating the gradients of VectorNoiseUtils: gathering
+// from the table, loading each lane from the table, and computing the gradient
+// without a table. Each benchmark evaluates TEST_SIZE gradients.
+public class GradientBenchmarks {
+    private static final int TEST_SIZE = 4096;
+    private static final int NUM_FORKS = 1;
+    private static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    private static final int SEED = 1337;
+    private static final int[] XS = new int[TEST_SIZE];
+    private static final int[] YS = new int[TEST_SIZE];
+    private static final int[] ZS = new int[TEST_SIZE];
+    private static final float[] XD = new float[TEST_SIZE];
+    private static final float[] YD = new float[TEST_SIZE];
+    private static final float[] ZD = new float[TEST_SIZE];
+    private static final int[] INDEX = new int[TEST_SIZE];
+    private static final float[] OUT = new float[TEST_SIZE];
+
+    static {
+        final Random rand = new Random(0);
+        for (int i = 0; i < TEST_SIZE; i++) {
+            XS[i] = rand.nextInt();
+            YS[i] = rand.nextInt();
+            ZS[i] = rand.nextInt();
+            XD[i] = rand.nextFloat() * 2 - 1;
+            YD[i] = rand.nextFloat() * 2 - 1;
+            ZD[i] = rand.nextFloat() * 2 - 1;
+        }
+    }
+
+    public static void main(final String... args) throws Exception {
+        LocalBenchmarkRunner.runIfEnabled();
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] gradient3L_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = NoiseUtils.gradient3L(SEED, XS[i], YS[i], ZS[i], XD[i], YD[i], ZD[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] gradient3L_gather() {
+        for (int i = 0; i < TEST_SIZE; i += F.length()) {
+            final IntVector index = index3L(i);
+            FloatVector.fromArray(F, XD, i).mul(gather(GRAD_3DL, index))
+                .add(FloatVector.fromArray(F, YD, i).mul(gather(GRAD_3DL, index.or(1))))
+                .add(FloatVector.fromArray(F, ZD, i).mul(gather(GRAD_3DL, index.or(2))))
+                .intoArray(OUT, i);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] gradient3L_lanes() {
+        for (int i = 0; i < TEST_SIZE; i += F.length()) {
+            index3L(i).intoArray(INDEX, i);
+        }
+        for (int i = 0; i < TEST_SIZE; i++) {
+            final int h = INDEX[i];
+            OUT[i] = XD[i] * GRAD_3DL[h] + YD[i] * GRAD_3DL[h | 1] + ZD[i] * GRAD_3DL[h | 2];
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] gradient3L_computed() {
+        for (int i = 0; i < TEST_SIZE; i += F.length()) {
+            gradient3L(SEED, IntVector.fromArray(I, XS, i), IntVector.fromArray(I, YS, i), IntVector.fromArray(I, ZS, i),
+                    FloatVector.fromArray(F, XD, i), FloatVector.fromArray(F, YD, i), FloatVector.fromArray(F, ZD, i))
+                .intoArray(OUT, i);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] gradient2L_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = NoiseUtils.gradient2L(SEED, XS[i], YS[i], XD[i], YD[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] gradient2L_gather() {
+        for (int i = 0; i < TEST_SIZE; i += F.length()) {
+            gradient2L(SEED, IntVector.fromArray(I, XS, i), IntVector.fromArray(I, YS, i),
+                    FloatVector.fromArray(F, XD, i), FloatVector.fromArray(F, YD, i))
+                .intoArray(OUT, i);
+        }
+        return OUT;
+    }
+
+    // The index of NoiseUtils#gradient3L in GRAD_3DL for the lanes starting at i.
+    private static IntVector index3L(final int i) {
+        final IntVector hash = IntVector.fromArray(I, XS, i).lanewise(VectorOperators.XOR, IntVector.fromArray(I, YS, i))
+            .lanewise(VectorOperators.XOR, IntVector.fromArray(I, ZS, i)).lanewise(VectorOperators.XOR, SEED).mul(0x27d4eb2d);
+        return hash.lanewise(VectorOperators.ASHR, 15).lanewise(VectorOperators.XOR, hash).and(63 << 2);
+    }
+}
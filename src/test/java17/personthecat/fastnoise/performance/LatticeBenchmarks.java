@@ -0,0 +1,174 @@
+package personthecat.fastnoise.performance;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import personthecat.fastnoise.FastNoise;
+import personthecat.fastnoise.data.NoiseType;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compares getSingle with the vector kernels behind sampleSingle for each of
+// the lattice generators. Each benchmark evaluates TEST_SIZE points.
+public class LatticeBenchmarks {
+    private static final int TEST_SIZE = 4096;
+    private static final int NUM_FORKS = 1;
+    private static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    private static final int SEED = 1337;
+    private static final FastNoise PERLIN = FastNoise.builder().type(NoiseType.PERLIN).build();
+    private static final FastNoise VALUE = FastNoise.builder().type(NoiseType.VALUE).build();
+    private static final FastNoise CUBIC = FastNoise.builder().type(NoiseType.CUBIC).build();
+    private static final float[] XS = new float[TEST_SIZE];
+    private static final float[] YS = new float[TEST_SIZE];
+    private static final float[] ZS = new float[TEST_SIZE];
+    private static final float[] OUT = new float[TEST_SIZE];
+
+    static {
+        final Random rand = new Random(0);
+        for (int i = 0; i < TEST_SIZE; i++) {
+            XS[i] = rand.nextFloat() * 1000 - 500;
+            YS[i] = rand.nextFloat() * 1000 - 500;
+            ZS[i] = rand.nextFloat() * 1000 - 500;
+        }
+    }
+
+    public static void main(final String... args) throws Exception {
+        LocalBenchmarkRunner.runIfEnabled();
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] perlin_2D_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = PERLIN.getSingle(SEED, XS[i], YS[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] perlin_2D_vector() {
+        PERLIN.sampleSingle(SEED, OUT, XS, YS);
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] perlin_3D_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = PERLIN.getSingle(SEED, XS[i], YS[i], ZS[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] perlin_3D_vector() {
+        PERLIN.sampleSingle(SEED, OUT, XS, YS, ZS);
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] value_2D_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = VALUE.getSingle(SEED, XS[i], YS[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] value_2D_vector() {
+        VALUE.sampleSingle(SEED, OUT, XS, YS);
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] value_3D_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = VALUE.getSingle(SEED, XS[i], YS[i], ZS[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] value_3D_vector() {
+        VALUE.sampleSingle(SEED, OUT, XS, YS, ZS);
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] cubic_2D_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = CUBIC.getSingle(SEED, XS[i], YS[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] cubic_2D_vector() {
+        CUBIC.sampleSingle(SEED, OUT, XS, YS);
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] cubic_3D_scalar() {
+        for (int i = 0; i < TEST_SIZE; i++) {
+            OUT[i] = CUBIC.getSingle(SEED, XS[i], YS[i], ZS[i]);
+        }
+        return OUT;
+    }
+
+    @Enabled(false)
+    @Benchmark
+    @Fork(value = NUM_FORKS, jvmArgsAppend = VECTOR_MODULE)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public float[] cubic_3D_vector() {
+        CUBIC.sampleSingle(SEED, OUT, XS, YS, ZS);
+        return OUT;
+    }
+}
@@ -0,0 +1,92 @@
+package personthecat.fastnoise.simd;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import personthecat.fastnoise.util.NoiseTables;
+import personthecat.fastnoise.util.NoiseUtils;
+
+import java.util.Random;
+
+import static personthecat.fastnoise.simd.VectorNoiseUtils.F;
+import static personthecat.fastnoise.simd.VectorNoiseUtils.I;
+
+// Compares every primitive in VectorNoiseUtils with NoiseUtils over random
+// seeds and arguments. Results must be bit-identical. Run with
+// --add-modules jdk.incubator.vector.
+public class VectorNoiseUtilsTest {
+    private static final int NUM_TESTS = 200_000;
+    private static final int MAX_ERRORS = 10;
+    private static final Random RAND = new Random();
+
+    private static int checks = 0;
+    private static int errors = 0;
+
+    public static void main(final String[] args) {
+        final int[] xs = new int[I.length()];
+        final int[] ys = new int[I.length()];
+        final int[] zs = new int[I.length()];
+        final float[] xd = new float[F.length()];
+        final float[] yd = new float[F.length()];
+        final float[] zd = new float[F.length()];
+
+        for (int i = 0; i < NUM_TESTS; i++) {
+            final int seed = RAND.nextInt();
+            for (int lane = 0; lane < I.length(); lane++) {
+                xs[lane] = randomInt();
+                ys[lane] = randomInt();
+                zs[lane] = randomInt();
+                xd[lane] = RAND.nextFloat() * 4 - 2;
+                yd[lane] = RAND.nextFloat() * 4 - 2;
+                zd[lane] = RAND.nextFloat() * 4 - 2;
+            }
+            final IntVector x = IntVector.fromArray(I, xs, 0);
+            final IntVector y = IntVector.fromArray(I, ys, 0);
+            final IntVector z = IntVector.fromArray(I, zs, 0);
+            final FloatVector dx = FloatVector.fromArray(F, xd, 0);
+            final FloatVector dy = FloatVector.fromArray(F, yd, 0);
+            final FloatVector dz = FloatVector.fromArray(F, zd, 0);
+
+            final int[] hash2 = VectorNoiseUtils.hash2(seed, x, y).toArray();
+            final int[] hash3 = VectorNoiseUtils.hash3(seed, x, y, z).toArray();
+            final float[] value2 = VectorNoiseUtils.value2(seed, x, y).toArray();
+            final float[] value3 = VectorNoiseUtils.value3(seed, x, y, z).toArray();
+            final float[] gradient2L = VectorNoiseUtils.gradient2L(seed, x, y, dx, dy).toArray();
+            final float[] gradient3L = VectorNoiseUtils.gradient3L(seed, x, y, z, dx, dy, dz).toArray();
+            final float[] cell = VectorNoiseUtils.gather(NoiseTables.CELL_3DL, x.and(255 << 2)).toArray();
+
+            for (int lane = 0; lane < I.length(); lane++) {
+                final int a = xs[lane], b = ys[lane], c = zs[lane];
+                check("hash2", hash2[lane], NoiseUtils.hash2(seed, a, b));
+                check("hash3", hash3[lane], NoiseUtils.hash3(seed, a, b, c));
+                check("value2", value2[lane], NoiseUtils.value2(seed, a, b));
+                check("value3", value3[lane], NoiseUtils.value3(seed, a, b, c));
+                check("gradient2L", gradient2L[lane], NoiseUtils.gradient2L(seed, a, b, xd[lane], yd[lane]));
+                check("gradient3L", gradient3L[lane], NoiseUtils.gradient3L(seed, a, b, c, xd[lane], yd[lane], zd[lane]));
+                check("gather", cell[lane], NoiseTables.CELL_3DL[a & (255 << 2)]);
+            }
+        }
+        System.out.println(checks + " checks, " + errors + " errors");
+        if (errors > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Mostly small values, since noise coordinates are usually near the origin.
+    private static int randomInt() {
+        return RAND.nextBoolean() ? RAND.nextInt(2000) - 1000 : RAND.nextInt();
+    }
+
+    private static void check(final String name, final int actual, final int expected) {
+        checks++;
+        if (actual != expected && errors++ < MAX_ERRORS) {
+            System.out.println(name + ": expected " + expected + ", got " + actual);
+        }
+    }
+
+    private static void check(final String name, final float actual, final float expected) {
+        checks++;
+        if (Float.floatToIntBits(actual) != Float.floatToIntBits(expected) && errors++ < MAX_ERRORS) {
+            System.out.println(name + ": expected " + expected + ", got " + actual);
+        }
+    }
+}